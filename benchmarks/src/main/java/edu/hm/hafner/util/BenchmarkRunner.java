@@ -0,0 +1,54 @@
+package edu.hm.hafner.util;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Starts the JMH benchmarks of this module. Accepts the same command line options as the
+ * default JMH main class but always attaches the {@link GCProfiler} so that the allocation
+ * rate per operation is part of every report.
+ *
+ * @author Ulli Hafner
+ */
+public final class BenchmarkRunner {
+    /**
+     * Runs all benchmarks that match the given command line options.
+     *
+     * @param args
+     *            the JMH command line options, e.g. a regular expression to select benchmarks
+     * @throws RunnerException
+     *             if a benchmark fails
+     * @throws CommandLineOptionException
+     *             if the command line options could not be parsed
+     * @throws IOException
+     *             if the list of available benchmarks could not be read
+     */
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunner() {
+        // prevents instantiation
+    }
+}
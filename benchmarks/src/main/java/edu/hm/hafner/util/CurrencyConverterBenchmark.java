@@ -0,0 +1,98 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Measures the conversion of {@link CurrencyConverter} compared to converting via the Euro with two
+ * lookups.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrencyConverterBenchmark {
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private ExchangeRateTable rates;
+    private CurrencyConverter converter;
+    private double value = 123.45;
+    private double[] prices;
+
+    /**
+     * Creates rates for all currencies.
+     */
+    @Setup
+    public void setUp() {
+        rates = new ExchangeRateTable();
+        ExchangeRateTable.Update update = rates.update();
+        for (Currency currency : CURRENCIES) {
+            if (currency != Currency.EUR) {
+                update.setRate(currency, 0.5 + currency.ordinal() / 10.0);
+            }
+        }
+        update.apply();
+        converter = new CurrencyConverter(rates);
+        prices = new double[CURRENCIES.length];
+    }
+
+    /**
+     * Benchmarks the conversion via the Euro: two rate lookups and two rounding steps.
+     *
+     * @return the converted value
+     */
+    @Benchmark
+    public double convertViaEuro() {
+        return value * rates.getRate(Currency.USD) / rates.getRate(Currency.SFR);
+    }
+
+    /**
+     * Benchmarks {@link CurrencyConverter#convert(double, Currency, Currency)}.
+     *
+     * @return the converted value
+     */
+    @Benchmark
+    public double convertCrossRate() {
+        return converter.convert(value, Currency.USD, Currency.SFR);
+    }
+
+    /**
+     * Benchmarks converting an amount into all currencies with single conversions.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public double[] convertToAllSingle() {
+        for (Currency currency : CURRENCIES) {
+            prices[currency.ordinal()] = converter.convert(value, Currency.USD, currency);
+        }
+        return prices;
+    }
+
+    /**
+     * Benchmarks {@link CurrencyConverter#convertToAll(double, Currency, double[])}.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public double[] convertToAll() {
+        converter.convertToAll(value, Currency.USD, prices);
+        return prices;
+    }
+}
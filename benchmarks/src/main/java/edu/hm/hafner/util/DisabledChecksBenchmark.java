@@ -0,0 +1,96 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shows that a check that has been disabled with {@link Ensure#isEnabled(Class)} costs the same as
+ * no check at all. The checks of the nested class {@link Disabled} are disabled using a system
+ * property of the forked JVM.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dedu.hm.hafner.util.Ensure.disableChecks.edu.hm.hafner.util.DisabledChecksBenchmark$Disabled=true")
+@State(Scope.Thread)
+public class DisabledChecksBenchmark {
+    private Object value = "value";
+
+    /**
+     * Baseline without any check.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Object noCheck() {
+        return value;
+    }
+
+    /**
+     * Benchmarks a disabled <code>Ensure.that(value).isNotNull()</code>.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Object disabledCheck() {
+        return Disabled.check(value);
+    }
+
+    /**
+     * Benchmarks an enabled <code>Ensure.that(value).isNotNull()</code>.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Object enabledCheck() {
+        return Enabled.check(value);
+    }
+
+    /**
+     * Contains checks that are disabled.
+     */
+    static final class Disabled {
+        private static final boolean CHECKS = Ensure.isEnabled(Disabled.class);
+
+        static Object check(final Object value) {
+            if (CHECKS) {
+                Ensure.that(value).isNotNull();
+            }
+            return value;
+        }
+
+        private Disabled() {
+            // prevents instantiation
+        }
+    }
+
+    /**
+     * Contains checks that are enabled.
+     */
+    static final class Enabled {
+        private static final boolean CHECKS = Ensure.isEnabled(Enabled.class);
+
+        static Object check(final Object value) {
+            if (CHECKS) {
+                Ensure.that(value).isNotNull();
+            }
+            return value;
+        }
+
+        private Enabled() {
+            // prevents instantiation
+        }
+    }
+}
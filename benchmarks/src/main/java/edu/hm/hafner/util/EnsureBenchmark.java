@@ -0,0 +1,124 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the passing checks of {@link Ensure}, i.e. the path that is executed on every call in production.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnsureBenchmark {
+    private boolean condition = true;
+    private int count = 42;
+    private Object object = new Object();
+    private Object otherObject = new Object();
+    private String string = "Hello World";
+    private Object[] array = {"one", "two", "three", "four"};
+    private List<String> list = Arrays.asList("one", "two", "three", "four");
+
+    /** Benchmarks {@link Ensure.BooleanCondition#isTrue()}. */
+    @Benchmark
+    public void thatIsTrue() {
+        Ensure.that(condition).isTrue();
+    }
+
+    /** Benchmarks {@link Ensure.BooleanCondition#isTrue(String, Object...)} with a boxed argument. */
+    @Benchmark
+    public void thatIsTrueWithFormattedMessage() {
+        Ensure.that(condition).isTrue("Expected %d elements", count);
+    }
+
+    /** Benchmarks {@link Ensure.BooleanCondition#isTrue(com.google.common.base.Supplier)}. */
+    @Benchmark
+    public void thatIsTrueWithMessageSupplier() {
+        Ensure.that(condition).isTrue(() -> String.format("Expected %d elements", count));
+    }
+
+    /** Benchmarks {@link Ensure.BooleanCondition#isFalse()}. */
+    @Benchmark
+    public void thatIsFalse() {
+        Ensure.that(!condition).isFalse();
+    }
+
+    /** Benchmarks {@link Ensure.ObjectCondition#isNotNull()} with a single value. */
+    @Benchmark
+    public void thatIsNotNull() {
+        Ensure.that(object).isNotNull();
+    }
+
+    /** Benchmarks {@link Ensure.ObjectCondition#isNotNull()} with two values. */
+    @Benchmark
+    public void thatAreNotNull() {
+        Ensure.that(object, otherObject).isNotNull();
+    }
+
+    /**
+     * Benchmarks the allocation free {@link Ensure#notNull(Object)}.
+     *
+     * @return the checked value
+     */
+    @Benchmark
+    public Object notNull() {
+        return Ensure.notNull(object);
+    }
+
+    /** Benchmarks the allocation free {@link Ensure#notNull(Object, Object)}. */
+    @Benchmark
+    public void notNullWithTwoValues() {
+        Ensure.notNull(object, otherObject);
+    }
+
+    /** Benchmarks {@link Ensure.ObjectCondition#isNotNull(String, Object...)} with a formatted message. */
+    @Benchmark
+    public void thatIsNotNullWithMessage() {
+        Ensure.that(object).isNotNull("Object %s is NULL", string);
+    }
+
+    /** Benchmarks {@link Ensure.ObjectCondition#isInstanceOf(Class, Class...)}. */
+    @Benchmark
+    public void thatIsInstanceOf() {
+        Ensure.that((Object)string).isInstanceOf(String.class);
+    }
+
+    /** Benchmarks {@link Ensure.StringCondition#isNotEmpty()}. */
+    @Benchmark
+    public void thatStringIsNotEmpty() {
+        Ensure.that(string).isNotEmpty();
+    }
+
+    /** Benchmarks {@link Ensure.StringCondition#isNotBlank()}. */
+    @Benchmark
+    public void thatStringIsNotBlank() {
+        Ensure.that(string).isNotBlank();
+    }
+
+    /** Benchmarks {@link Ensure.ArrayCondition#isNotEmpty()}. */
+    @Benchmark
+    public void thatArrayIsNotEmpty() {
+        Ensure.that(array).isNotEmpty();
+    }
+
+    /** Benchmarks {@link Ensure.IterableCondition#isNotEmpty()}. */
+    @Benchmark
+    public void thatIterableIsNotEmpty() {
+        Ensure.that(list).isNotEmpty();
+    }
+}
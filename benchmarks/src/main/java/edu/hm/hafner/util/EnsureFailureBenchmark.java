@@ -0,0 +1,110 @@
+package edu.hm.hafner.util;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.Ensure.FailureLogging;
+
+/**
+ * Measures the failing checks of {@link Ensure}, i.e. the creation (and logging) of the
+ * {@link AssertionFailedException}. The parameter {@link #failureMode} compares the default behavior
+ * with stack traces and synchronous logging against the cheaper failure modes.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnsureFailureBenchmark {
+    /** Determines the stack trace and logging configuration. */
+    @Param({"DEFAULT", "STACKLESS", "STACKLESS_ASYNCHRONOUS", "STACKLESS_WITHOUT_LOGGING"})
+    private String failureMode;
+
+    /** Number of stack frames below the failing check. */
+    @Param({"1", "50"})
+    private int depth;
+
+    private final Logger logger = Logger.getLogger(AssertionFailedException.class.getName());
+    private Handler handler;
+    private Object value;
+
+    /**
+     * Configures the failure mode and redirects the log output so that records are still formatted
+     * but not printed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Ensure.setStackTraceEnabled("DEFAULT".equals(failureMode));
+        if ("STACKLESS_WITHOUT_LOGGING".equals(failureMode)) {
+            Ensure.setFailureLogging(FailureLogging.NONE);
+        }
+        else if ("STACKLESS_ASYNCHRONOUS".equals(failureMode)) {
+            Ensure.setFailureLogging(FailureLogging.ASYNCHRONOUS);
+        }
+        else {
+            Ensure.setFailureLogging(FailureLogging.SYNCHRONOUS);
+        }
+
+        handler = new StreamHandler(new OutputStream() {
+            @Override
+            public void write(final int b) {
+                // discard
+            }
+        }, new SimpleFormatter());
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+    }
+
+    /**
+     * Restores the logging.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logger.removeHandler(handler);
+        logger.setUseParentHandlers(true);
+    }
+
+    /**
+     * Benchmarks a failing {@link Ensure.ObjectCondition#isNotNull()}.
+     *
+     * @return the thrown exception
+     */
+    @Benchmark
+    public Object failingCheck() {
+        return failAt(depth);
+    }
+
+    private Object failAt(final int remaining) {
+        if (remaining > 1) {
+            return failAt(remaining - 1);
+        }
+        try {
+            Ensure.that(value).isNotNull();
+            return null;
+        }
+        catch (AssertionFailedException exception) {
+            return exception;
+        }
+    }
+}
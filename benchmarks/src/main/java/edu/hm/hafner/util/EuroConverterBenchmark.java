@@ -0,0 +1,56 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Measures the conversion of {@link EuroConverter}.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EuroConverterBenchmark {
+    /** Name of the currency to convert from. */
+    @Param({"EUR", "SFR"})
+    private String currencyName;
+
+    private Currency currency;
+    private EuroConverter converter = new EuroConverter();
+    private double value = 123.45;
+
+    /**
+     * Resolves the currency of the benchmark parameter.
+     */
+    @Setup
+    public void setUp() {
+        currency = Currency.valueOf(currencyName);
+    }
+
+    /**
+     * Benchmarks {@link EuroConverter#converterToEuro(double, Currency)}.
+     *
+     * @return the converted value
+     */
+    @Benchmark
+    public double converterToEuro() {
+        return converter.converterToEuro(value, currency);
+    }
+}
@@ -0,0 +1,122 @@
+package edu.hm.hafner.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Measures the bulk conversion of {@link EuroConverter} compared to converting each amount with
+ * {@link EuroConverter#converterToEuro(double, Currency)}.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EuroConverterBulkBenchmark {
+    /** Number of amounts to convert. */
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private EuroConverter converter;
+    private double[] values;
+    private byte[] codes;
+    private Currency[] currencies;
+    private double[] result;
+    private DoubleBuffer directResult;
+
+    /**
+     * Creates random amounts in all currencies.
+     */
+    @Setup
+    public void setUp() {
+        ExchangeRateTable rates = new ExchangeRateTable();
+        ExchangeRateTable.Update update = rates.update();
+        for (Currency currency : Currency.values()) {
+            if (currency != Currency.EUR) {
+                update.setRate(currency, 0.5 + currency.ordinal() / 10.0);
+            }
+        }
+        update.apply();
+        converter = new EuroConverter(rates);
+
+        Random random = new Random(42);
+        values = new double[size];
+        codes = new byte[size];
+        currencies = new Currency[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1000000) / 100.0;
+            currencies[i] = Currency.values()[random.nextInt(Currency.values().length)];
+            codes[i] = (byte)currencies[i].ordinal();
+        }
+        result = new double[size];
+        directResult = ByteBuffer.allocateDirect(size * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    /**
+     * Benchmarks a loop over {@link EuroConverter#converterToEuro(double, Currency)}.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public double[] singleConversions() {
+        for (int i = 0; i < size; i++) {
+            result[i] = converter.converterToEuro(values[i], currencies[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Benchmarks {@link EuroConverter#converterToEuro(double[], byte[], double[])}.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public double[] bulkConversion() {
+        converter.converterToEuro(values, codes, result);
+        return result;
+    }
+
+    /**
+     * Benchmarks {@link EuroConverter#converterToEuro(double[], byte[], DoubleBuffer)} with a direct
+     * buffer.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public DoubleBuffer bulkConversionIntoDirectBuffer() {
+        directResult.clear();
+        converter.converterToEuro(values, codes, directResult);
+        return directResult;
+    }
+
+    /**
+     * Benchmarks {@link EuroConverter#parallelConverterToEuro(double[], byte[], double[])}.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public double[] parallelBulkConversion() {
+        converter.parallelConverterToEuro(values, codes, result);
+        return result;
+    }
+}
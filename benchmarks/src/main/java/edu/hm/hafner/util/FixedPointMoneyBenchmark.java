@@ -0,0 +1,117 @@
+package edu.hm.hafner.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Compares the fixed-point conversion of {@link EuroConverter} with the conversion of
+ * <code>double</code> values and with an equivalent computation using {@link BigDecimal}. Each
+ * operation converts 1000 amounts in mixed currencies.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixedPointMoneyBenchmark {
+    private static final int SIZE = 1000;
+
+    private EuroConverter converter;
+    private Currency[] currencies;
+    private long[] amounts;
+    private double[] values;
+    private BigDecimal[] decimalRates;
+    private long[] cents;
+    private double[] euros;
+
+    /**
+     * Creates random amounts in all currencies.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ExchangeRateTable rates = new ExchangeRateTable();
+        ExchangeRateTable.Update update = rates.update();
+        decimalRates = new BigDecimal[Currency.values().length];
+        decimalRates[Currency.EUR.ordinal()] = BigDecimal.ONE;
+        for (Currency currency : Currency.values()) {
+            if (currency != Currency.EUR) {
+                long rate = 1 + random.nextInt(200000000);
+                update.setScaledRate(currency, rate);
+                decimalRates[currency.ordinal()] = BigDecimal.valueOf(rate, ExchangeRateTable.RATE_DIGITS);
+            }
+        }
+        update.apply();
+        converter = new EuroConverter(rates);
+
+        currencies = new Currency[SIZE];
+        amounts = new long[SIZE];
+        values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            currencies[i] = Currency.values()[random.nextInt(Currency.values().length)];
+            amounts[i] = random.nextInt(100000000);
+            values[i] = (double)amounts[i] / FixedPoint.powerOfTen(currencies[i].getFractionDigits());
+        }
+        cents = new long[SIZE];
+        euros = new double[SIZE];
+    }
+
+    /**
+     * Benchmarks {@link EuroConverter#converterToEuro(double, Currency)}, which is not exact.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public double[] convertDouble() {
+        for (int i = 0; i < SIZE; i++) {
+            euros[i] = converter.converterToEuro(values[i], currencies[i]);
+        }
+        return euros;
+    }
+
+    /**
+     * Benchmarks {@link EuroConverter#converterToEuroCent(long, Currency, RoundingMode)}.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public long[] convertFixedPoint() {
+        for (int i = 0; i < SIZE; i++) {
+            cents[i] = converter.converterToEuroCent(amounts[i], currencies[i], RoundingMode.HALF_EVEN);
+        }
+        return cents;
+    }
+
+    /**
+     * Benchmarks the same exact conversion using {@link BigDecimal}.
+     *
+     * @return the converted values
+     */
+    @Benchmark
+    public long[] convertBigDecimal() {
+        for (int i = 0; i < SIZE; i++) {
+            BigDecimal amount = BigDecimal.valueOf(amounts[i], currencies[i].getFractionDigits());
+            cents[i] = amount.multiply(decimalRates[currencies[i].ordinal()])
+                    .setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValue();
+        }
+        return cents;
+    }
+}
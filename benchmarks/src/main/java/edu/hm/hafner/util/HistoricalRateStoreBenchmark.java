@@ -0,0 +1,85 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Measures the lookup of {@link HistoricalRateStore} for 30 years of daily rates. Each operation looks
+ * up the rates of 10000 sorted booking dates.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HistoricalRateStoreBenchmark {
+    private static final int YEARS = 30;
+    private static final int LOOKUPS = 10000;
+
+    private HistoricalRateStore store;
+    private int[] days;
+    private double[] rates;
+
+    /**
+     * Creates daily rates for all currencies and random sorted booking dates.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        HistoricalRateStore.Builder builder = HistoricalRateStore.builder();
+        for (Currency currency : Currency.values()) {
+            for (int day = 0; day < YEARS * 365; day++) {
+                builder.addScaledRate(currency, day, 1 + random.nextInt(200000000));
+            }
+        }
+        store = builder.build();
+
+        days = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            days[i] = random.nextInt(YEARS * 365);
+        }
+        Arrays.sort(days);
+        rates = new double[LOOKUPS];
+    }
+
+    /**
+     * Benchmarks a loop over {@link HistoricalRateStore#getRate(Currency, int)}.
+     *
+     * @return the rates
+     */
+    @Benchmark
+    public double[] singleLookups() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            rates[i] = store.getRate(Currency.USD, days[i]);
+        }
+        return rates;
+    }
+
+    /**
+     * Benchmarks {@link HistoricalRateStore#getRates(Currency, int[], double[])}.
+     *
+     * @return the rates
+     */
+    @Benchmark
+    public double[] bulkLookup() {
+        store.getRates(Currency.USD, days, rates);
+        return rates;
+    }
+}
@@ -0,0 +1,169 @@
+package edu.hm.hafner.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the allocation free validators of {@link Isbn} with the previous implementation of
+ * {@link StringUtils#isValidISBN10(String)} and {@link StringUtils#isValidIsbn13(String)}, which is
+ * copied into this benchmark.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IsbnBenchmark {
+    private String isbn10 = "3-86680-192-0";
+    private String isbn13 = "978-0-321-35668-0";
+
+    private char[] isbn10Chars;
+    private char[] isbn13Chars;
+    private byte[] isbn10Bytes;
+    private byte[] isbn13Bytes;
+    private ByteBuffer isbn10Buffer;
+    private ByteBuffer isbn13Buffer;
+
+    /**
+     * Creates the different representations of the numbers.
+     */
+    @Setup
+    public void setUp() {
+        isbn10Chars = isbn10.toCharArray();
+        isbn13Chars = isbn13.toCharArray();
+        isbn10Bytes = isbn10.getBytes(StandardCharsets.US_ASCII);
+        isbn13Bytes = isbn13.getBytes(StandardCharsets.US_ASCII);
+        isbn10Buffer = ByteBuffer.allocateDirect(isbn10Bytes.length).put(isbn10Bytes);
+        isbn10Buffer.flip();
+        isbn13Buffer = ByteBuffer.allocateDirect(isbn13Bytes.length).put(isbn13Bytes);
+        isbn13Buffer.flip();
+    }
+
+    /** Benchmarks the previous ISBN-10 validation. @return the result */
+    @Benchmark
+    public boolean isbn10Legacy() {
+        return legacyIsValidIsbn10(isbn10);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn10(CharSequence)}. @return the result */
+    @Benchmark
+    public boolean isbn10String() {
+        return Isbn.isValidIsbn10(isbn10);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn10(char[], int, int)}. @return the result */
+    @Benchmark
+    public boolean isbn10Chars() {
+        return Isbn.isValidIsbn10(isbn10Chars, 0, isbn10Chars.length);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn10(byte[], int, int)}. @return the result */
+    @Benchmark
+    public boolean isbn10Bytes() {
+        return Isbn.isValidIsbn10(isbn10Bytes, 0, isbn10Bytes.length);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn10(ByteBuffer)} with a direct buffer. @return the result */
+    @Benchmark
+    public boolean isbn10DirectBuffer() {
+        return Isbn.isValidIsbn10(isbn10Buffer);
+    }
+
+    /** Benchmarks the previous ISBN-13 validation. @return the result */
+    @Benchmark
+    public boolean isbn13Legacy() {
+        return legacyIsValidIsbn13(isbn13);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn13(CharSequence)}. @return the result */
+    @Benchmark
+    public boolean isbn13String() {
+        return Isbn.isValidIsbn13(isbn13);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn13(char[], int, int)}. @return the result */
+    @Benchmark
+    public boolean isbn13Chars() {
+        return Isbn.isValidIsbn13(isbn13Chars, 0, isbn13Chars.length);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn13(byte[], int, int)}. @return the result */
+    @Benchmark
+    public boolean isbn13Bytes() {
+        return Isbn.isValidIsbn13(isbn13Bytes, 0, isbn13Bytes.length);
+    }
+
+    /** Benchmarks {@link Isbn#isValidIsbn13(ByteBuffer)} with a direct buffer. @return the result */
+    @Benchmark
+    public boolean isbn13DirectBuffer() {
+        return Isbn.isValidIsbn13(isbn13Buffer);
+    }
+
+    private static boolean legacyIsValidIsbn10(final String isbnEingabe) {
+        if (isbnEingabe == null) {
+            return false;
+        }
+        String isbn = isbnEingabe.replaceAll("-", "");
+        isbn = isbn.replaceAll("\\s", "");
+        if (isbn.length() == 10) {
+            int[] z = new int[10];
+            try {
+                for (int i = 0; i <= 9; i++) {
+                    z[i] = Integer.parseInt(isbn.substring(i, i + 1));
+                }
+            }
+            catch (NumberFormatException e) {
+                return false;
+            }
+            int parity = 0;
+            for (int i = 1; i <= 9; i++) {
+                parity += i * z[i - 1];
+            }
+            parity %= 11;
+            return parity == z[9];
+        }
+        return false;
+    }
+
+    private static boolean legacyIsValidIsbn13(final String isbnEingabe) {
+        if (isbnEingabe == null) {
+            return false;
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        for (char character : isbnEingabe.toCharArray()) {
+            int type = Character.getType(character);
+            if (type != Character.SPACE_SEPARATOR && type != Character.DASH_PUNCTUATION) {
+                stringBuilder.append(String.valueOf(character));
+            }
+        }
+        char[] characters = stringBuilder.toString().toCharArray();
+        if (characters.length != 13) {
+            return false;
+        }
+        int[] numbers = new int[13];
+        for (int i = 0; i < 13; i++) {
+            if (Character.getType(characters[i]) != Character.DECIMAL_DIGIT_NUMBER) {
+                return false;
+            }
+            numbers[i] = Character.getNumericValue(characters[i]);
+        }
+        int checksum = (10 - ((numbers[0] + numbers[2] + numbers[4] + numbers[6] + numbers[8] + numbers[10]
+                + 3 * (numbers[1] + numbers[3] + numbers[5] + numbers[7] + numbers[9] + numbers[11])) % 10)) % 10;
+        return checksum == numbers[12];
+    }
+}
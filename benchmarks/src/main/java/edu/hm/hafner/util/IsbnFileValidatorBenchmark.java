@@ -0,0 +1,82 @@
+package edu.hm.hafner.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the validation of a file with {@link IsbnFileValidator}. The file contains
+ * {@value #LINES} ISBN-13 numbers with hyphens (18 bytes per line), so the throughput in bytes per
+ * second is the score multiplied by the file size.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IsbnFileValidatorBenchmark {
+    /** Number of lines of the file. */
+    static final int LINES = 4_000_000;
+
+    private File file;
+
+    /**
+     * Creates a file with random ISBN-13 numbers.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("isbn", ".txt");
+        Random random = new Random(1);
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write(String.format("978-%d-%05d-%03d-%d%n", random.nextInt(10), random.nextInt(100_000),
+                        random.nextInt(1000), random.nextInt(10)));
+            }
+        }
+    }
+
+    /**
+     * Deletes the file.
+     *
+     * @throws IOException
+     *             if the file could not be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    /**
+     * Benchmarks the validation of the whole file.
+     *
+     * @return the result
+     * @throws IOException
+     *             if the file could not be read
+     */
+    @Benchmark
+    public IsbnFileValidator.Result validateFile() throws IOException {
+        return IsbnFileValidator.validate(file, IsbnFileValidator.Type.ISBN_13);
+    }
+}
@@ -0,0 +1,119 @@
+package edu.hm.hafner.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares lookups in an {@link IsbnIndex} with lookups in a {@link HashSet} of strings. The index and
+ * the set contain {@value #SIZE} random ISBN-13 numbers, half of the looked up numbers are part of the
+ * catalog. The index is loaded from a memory mapped file.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IsbnIndexBenchmark {
+    /** Number of ISBN numbers in the catalog. */
+    static final int SIZE = 1_000_000;
+    private static final int QUERIES = 1024;
+
+    private File file;
+    private IsbnIndex index;
+    private Set<String> set;
+    private String[] queries;
+    private int position;
+
+    /**
+     * Creates the index file and the set.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(1);
+        IsbnIndex.Builder builder = IsbnIndex.builder();
+        set = new HashSet<>();
+        queries = new String[QUERIES];
+        for (int i = 0; i < SIZE; i++) {
+            String isbn = createIsbn(random);
+            builder.add(isbn);
+            set.add(isbn);
+            if (i < QUERIES / 2) {
+                queries[2 * i] = isbn;
+                queries[2 * i + 1] = createIsbn(random);
+            }
+        }
+        file = File.createTempFile("isbn", ".index");
+        builder.build().write(file);
+        index = IsbnIndex.load(file);
+    }
+
+    private String createIsbn(final Random random) {
+        String digits = String.format("%09d", random.nextInt(1_000_000_000));
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (i + 1) * (digits.charAt(i) - '0');
+        }
+        StringBuilder isbn = new StringBuilder(13);
+        Isbn.appendIsbn13(Isbn.parse(digits + (sum % 11 == 10 ? "X" : String.valueOf(sum % 11))), isbn);
+        return isbn.toString();
+    }
+
+    /**
+     * Deletes the index file.
+     *
+     * @throws IOException
+     *             if the file could not be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    /**
+     * Benchmarks a lookup in the index, including parsing the ISBN.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public boolean index() {
+        return index.contains(nextQuery());
+    }
+
+    /**
+     * Benchmarks a lookup in the set of strings.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public boolean hashSet() {
+        return set.contains(nextQuery());
+    }
+
+    private String nextQuery() {
+        position = (position + 1) & (QUERIES - 1);
+        return queries[position];
+    }
+}
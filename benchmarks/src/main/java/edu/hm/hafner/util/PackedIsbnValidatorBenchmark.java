@@ -0,0 +1,93 @@
+package edu.hm.hafner.util;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.IsbnFileValidator.Type;
+
+/**
+ * Compares the word based validation of {@link PackedIsbnValidator} with the scalar validation of
+ * each record. The buffer contains {@value #RECORDS} records with one ISBN and a line feed each, so
+ * the number of validated ISBNs per microsecond is the score multiplied by the number of records.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PackedIsbnValidatorBenchmark {
+    /** Number of records of the buffer. */
+    static final int RECORDS = 4096;
+
+    /** Type of the ISBN numbers. */
+    @Param({"ISBN_10", "ISBN_13"})
+    private String type;
+    /** Whether the buffer is a direct buffer. */
+    @Param({"false", "true"})
+    private boolean direct;
+
+    private Type isbnType;
+    private int recordLength;
+    private ByteBuffer records;
+    private final long[] mask = new long[RECORDS / 64];
+
+    /**
+     * Creates the records, every tenth record has a wrong check digit.
+     */
+    @Setup
+    public void setUp() {
+        isbnType = Type.valueOf(type);
+        int digits = isbnType == Type.ISBN_13 ? 13 : 10;
+        recordLength = digits + 1;
+        records = direct ? ByteBuffer.allocateDirect(RECORDS * recordLength) : ByteBuffer.allocate(RECORDS * recordLength);
+        Random random = new Random(1);
+        for (int i = 0; i < RECORDS; i++) {
+            int sum = 0;
+            for (int position = 0; position < digits - 1; position++) {
+                int digit = random.nextInt(10);
+                records.put((byte)('0' + digit));
+                sum += (isbnType == Type.ISBN_13 ? 1 + (position & 1) * 2 : position + 1) * digit;
+            }
+            int check = isbnType == Type.ISBN_13 ? (10 - sum % 10) % 10 : sum % 11 % 10;
+            records.put((byte)('0' + (i % 10 == 0 ? (check + 1) % 10 : check)));
+            records.put((byte)'\n');
+        }
+        records.flip();
+    }
+
+    /**
+     * Benchmarks the word based validation.
+     *
+     * @return the number of valid records
+     */
+    @Benchmark
+    public int words() {
+        return PackedIsbnValidator.validate(records, recordLength, isbnType, mask);
+    }
+
+    /**
+     * Benchmarks the scalar validation.
+     *
+     * @return the number of valid records
+     */
+    @Benchmark
+    public int scalar() {
+        return PackedIsbnValidator.validateScalar(records, recordLength, isbnType, mask);
+    }
+}
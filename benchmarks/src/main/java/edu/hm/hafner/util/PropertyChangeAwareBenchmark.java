@@ -0,0 +1,86 @@
+package edu.hm.hafner.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the event notification of {@link PropertyChangeAware}.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyChangeAwareBenchmark {
+    private static final String PROPERTY = "property";
+
+    /** Number of registered listeners. */
+    @Param({"0", "1", "4"})
+    private int listeners;
+
+    private PropertyChangeAware propertyChangeAware;
+    private PropertyChangeEvent event;
+    private int oldValue = 1;
+    private int newValue = 2;
+
+    /**
+     * Creates the event source and registers the listeners.
+     *
+     * @param blackhole
+     *            consumes the received events so that the notification is not optimized away
+     */
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        propertyChangeAware = new PropertyChangeAware();
+        for (int i = 0; i < listeners; i++) {
+            propertyChangeAware.addPropertyChangeListener(PROPERTY, new PropertyChangeListener() {
+                @Override
+                public void propertyChange(final PropertyChangeEvent changeEvent) {
+                    blackhole.consume(changeEvent);
+                }
+            });
+        }
+        event = new PropertyChangeEvent(this, PROPERTY, "old", "new");
+    }
+
+    /** Benchmarks {@link PropertyChangeAware#firePropertyChangeEvent(PropertyChangeEvent)}. */
+    @Benchmark
+    public void fireEvent() {
+        propertyChangeAware.firePropertyChangeEvent(event);
+    }
+
+    /** Benchmarks {@link PropertyChangeAware#firePropertyChangeEvent(String, int, int)}. */
+    @Benchmark
+    public void fireIntegerProperty() {
+        propertyChangeAware.firePropertyChangeEvent(PROPERTY, oldValue, newValue);
+    }
+
+    /** Benchmarks {@link PropertyChangeAware#firePropertyChangeEvent(String, boolean, boolean)}. */
+    @Benchmark
+    public void fireBooleanProperty() {
+        propertyChangeAware.firePropertyChangeEvent(PROPERTY, false, true);
+    }
+
+    /** Benchmarks {@link PropertyChangeAware#firePropertyChangeEvent(String, Object, Object)}. */
+    @Benchmark
+    public void fireObjectProperty() {
+        propertyChangeAware.firePropertyChangeEvent(PROPERTY, "old", "new");
+    }
+}
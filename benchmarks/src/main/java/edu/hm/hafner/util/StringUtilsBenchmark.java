@@ -0,0 +1,137 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the public methods of {@link StringUtils}.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringUtilsBenchmark {
+    /** Number of elements to join. */
+    @Param({"10", "1000"})
+    private int size;
+
+    private String[] elements;
+    private long[] numbers;
+    private StringJoiner joiner = StringJoiner.on(",");
+    private String text = "The quick brown fox jumps over the lazy dog, 1234567890 times!";
+    private String toBeRemoved = "aeiou ,!";
+    private CharStripper stripper = CharStripper.of(toBeRemoved);
+    private char[] stripped = new char[text.length()];
+    private String isbn10 = "3-86680-192-0";
+    private String isbn13 = "978-0-321-35668-0";
+    private String password = "123456abcdefABCDEF#%&";
+
+    /**
+     * Creates the elements to join.
+     */
+    @Setup
+    public void setUp() {
+        elements = new String[size];
+        numbers = new long[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i % 10 == 0 ? null : String.valueOf(i);
+            numbers[i] = 1_000_000_000L * i;
+        }
+    }
+
+    /**
+     * Benchmarks {@link StringUtils#join(String...)}.
+     *
+     * @return the joined elements
+     */
+    @Benchmark
+    public String join() {
+        return StringUtils.join(elements);
+    }
+
+    /**
+     * Benchmarks {@link StringJoiner#join(long[])}.
+     *
+     * @return the joined numbers
+     */
+    @Benchmark
+    public String joinNumbers() {
+        return joiner.join(numbers);
+    }
+
+    /**
+     * Benchmarks {@link StringUtils#strip(String, String)}.
+     *
+     * @return the stripped text
+     */
+    @Benchmark
+    public String strip() {
+        return StringUtils.strip(text, toBeRemoved);
+    }
+
+    /**
+     * Benchmarks {@link CharStripper#strip(String)} with a precompiled stripper.
+     *
+     * @return the stripped text
+     */
+    @Benchmark
+    public String stripPrecompiled() {
+        return stripper.strip(text);
+    }
+
+    /**
+     * Benchmarks {@link CharStripper#strip(CharSequence, char[], int)} with a precompiled stripper
+     * and a reused array.
+     *
+     * @return the number of remaining characters
+     */
+    @Benchmark
+    public int stripIntoArray() {
+        return stripper.strip(text, stripped, 0);
+    }
+
+    /**
+     * Benchmarks {@link StringUtils#isValidISBN10(String)}.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean isValidIsbn10() {
+        return StringUtils.isValidISBN10(isbn10);
+    }
+
+    /**
+     * Benchmarks {@link StringUtils#isValidIsbn13(String)}.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean isValidIsbn13() {
+        return StringUtils.isValidIsbn13(isbn13);
+    }
+
+    /**
+     * Benchmarks {@link StringUtils#isSecure(String)}.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean isSecure() {
+        return StringUtils.isSecure(password);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of the {@link ValidationMetrics} for passing checks of 64 concurrent threads.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class ValidationMetricsBenchmark {
+    /** Determines whether the metrics are collected. */
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    /**
+     * Enables or disables the metrics.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ValidationMetrics.setEnabled(enabled);
+    }
+
+    /**
+     * Disables the metrics.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ValidationMetrics.setEnabled(false);
+        ValidationMetrics.reset();
+    }
+
+    /**
+     * Benchmarks {@link Ensure#notNull(Object)}.
+     *
+     * @param value
+     *            the value to check
+     * @return the checked value
+     */
+    @Benchmark
+    public Object notNull(final Value value) {
+        return Ensure.notNull(value.object);
+    }
+
+    /**
+     * Benchmarks {@link Ensure.ObjectCondition#isNotNull()}.
+     *
+     * @param value
+     *            the value to check
+     */
+    @Benchmark
+    public void thatIsNotNull(final Value value) {
+        Ensure.that(value.object).isNotNull();
+    }
+
+    /**
+     * The value of each thread.
+     */
+    @State(Scope.Thread)
+    public static class Value {
+        private Object object = new Object();
+    }
+}
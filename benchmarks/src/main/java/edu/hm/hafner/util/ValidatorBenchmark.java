@@ -0,0 +1,116 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a {@link Validator} with the equivalent chain of {@link Ensure} checks for a valid object.
+ *
+ * @author Ulli Hafner
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+    private static final Validator<Address> FIELD_VALIDATOR = Validator.builder(Address.class)
+            .notBlank("street")
+            .notBlank("city")
+            .notNull("zipCode")
+            .instanceOf("country", String.class)
+            .build();
+    private static final Validator<Address> COLLECTING_VALIDATOR = Validator.builder(Address.class)
+            .collectAll()
+            .notBlank("street")
+            .notBlank("city")
+            .notNull("zipCode")
+            .instanceOf("country", String.class)
+            .build();
+
+    private static final Validator<Address> GETTER_VALIDATOR = Validator.builder(Address.class)
+            .notBlank("street", new Function<Address, String>() {
+                @Override
+                public String apply(final Address input) {
+                    return input.street;
+                }
+            })
+            .notBlank("city", new Function<Address, String>() {
+                @Override
+                public String apply(final Address input) {
+                    return input.city;
+                }
+            })
+            .notNull("zipCode", new Function<Address, String>() {
+                @Override
+                public String apply(final Address input) {
+                    return input.zipCode;
+                }
+            })
+            .instanceOf("country", new Function<Address, Object>() {
+                @Override
+                public Object apply(final Address input) {
+                    return input.country;
+                }
+            }, String.class)
+            .build();
+
+    private final Address address = new Address("Lothstrasse 64", "Munich", "80335", "Germany");
+
+    /** Benchmarks the hand-written chain of {@link Ensure} checks. */
+    @Benchmark
+    public void ensureChain() {
+        Ensure.that(address).isNotNull();
+        Ensure.that(address.street).isNotBlank();
+        Ensure.that(address.city).isNotBlank();
+        Ensure.that(address.zipCode).isNotNull();
+        Ensure.that(address.country).isInstanceOf(String.class);
+    }
+
+    /** Benchmarks a fail-fast {@link Validator}. */
+    @Benchmark
+    public void validator() {
+        FIELD_VALIDATOR.validate(address);
+    }
+
+    /** Benchmarks a fail-fast {@link Validator} that reads the properties with functions. */
+    @Benchmark
+    public void getterValidator() {
+        GETTER_VALIDATOR.validate(address);
+    }
+
+    /** Benchmarks a {@link Validator} that collects all violations. */
+    @Benchmark
+    public void collectingValidator() {
+        COLLECTING_VALIDATOR.validate(address);
+    }
+
+    /**
+     * Validated DTO.
+     */
+    static class Address {
+        private final String street;
+        private final String city;
+        private final String zipCode;
+        private final Object country;
+
+        Address(final String street, final String city, final String zipCode, final Object country) {
+            this.street = street;
+            this.city = city;
+            this.zipCode = zipCode;
+            this.country = country;
+        }
+    }
+}
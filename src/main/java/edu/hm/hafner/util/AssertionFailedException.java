@@ -1,16 +1,39 @@
 package edu.hm.hafner.util;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import edu.hm.hafner.util.Ensure.FailureLogging;
+
 /**
  * Thrown to indicate that a contract assertion check has been failed.
+ * <p>
+ * By default each exception captures the stack trace and is logged with level {@link Level#WARNING}.
+ * Both can be disabled by setting the system properties {@value #DISABLE_STACK_TRACE_PROPERTY} and
+ * {@value #DISABLE_LOGGING_PROPERTY} to <code>true</code> or at runtime using
+ * {@link Ensure#setStackTraceEnabled(boolean)} and {@link Ensure#setFailureLogging(FailureLogging)}.
+ * The system property {@value #ASYNCHRONOUS_LOGGING_PROPERTY} moves the logging to the
+ * {@link AsynchronousFailureLogger background thread}.
+ * </p>
  *
  * @author Ulli Hafner
  */
 public final class AssertionFailedException extends RuntimeException {
     private static final long serialVersionUID = -7033759120346380864L;
 
+    /** System property that disables the stack traces if set to <code>true</code>. */
+    static final String DISABLE_STACK_TRACE_PROPERTY = "edu.hm.hafner.util.Ensure.disableStackTrace";
+    /** System property that disables the logging if set to <code>true</code>. */
+    static final String DISABLE_LOGGING_PROPERTY = "edu.hm.hafner.util.Ensure.disableLogging";
+    /** System property that enables the asynchronous logging if set to <code>true</code>. */
+    static final String ASYNCHRONOUS_LOGGING_PROPERTY = "edu.hm.hafner.util.Ensure.asynchronousLogging";
+
+    private static final int ASYNCHRONOUS_LOGGING_CAPACITY = 1024;
+
+    private static volatile boolean isStackTraceEnabled = !Boolean.getBoolean(DISABLE_STACK_TRACE_PROPERTY);
+    private static volatile FailureLogging logging = readLoggingProperties();
+
     /**
      * Constructs an {@link AssertionFailedException} with the specified
      * detail message.
@@ -21,6 +44,7 @@ public final class AssertionFailedException extends RuntimeException {
     AssertionFailedException(final String message) {
         super(message);
 
+        ValidationMetrics.recordFailure(this);
         log(this);
     }
 
@@ -38,12 +62,83 @@ public final class AssertionFailedException extends RuntimeException {
     AssertionFailedException(final String message, final Throwable cause) {
         super(message, cause);
 
-        log(cause);
+        ValidationMetrics.recordFailure(this);
+        log(cause == null ? this : cause);
+    }
+
+    /**
+     * Fills in the execution stack trace, if stack traces are enabled. Otherwise the stack trace
+     * remains empty, which makes the creation of this exception considerably cheaper.
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (isStackTraceEnabled) {
+            return super.fillInStackTrace();
+        }
+        return this;
     }
 
     private static void log(final Throwable exception) {
-        LOGGER.log(Level.WARNING, "Assertion failed.", exception);
+        FailureLogging failureLogging = logging;
+        if (failureLogging == FailureLogging.SYNCHRONOUS) {
+            LOGGER.log(Level.WARNING, "Assertion failed.", exception);
+        }
+        else if (failureLogging == FailureLogging.ASYNCHRONOUS) {
+            ASYNCHRONOUS_LOGGER.log(exception);
+        }
+    }
+
+    private static FailureLogging readLoggingProperties() {
+        if (Boolean.getBoolean(DISABLE_LOGGING_PROPERTY)) {
+            return FailureLogging.NONE;
+        }
+        if (Boolean.getBoolean(ASYNCHRONOUS_LOGGING_PROPERTY)) {
+            return FailureLogging.ASYNCHRONOUS;
+        }
+        return FailureLogging.SYNCHRONOUS;
+    }
+
+    /**
+     * Returns the call site of the specified failure, i.e. the first stack frame outside of
+     * {@link Ensure}.
+     *
+     * @param failure
+     *            the failure
+     * @return the call site or <code>unknown call site</code> if the failure has no stack trace
+     */
+    static String getCallSite(final Throwable failure) {
+        for (StackTraceElement element : failure.getStackTrace()) {
+            if (!element.getClassName().startsWith(Ensure.class.getName())
+                    && !element.getClassName().equals(AssertionFailedException.class.getName())) {
+                return element.toString();
+            }
+        }
+        return "unknown call site";
+    }
+
+    static void setStackTraceEnabled(final boolean enabled) {
+        isStackTraceEnabled = enabled;
+    }
+
+    static boolean isStackTraceEnabled() {
+        return isStackTraceEnabled;
+    }
+
+    static void setLogging(final FailureLogging failureLogging) {
+        logging = failureLogging;
+    }
+
+    static FailureLogging getLogging() {
+        return logging;
+    }
+
+    static AsynchronousFailureLogger getAsynchronousLogger() {
+        return ASYNCHRONOUS_LOGGER;
     }
 
     private static final Logger LOGGER = Logger.getLogger(AssertionFailedException.class.getName());
+    private static final AsynchronousFailureLogger ASYNCHRONOUS_LOGGER = new AsynchronousFailureLogger(LOGGER,
+            ASYNCHRONOUS_LOGGING_CAPACITY, 1, TimeUnit.SECONDS);
 }
@@ -0,0 +1,257 @@
+package edu.hm.hafner.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Logs failed assertions on a background thread. The throwing thread just puts the exception into a
+ * bounded lock-free ring buffer. A daemon thread drains the buffer once per flush interval and
+ * aggregates all failures with the same message and call site into a single log record that contains
+ * the number of occurrences. If the buffer is full the failure is handled according to the
+ * {@link OverflowPolicy}.
+ *
+ * @author Ulli Hafner
+ */
+public final class AsynchronousFailureLogger {
+    /** Once the buffer is half full, the policy {@link OverflowPolicy#SAMPLE} keeps every n-th failure. */
+    static final int SAMPLE_RATE = 10;
+
+    private final Logger logger;
+    private final long flushInterval;
+    private final int mask;
+
+    private final AtomicReferenceArray<Throwable> buffer;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final AtomicBoolean isStarted = new AtomicBoolean();
+
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    @CheckForNull
+    private volatile Thread consumer;
+    private long reportedDrops;
+
+    /**
+     * Creates a new instance of {@link AsynchronousFailureLogger}.
+     *
+     * @param logger
+     *            the logger to write the aggregated records to
+     * @param capacity
+     *            the number of failures the buffer can hold, will be rounded up to the next power of two
+     * @param flushInterval
+     *            the interval between two flushes of the buffer
+     * @param unit
+     *            the time unit of the flush interval
+     */
+    public AsynchronousFailureLogger(final Logger logger, final int capacity, final long flushInterval,
+            final TimeUnit unit) {
+        Ensure.notNull(logger, unit);
+        Ensure.that(capacity > 0 && capacity <= 1 << 30).isTrue("Capacity must be positive: %s", capacity);
+        Ensure.that(flushInterval > 0).isTrue("Flush interval must be positive: %s", flushInterval);
+
+        this.logger = logger;
+        this.flushInterval = unit.toNanos(flushInterval);
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new AtomicReferenceArray<Throwable>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Sets the policy that is used if the buffer is full.
+     *
+     * @param policy
+     *            the overflow policy
+     */
+    public void setOverflowPolicy(final OverflowPolicy policy) {
+        Ensure.notNull(policy);
+
+        overflowPolicy = policy;
+    }
+
+    /**
+     * Returns the policy that is used if the buffer is full.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the number of failures that have not been logged since the buffer was full.
+     *
+     * @return the number of dropped failures
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of failures that have not been logged due to the policy
+     * {@link OverflowPolicy#SAMPLE}.
+     *
+     * @return the number of skipped failures
+     */
+    public long getSampledCount() {
+        return sampled.get();
+    }
+
+    /**
+     * Queues the specified failure for logging. This method does not block unless the policy
+     * {@link OverflowPolicy#BLOCK} is used and the buffer is full.
+     *
+     * @param failure
+     *            the failure to log
+     * @throws AssertionFailedException
+     *             if the failure is <code>null</code>
+     */
+    public void log(final Throwable failure) {
+        Ensure.notNull(failure);
+        startConsumer();
+
+        OverflowPolicy policy = overflowPolicy;
+        if (policy == OverflowPolicy.SAMPLE && isHalfFull()
+                && sampleSequence.incrementAndGet() % SAMPLE_RATE != 0) {
+            sampled.incrementAndGet();
+            return;
+        }
+        while (!offer(failure)) {
+            if (policy != OverflowPolicy.BLOCK) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(consumer);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Writes all queued failures to the logger. Failures with the same message and call site are
+     * written as a single record.
+     */
+    public synchronized void flush() {
+        Map<String, Aggregate> aggregates = new LinkedHashMap<String, Aggregate>();
+        for (Throwable failure = poll(); failure != null; failure = poll()) {
+            String key = failure.toString() + AssertionFailedException.getCallSite(failure);
+            Aggregate aggregate = aggregates.get(key);
+            if (aggregate == null) {
+                aggregates.put(key, new Aggregate(failure));
+            }
+            else {
+                aggregate.increment();
+            }
+        }
+        for (Aggregate aggregate : aggregates.values()) {
+            aggregate.log(logger);
+        }
+
+        long drops = dropped.get();
+        if (drops > reportedDrops) {
+            logger.log(Level.WARNING, "{0} assertion failures have been dropped.", drops - reportedDrops);
+            reportedDrops = drops;
+        }
+    }
+
+    private boolean isHalfFull() {
+        return producerIndex.get() - consumerIndex.get() > mask >> 1;
+    }
+
+    private boolean offer(final Throwable failure) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() > mask) {
+                return false;
+            }
+        }
+        while (!producerIndex.compareAndSet(index, index + 1));
+
+        buffer.lazySet((int)index & mask, failure);
+
+        return true;
+    }
+
+    @CheckForNull
+    private Throwable poll() {
+        long index = consumerIndex.get();
+        int slot = (int)index & mask;
+        Throwable failure = buffer.get(slot);
+        if (failure != null) {
+            buffer.lazySet(slot, null);
+            consumerIndex.lazySet(index + 1);
+        }
+        return failure;
+    }
+
+    private void startConsumer() {
+        if (!isStarted.get() && isStarted.compareAndSet(false, true)) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        LockSupport.parkNanos(this, flushInterval);
+                        flush();
+                    }
+                }
+            }, "Ensure failure logger");
+            thread.setDaemon(true);
+            consumer = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Determines what happens with a failure if the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** The failure is dropped and counted. */
+        DROP,
+        /** The throwing thread waits until the buffer has room for the failure. */
+        BLOCK,
+        /**
+         * Once the buffer is half full only every {@value AsynchronousFailureLogger#SAMPLE_RATE}th
+         * failure is queued. If the buffer is full nevertheless, the failure is dropped.
+         */
+        SAMPLE
+    }
+
+    /**
+     * Failures with the same message and call site.
+     */
+    private static final class Aggregate {
+        private final Throwable failure;
+        private int count = 1;
+
+        Aggregate(final Throwable failure) {
+            this.failure = failure;
+        }
+
+        void increment() {
+            count++;
+        }
+
+        void log(final Logger logger) {
+            if (count == 1) {
+                logger.log(Level.WARNING, "Assertion failed.", failure);
+            }
+            else {
+                logger.log(Level.WARNING, "Assertion failed " + count + " times.", failure);
+            }
+        }
+    }
+}
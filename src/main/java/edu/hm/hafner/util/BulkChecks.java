@@ -0,0 +1,317 @@
+package edu.hm.hafner.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.annotation.CheckForNull;
+
+import edu.hm.hafner.util.ParallelExecution.RangeTask;
+
+/**
+ * Finds the first element of an array or list that violates a condition. In contrast to checking each
+ * element with {@link Ensure#that(Object)}, these methods do not create any objects: arrays and
+ * {@link RandomAccess} lists are traversed with an index, other lists with a single iterator.
+ * <p>
+ * Each method returns the index of the first violating element or <code>-1</code> if all elements
+ * satisfy the condition. The <code>parallel</code> variants split very large arrays into chunks that
+ * are checked concurrently; they return the same index as the sequential variants.
+ * </p>
+ *
+ * @see Ensure#allNotNull(Object[])
+ * @author Ulli Hafner
+ */
+public final class BulkChecks {
+    /** Minimum number of elements of a chunk that is checked in parallel. */
+    static final int GRAIN_SIZE = 1 << 16;
+
+    private static final int NOT_FOUND = -1;
+
+    /**
+     * Returns the index of the first <code>null</code> element.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the first <code>null</code> element, or <code>-1</code> if there is none
+     */
+    public static int indexOfNull(final Object[] values) {
+        return indexOfNull(values, 0, values.length);
+    }
+
+    /**
+     * Returns the index of the first <code>null</code> element.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the first <code>null</code> element, or <code>-1</code> if there is none
+     */
+    public static int indexOfNull(final List<?> values) {
+        if (values instanceof RandomAccess) {
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) == null) {
+                    return i;
+                }
+            }
+            return NOT_FOUND;
+        }
+        int index = 0;
+        for (Iterator<?> iterator = values.iterator(); iterator.hasNext(); index++) {
+            if (iterator.next() == null) {
+                return index;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the index of the first <code>null</code> element. Large arrays are checked in parallel.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the first <code>null</code> element, or <code>-1</code> if there is none
+     */
+    public static int parallelIndexOfNull(final Object[] values) {
+        return firstIndex(ParallelExecution.execute(values.length, GRAIN_SIZE, new RangeTask<Integer>() {
+            @Override
+            public Integer compute(final int from, final int to) {
+                return indexOfNull(values, from, to);
+            }
+        }));
+    }
+
+    /**
+     * Returns the index of the first element that is not an instance of the specified type. A
+     * <code>null</code> element is not an instance of any type.
+     *
+     * @param values
+     *            the values to check
+     * @param type
+     *            the expected type of the elements
+     * @return the index of the first element of another type, or <code>-1</code> if there is none
+     */
+    public static int indexOfNonInstance(final Object[] values, final Class<?> type) {
+        return indexOfNonInstance(values, type, 0, values.length);
+    }
+
+    /**
+     * Returns the index of the first element that is not an instance of the specified type. A
+     * <code>null</code> element is not an instance of any type.
+     *
+     * @param values
+     *            the values to check
+     * @param type
+     *            the expected type of the elements
+     * @return the index of the first element of another type, or <code>-1</code> if there is none
+     */
+    public static int indexOfNonInstance(final List<?> values, final Class<?> type) {
+        if (values instanceof RandomAccess) {
+            for (int i = 0; i < values.size(); i++) {
+                if (!type.isInstance(values.get(i))) {
+                    return i;
+                }
+            }
+            return NOT_FOUND;
+        }
+        int index = 0;
+        for (Iterator<?> iterator = values.iterator(); iterator.hasNext(); index++) {
+            if (!type.isInstance(iterator.next())) {
+                return index;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the index of the first element that is not an instance of the specified type. Large
+     * arrays are checked in parallel.
+     *
+     * @param values
+     *            the values to check
+     * @param type
+     *            the expected type of the elements
+     * @return the index of the first element of another type, or <code>-1</code> if there is none
+     */
+    public static int parallelIndexOfNonInstance(final Object[] values, final Class<?> type) {
+        return firstIndex(ParallelExecution.execute(values.length, GRAIN_SIZE, new RangeTask<Integer>() {
+            @Override
+            public Integer compute(final int from, final int to) {
+                return indexOfNonInstance(values, type, from, to);
+            }
+        }));
+    }
+
+    /**
+     * Returns the index of the first blank element, i.e. an element that is <code>null</code> or
+     * contains whitespace characters only.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the first blank element, or <code>-1</code> if there is none
+     */
+    public static int indexOfBlank(final CharSequence[] values) {
+        return indexOfBlank(values, 0, values.length);
+    }
+
+    /**
+     * Returns the index of the first blank element, i.e. an element that is <code>null</code> or
+     * contains whitespace characters only.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the first blank element, or <code>-1</code> if there is none
+     */
+    public static int indexOfBlank(final List<? extends CharSequence> values) {
+        if (values instanceof RandomAccess) {
+            for (int i = 0; i < values.size(); i++) {
+                if (isBlank(values.get(i))) {
+                    return i;
+                }
+            }
+            return NOT_FOUND;
+        }
+        int index = 0;
+        for (Iterator<? extends CharSequence> iterator = values.iterator(); iterator.hasNext(); index++) {
+            if (isBlank(iterator.next())) {
+                return index;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the index of the first blank element, i.e. an element that is <code>null</code> or
+     * contains whitespace characters only. Large arrays are checked in parallel.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the first blank element, or <code>-1</code> if there is none
+     */
+    public static int parallelIndexOfBlank(final CharSequence[] values) {
+        return firstIndex(ParallelExecution.execute(values.length, GRAIN_SIZE, new RangeTask<Integer>() {
+            @Override
+            public Integer compute(final int from, final int to) {
+                return indexOfBlank(values, from, to);
+            }
+        }));
+    }
+
+    /**
+     * Returns the index of the first element that is outside of the range <code>[min, max]</code>.
+     *
+     * @param values
+     *            the values to check
+     * @param min
+     *            the minimum allowed value (inclusive)
+     * @param max
+     *            the maximum allowed value (inclusive)
+     * @return the index of the first element outside of the range, or <code>-1</code> if there is none
+     */
+    public static int indexOfOutOfRange(final int[] values, final int min, final int max) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < min || values[i] > max) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the index of the first element that is outside of the range <code>[min, max]</code>.
+     *
+     * @param values
+     *            the values to check
+     * @param min
+     *            the minimum allowed value (inclusive)
+     * @param max
+     *            the maximum allowed value (inclusive)
+     * @return the index of the first element outside of the range, or <code>-1</code> if there is none
+     */
+    public static int indexOfOutOfRange(final long[] values, final long min, final long max) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < min || values[i] > max) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the index of the first element that is outside of the range <code>[min, max]</code>.
+     * <code>NaN</code> is outside of any range.
+     *
+     * @param values
+     *            the values to check
+     * @param min
+     *            the minimum allowed value (inclusive)
+     * @param max
+     *            the maximum allowed value (inclusive)
+     * @return the index of the first element outside of the range, or <code>-1</code> if there is none
+     */
+    public static int indexOfOutOfRange(final double[] values, final double min, final double max) {
+        for (int i = 0; i < values.length; i++) {
+            if (!(values[i] >= min && values[i] <= max)) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static int indexOfNull(final Object[] values, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == null) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static int indexOfNonInstance(final Object[] values, final Class<?> type, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (!type.isInstance(values[i])) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static int indexOfBlank(final CharSequence[] values, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (isBlank(values[i])) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns whether the given value is <code>null</code> or contains whitespace characters only.
+     *
+     * @param value
+     *            the value to check
+     * @return <code>true</code> if the value is blank, <code>false</code> otherwise
+     */
+    static boolean isBlank(@CheckForNull final CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int firstIndex(final List<Integer> indices) {
+        for (Integer index : indices) {
+            if (index != NOT_FOUND) {
+                return index;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private BulkChecks() {
+        // prevents instantiation
+    }
+}
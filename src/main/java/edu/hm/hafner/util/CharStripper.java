@@ -0,0 +1,201 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+
+/**
+ * Removes all characters of a fixed set from strings. The set is compiled once into a bitmap for the
+ * characters of the Basic Multilingual Plane and a sorted array for supplementary code points, so
+ * that checking a character is a single bit test. A stripper is immutable and can be shared between
+ * threads, e.g.
+ * <pre>
+ * private static final CharStripper LINE_BREAKS = CharStripper.of("\r\n");
+ * ...
+ * String scrubbed = LINE_BREAKS.strip(line);
+ * </pre>
+ * <p>
+ * The input is processed by code points: a surrogate pair is removed if its supplementary code point
+ * is part of the set. Surrogates that are not part of a pair are treated like other characters. If no
+ * character needs to be removed, {@link #strip(String)} returns the input string itself. On hot
+ * paths, the remaining characters can be written into a buffer of the caller instead of creating a
+ * new string.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class CharStripper {
+    private static final int[] NO_CODE_POINTS = new int[0];
+
+    /** One bit for each BMP character up to the largest character of the set. */
+    private final long[] bitmap;
+    /** The sorted supplementary code points of the set. */
+    private final int[] supplementary;
+
+    /**
+     * Creates a stripper that removes all characters of the specified sequence.
+     *
+     * @param charactersToRemove
+     *            the characters to remove
+     * @return the stripper
+     */
+    public static CharStripper of(final CharSequence charactersToRemove) {
+        Ensure.that(charactersToRemove).isNotNull();
+
+        long[] bitmap = new long[0];
+        int[] supplementary = NO_CODE_POINTS;
+        for (int i = 0; i < charactersToRemove.length(); i++) {
+            int codePoint = Character.codePointAt(charactersToRemove, i);
+            if (Character.isSupplementaryCodePoint(codePoint)) {
+                if (Arrays.binarySearch(supplementary, codePoint) < 0) {
+                    supplementary = Arrays.copyOf(supplementary, supplementary.length + 1);
+                    supplementary[supplementary.length - 1] = codePoint;
+                    Arrays.sort(supplementary);
+                }
+                i++;
+            }
+            else {
+                int word = codePoint >>> 6;
+                if (word >= bitmap.length) {
+                    bitmap = Arrays.copyOf(bitmap, word + 1);
+                }
+                bitmap[word] |= 1L << codePoint;
+            }
+        }
+        return new CharStripper(bitmap, supplementary);
+    }
+
+    private CharStripper(final long[] bitmap, final int[] supplementary) {
+        this.bitmap = bitmap;
+        this.supplementary = supplementary;
+    }
+
+    /**
+     * Returns whether the specified code point is removed by this stripper.
+     *
+     * @param codePoint
+     *            the code point to check
+     * @return <code>true</code> if the code point is part of the set, <code>false</code> otherwise
+     */
+    public boolean matches(final int codePoint) {
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+            return supplementary.length > 0 && Arrays.binarySearch(supplementary, codePoint) >= 0;
+        }
+        return codePoint >= 0 && isBmpMatch((char)codePoint);
+    }
+
+    /**
+     * Returns the index of the first character of the input that is removed by this stripper.
+     *
+     * @param input
+     *            the input to search
+     * @return the index of the first removed character, or -1 if no character is removed
+     */
+    public int indexIn(final CharSequence input) {
+        return indexIn(input, 0);
+    }
+
+    private int indexIn(final CharSequence input, final int start) {
+        int length = input.length();
+        for (int i = start; i < length; i++) {
+            char character = input.charAt(i);
+            if (isSurrogatePair(input, i, character)) {
+                if (matches(Character.toCodePoint(character, input.charAt(i + 1)))) {
+                    return i;
+                }
+                i++;
+            }
+            else if (isBmpMatch(character)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes all characters of the set from the specified string.
+     *
+     * @param input
+     *            the string to strip
+     * @return the stripped string, or the input itself if it contains no character of the set
+     */
+    public String strip(final String input) {
+        int first = indexIn(input);
+        if (first < 0) {
+            return input;
+        }
+        char[] characters = new char[input.length()];
+        input.getChars(0, first, characters, 0);
+        return new String(characters, 0, copyRemaining(input, first, characters, first));
+    }
+
+    /**
+     * Removes all characters of the set from the specified input and writes the remaining characters
+     * into the destination array.
+     *
+     * @param input
+     *            the input to strip
+     * @param destination
+     *            the array to write the remaining characters to, must have room for
+     *            <code>input.length()</code> characters starting at the offset
+     * @param offset
+     *            the index of the first written character in the array
+     * @return the index after the last written character
+     * @throws IndexOutOfBoundsException
+     *             if the array is too small
+     */
+    public int strip(final CharSequence input, final char[] destination, final int offset) {
+        if (offset < 0 || offset > destination.length - input.length()) {
+            throw new IndexOutOfBoundsException("Destination of length " + destination.length
+                    + " has no room for " + input.length() + " characters at offset " + offset);
+        }
+        return copyRemaining(input, 0, destination, offset);
+    }
+
+    /**
+     * Removes all characters of the set from the specified input and appends the remaining characters
+     * to the builder.
+     *
+     * @param input
+     *            the input to strip
+     * @param builder
+     *            the builder to append the remaining characters to
+     */
+    public void strip(final CharSequence input, final StringBuilder builder) {
+        int start = 0;
+        for (int match = indexIn(input, 0); match >= 0; match = indexIn(input, start)) {
+            builder.append(input, start, match);
+            start = match + Character.charCount(Character.codePointAt(input, match));
+        }
+        builder.append(input, start, input.length());
+    }
+
+    private int copyRemaining(final CharSequence input, final int start, final char[] destination,
+            final int offset) {
+        int length = input.length();
+        int position = offset;
+        for (int i = start; i < length; i++) {
+            char character = input.charAt(i);
+            if (isSurrogatePair(input, i, character)) {
+                char low = input.charAt(i + 1);
+                i++;
+                if (!matches(Character.toCodePoint(character, low))) {
+                    destination[position++] = character;
+                    destination[position++] = low;
+                }
+            }
+            else if (!isBmpMatch(character)) {
+                destination[position++] = character;
+            }
+        }
+        return position;
+    }
+
+    private boolean isBmpMatch(final char character) {
+        int word = character >>> 6;
+        return word < bitmap.length && (bitmap[word] & 1L << character) != 0;
+    }
+
+    private static boolean isSurrogatePair(final CharSequence input, final int index, final char character) {
+        return Character.isHighSurrogate(character) && index + 1 < input.length()
+                && Character.isLowSurrogate(input.charAt(index + 1));
+    }
+}
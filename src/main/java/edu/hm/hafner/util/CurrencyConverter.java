@@ -0,0 +1,150 @@
+package edu.hm.hafner.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+import edu.hm.hafner.util.ExchangeRateTable.Snapshot;
+
+/**
+ * Konvertiert Geldbeträge zwischen zwei beliebigen Währungen. Im Gegensatz zu zwei Umrechnungen über
+ * den Euro benötigt eine Konvertierung von <code>double</code>-Beträgen nur einen Zugriff auf ein Array
+ * und eine Multiplikation: Die Kreuzkurse aller Währungspaare berechnet die {@link ExchangeRateTable}
+ * bei jeder Aktualisierung als dichte Matrix. Da der Kreuzkurs als Quotient der beiden Euro-Kurse selbst
+ * gerundet ist, wird das Ergebnis dabei allerdings zweimal gerundet. Beträge in der kleinsten Einheit
+ * einer Währung werden dagegen mit {@link #convertExact(long, Currency, Currency, RoundingMode)} aus den
+ * skalierten Kursen beider Währungen berechnet und nur einmal gerundet, z.B.
+ * <pre>
+ * CurrencyConverter converter = new CurrencyConverter(euroConverter.getRates());
+ * double price = converter.convert(100, Currency.USD, Currency.SFR);
+ * double[] prices = new double[Currency.values().length];
+ * converter.convertToAll(100, Currency.USD, prices);
+ * long rappen = converter.convertExact(10000, Currency.USD, Currency.SFR, RoundingMode.HALF_EVEN);
+ * </pre>
+ *
+ * @author Ulli Hafner
+ */
+public final class CurrencyConverter {
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
+    private final ExchangeRateTable rates;
+
+    /**
+     * Erzeugt einen neuen Konverter, der die Kurse der übergebenen Tabelle verwendet.
+     *
+     * @param rates
+     *            die Wechselkurse
+     */
+    public CurrencyConverter(final ExchangeRateTable rates) {
+        Ensure.that(rates).isNotNull();
+
+        this.rates = rates;
+    }
+
+    /**
+     * Konvertiert den übergebenen Betrag in die Zielwährung.
+     *
+     * @param value
+     *            der Betrag
+     * @param from
+     *            die Währung des Betrags
+     * @param to
+     *            die Zielwährung
+     * @return konvertierter Betrag in der Zielwährung
+     * @throws AssertionFailedException
+     *             falls der Kurs einer der Währungen nicht bekannt ist
+     */
+    public double convert(final double value, final Currency from, final Currency to) {
+        return value * rates.getSnapshot().getCrossRate(from, to);
+    }
+
+    /**
+     * Konvertiert den übergebenen Betrag exakt in die Zielwährung. Das Ergebnis wird aus den
+     * skalierten Kursen beider Währungen berechnet und nur einmal gerundet.
+     *
+     * @param amount
+     *            der Betrag in der kleinsten Einheit der Währung, z.B. Cent
+     * @param from
+     *            die Währung des Betrags
+     * @param to
+     *            die Zielwährung
+     * @param mode
+     *            die Rundung des Ergebnisses
+     * @return konvertierter Betrag in der kleinsten Einheit der Zielwährung, z.B. Rappen
+     * @throws AssertionFailedException
+     *             falls der Kurs einer der Währungen nicht bekannt ist
+     * @throws ArithmeticException
+     *             falls das Ergebnis nicht in einen <code>long</code> passt oder gerundet werden
+     *             müsste, obwohl die Rundung {@link RoundingMode#UNNECESSARY} ist
+     */
+    public long convertExact(final long amount, final Currency from, final Currency to, final RoundingMode mode) {
+        Snapshot snapshot = rates.getSnapshot();
+        long fromRate = snapshot.getScaledRate(from);
+        long toRate = snapshot.getScaledRate(to);
+
+        int digits = to.getFractionDigits() - from.getFractionDigits();
+        long value = digits > 0 ? FixedPoint.multiplyExact(amount, FixedPoint.powerOfTen(digits)) : amount;
+        long divisor = digits < 0 ? FixedPoint.multiplyExact(toRate, FixedPoint.powerOfTen(-digits)) : toRate;
+        if (fromRate <= Long.MAX_VALUE / divisor) {
+            return FixedPoint.multiplyAndDivide(value, fromRate, divisor, mode);
+        }
+        return BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(fromRate))
+                .divide(BigDecimal.valueOf(divisor), 0, mode).longValueExact();
+    }
+
+    /**
+     * Konvertiert den übergebenen Betrag in alle Währungen. Das Ergebnis für eine Währung steht an der
+     * Position ihrer Ordinalzahl; für Währungen ohne bekannten Kurs ist das Ergebnis <code>NaN</code>.
+     *
+     * @param value
+     *            der Betrag
+     * @param from
+     *            die Währung des Betrags
+     * @param result
+     *            das Array für die konvertierten Beträge, muss mindestens so lang wie die Anzahl der
+     *            Währungen sein
+     * @throws AssertionFailedException
+     *             falls der Kurs der Währung des Betrags nicht bekannt ist oder das Ergebnis zu kurz
+     *             ist
+     */
+    public void convertToAll(final double value, final Currency from, final double[] result) {
+        Ensure.that(result.length >= CURRENCY_COUNT).isTrue(
+                "Ergebnis der Länge %s hat keinen Platz für %s Währungen", result.length, CURRENCY_COUNT);
+        Snapshot snapshot = rates.getSnapshot();
+        if (!snapshot.hasRate(from)) {
+            throw new AssertionFailedException("Kein Wechselkurs für " + from);
+        }
+
+        double[] crossRates = snapshot.getCrossRates();
+        int row = from.ordinal() * CURRENCY_COUNT;
+        for (int to = 0; to < CURRENCY_COUNT; to++) {
+            result[to] = value * crossRates[row + to];
+        }
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge einer Währung in die Zielwährung. Alle Beträge werden mit
+     * dem gleichen Kurs konvertiert.
+     *
+     * @param values
+     *            die Beträge
+     * @param from
+     *            die Währung der Beträge
+     * @param to
+     *            die Zielwährung
+     * @param result
+     *            das Array für die konvertierten Beträge, muss mindestens so lang wie die Beträge
+     *            sein
+     * @throws AssertionFailedException
+     *             falls der Kurs einer der Währungen nicht bekannt ist oder das Ergebnis zu kurz ist
+     */
+    public void convert(final double[] values, final Currency from, final Currency to, final double[] result) {
+        Ensure.that(result.length >= values.length).isTrue("Ergebnis der Länge %s hat keinen Platz für %s Beträge",
+                result.length, values.length);
+        double rate = rates.getSnapshot().getCrossRate(from, to);
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] * rate;
+        }
+    }
+}
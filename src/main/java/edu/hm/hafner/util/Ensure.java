@@ -1,12 +1,17 @@
 package edu.hm.hafner.util;
 
 import java.util.Formatter;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.annotation.CheckForNull;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
 
+import edu.hm.hafner.util.ValidationMetrics.Check;
+
 /**
  * Provides several helper methods to validate method arguments and class
  * invariants thus supporting the design by contract concept (DBC).
@@ -42,11 +47,45 @@ import com.google.common.collect.Lists;
  * </code>
  * </li>
  * </ul>
+ * <p>
+ * The fluent checks create a small condition object for each call. For very frequently called code
+ * the static methods {@link #notNull(Object)}, {@link #notNull(Object, Object)} and
+ * {@link #notNull(Object, Object, Object)} provide the same null check without any allocation if the
+ * check passes. The static methods <code>allNotNull</code>, <code>allInstanceOf</code>,
+ * <code>allNotBlank</code> and <code>allInRange</code> check all elements of an array or list in a
+ * single loop and report the index of the first violating element.
+ * </p>
+ * <p>
+ * Each check accepts an optional {@link Formatter formatted message} that explains the
+ * assertion. Since the message arguments are evaluated (and primitives are boxed) on every call,
+ * the checks additionally accept a {@link Supplier} of the message that will be invoked only if
+ * the assertion fails.
+ * </p>
+ * <p>
+ * Checks on latency critical paths can be disabled per package or class on startup, see
+ * {@link #isEnabled(Class)}.
+ * </p>
+ * <p>
+ * The same conditions are available from a {@link Violations} collector. Then failed checks are
+ * recorded rather than thrown and all failures are reported with a single exception.
+ * </p>
  *
  * @see <a href="http://en.wikipedia.org/wiki/Design_by_contract"> Design by Contract (Wikipedia)</a>
  * @author Ulli Hafner
  */
 public final class Ensure {
+    /** Used for all checks that have no message arguments. */
+    static final Object[] NO_ARGUMENTS = new Object[0];
+    /** Prefix of the system properties that disable the checks of a package or class. */
+    static final String DISABLE_CHECKS_PROPERTY = "edu.hm.hafner.util.Ensure.disableChecks";
+
+    private static final Predicate<String> SYSTEM_PROPERTIES = new Predicate<String>() {
+        @Override
+        public boolean apply(@CheckForNull final String name) {
+            return Boolean.getBoolean(name);
+        }
+    };
+
     /**
      * Returns a boolean condition.
      *
@@ -55,7 +94,20 @@ public final class Ensure {
      * @return a boolean condition
      */
     public static BooleanCondition that(final boolean value) {
-        return new BooleanCondition(value);
+        ValidationMetrics.recordInvocation(Check.BOOLEAN);
+        return value ? BooleanCondition.TRUE : BooleanCondition.FALSE;
+    }
+
+    /**
+     * Returns an object condition.
+     *
+     * @param value
+     *            the value to check
+     * @return an object condition
+     */
+    public static ObjectCondition that(@CheckForNull final Object value) {
+        ValidationMetrics.recordInvocation(Check.OBJECT);
+        return new ObjectCondition(value);
     }
 
     /**
@@ -68,6 +120,7 @@ public final class Ensure {
      * @return an object condition
      */
     public static ObjectCondition that(@CheckForNull final Object value, final Object... additionalValues) {
+        ValidationMetrics.recordInvocation(Check.OBJECT);
         return new ObjectCondition(value, additionalValues);
     }
 
@@ -79,6 +132,7 @@ public final class Ensure {
      * @return an iterable condition
      */
     public static IterableCondition that(@CheckForNull final Iterable<?> value) {
+        ValidationMetrics.recordInvocation(Check.ITERABLE);
         return new IterableCondition(value);
     }
 
@@ -90,6 +144,7 @@ public final class Ensure {
      * @return an array condition
      */
     public static ArrayCondition that(@CheckForNull final Object[] value) {
+        ValidationMetrics.recordInvocation(Check.ARRAY);
         return new ArrayCondition(value);
     }
 
@@ -101,6 +156,7 @@ public final class Ensure {
      * @return a string condition
      */
     public static StringCondition that(@CheckForNull final String value) {
+        ValidationMetrics.recordInvocation(Check.STRING);
         return new StringCondition(value);
     }
 
@@ -112,9 +168,287 @@ public final class Ensure {
      * @return an exception condition
      */
     public static ExceptionCondition that(@CheckForNull final Throwable value) {
+        ValidationMetrics.recordInvocation(Check.EXCEPTION);
         return new ExceptionCondition(value);
     }
 
+    /**
+     * Ensures that the given object is not <code>null</code>. In contrast to
+     * <code>Ensure.that(value).isNotNull()</code> this check does not allocate any
+     * objects if the value is not <code>null</code>.
+     *
+     * @param value
+     *            the value to check
+     * @return the value, so that the check can be used inline
+     * @param <T>
+     *            type of the value
+     * @throws AssertionFailedException
+     *             if the value is <code>null</code>
+     */
+    public static <T> T notNull(@CheckForNull final T value) {
+        ValidationMetrics.recordInvocation(Check.NOT_NULL);
+        if (value == null) {
+            throwException("Object is NULL", NO_ARGUMENTS);
+        }
+        return value;
+    }
+
+    /**
+     * Ensures that the given objects are not <code>null</code>. In contrast to
+     * <code>Ensure.that(value, otherValue).isNotNull()</code> this check does
+     * not allocate any objects if both values are not <code>null</code>.
+     *
+     * @param value
+     *            the first value to check
+     * @param otherValue
+     *            the second value to check
+     * @throws AssertionFailedException
+     *             if one of the values is <code>null</code>
+     */
+    public static void notNull(@CheckForNull final Object value, @CheckForNull final Object otherValue) {
+        ValidationMetrics.recordInvocation(Check.NOT_NULL);
+        if (value == null || otherValue == null) {
+            throwException("Object is NULL", NO_ARGUMENTS);
+        }
+    }
+
+    /**
+     * Ensures that the given objects are not <code>null</code>. In contrast to
+     * <code>Ensure.that(value, otherValue, thirdValue).isNotNull()</code> this
+     * check does not allocate any objects if all values are not
+     * <code>null</code>.
+     *
+     * @param value
+     *            the first value to check
+     * @param otherValue
+     *            the second value to check
+     * @param thirdValue
+     *            the third value to check
+     * @throws AssertionFailedException
+     *             if one of the values is <code>null</code>
+     */
+    public static void notNull(@CheckForNull final Object value, @CheckForNull final Object otherValue,
+            @CheckForNull final Object thirdValue) {
+        ValidationMetrics.recordInvocation(Check.NOT_NULL);
+        if (value == null || otherValue == null || thirdValue == null) {
+            throwException("Object is NULL", NO_ARGUMENTS);
+        }
+    }
+
+    /**
+     * Ensures that the given array and all of its elements are not <code>null</code>. The elements are
+     * checked with an indexed loop that does not allocate any objects.
+     *
+     * @param values
+     *            the values to check
+     * @throws AssertionFailedException
+     *             if the array or one of its elements is <code>null</code>, the message contains the
+     *             index of the first <code>null</code> element
+     * @see BulkChecks#indexOfNull(Object[])
+     */
+    public static void allNotNull(@CheckForNull final Object[] values) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("Array is NULL", NO_ARGUMENTS);
+        }
+        else {
+            failOnIndex(BulkChecks.indexOfNull(values), "Element at index %d is NULL");
+        }
+    }
+
+    /**
+     * Ensures that the given list and all of its elements are not <code>null</code>. The elements of a
+     * {@link java.util.RandomAccess} list are checked with an indexed loop, other lists are traversed
+     * with a single iterator.
+     *
+     * @param values
+     *            the values to check
+     * @throws AssertionFailedException
+     *             if the list or one of its elements is <code>null</code>, the message contains the
+     *             index of the first <code>null</code> element
+     * @see BulkChecks#indexOfNull(List)
+     */
+    public static void allNotNull(@CheckForNull final List<?> values) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("List is NULL", NO_ARGUMENTS);
+        }
+        else {
+            failOnIndex(BulkChecks.indexOfNull(values), "Element at index %d is NULL");
+        }
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and all of its elements are instances of
+     * the specified type.
+     *
+     * @param values
+     *            the values to check
+     * @param type
+     *            the expected type of the elements
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or one of its elements is not an instance of the
+     *             type, the message contains the index of the first such element
+     * @see BulkChecks#indexOfNonInstance(Object[], Class)
+     */
+    public static void allInstanceOf(@CheckForNull final Object[] values, final Class<?> type) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("Array is NULL", NO_ARGUMENTS);
+        }
+        else {
+            failOnIndex(BulkChecks.indexOfNonInstance(values, type), "Element at index %d is not an instance of "
+                    + type.getName());
+        }
+    }
+
+    /**
+     * Ensures that the given list is not <code>null</code> and all of its elements are instances of
+     * the specified type.
+     *
+     * @param values
+     *            the values to check
+     * @param type
+     *            the expected type of the elements
+     * @throws AssertionFailedException
+     *             if the list is <code>null</code> or one of its elements is not an instance of the
+     *             type, the message contains the index of the first such element
+     * @see BulkChecks#indexOfNonInstance(List, Class)
+     */
+    public static void allInstanceOf(@CheckForNull final List<?> values, final Class<?> type) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("List is NULL", NO_ARGUMENTS);
+        }
+        else {
+            failOnIndex(BulkChecks.indexOfNonInstance(values, type), "Element at index %d is not an instance of "
+                    + type.getName());
+        }
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and none of its elements is blank, i.e.
+     * <code>null</code> or contains whitespace characters only.
+     *
+     * @param values
+     *            the values to check
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or one of its elements is blank, the message
+     *             contains the index of the first blank element
+     * @see BulkChecks#indexOfBlank(CharSequence[])
+     */
+    public static void allNotBlank(@CheckForNull final CharSequence[] values) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("Array is NULL", NO_ARGUMENTS);
+        }
+        else {
+            failOnIndex(BulkChecks.indexOfBlank(values), "Element at index %d is blank");
+        }
+    }
+
+    /**
+     * Ensures that the given list is not <code>null</code> and none of its elements is blank, i.e.
+     * <code>null</code> or contains whitespace characters only.
+     *
+     * @param values
+     *            the values to check
+     * @throws AssertionFailedException
+     *             if the list is <code>null</code> or one of its elements is blank, the message
+     *             contains the index of the first blank element
+     * @see BulkChecks#indexOfBlank(List)
+     */
+    public static void allNotBlank(@CheckForNull final List<? extends CharSequence> values) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("List is NULL", NO_ARGUMENTS);
+        }
+        else {
+            failOnIndex(BulkChecks.indexOfBlank(values), "Element at index %d is blank");
+        }
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and all of its elements are within the
+     * range <code>[min, max]</code>.
+     *
+     * @param values
+     *            the values to check
+     * @param min
+     *            the minimum allowed value (inclusive)
+     * @param max
+     *            the maximum allowed value (inclusive)
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or one of its elements is out of range, the
+     *             message contains the index of the first such element
+     */
+    public static void allInRange(@CheckForNull final int[] values, final int min, final int max) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("Array is NULL", NO_ARGUMENTS);
+        }
+        else {
+            int index = BulkChecks.indexOfOutOfRange(values, min, max);
+            if (index >= 0) {
+                throwException("Element at index %d is not in range [%d, %d]: %d", index, min, max, values[index]);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and all of its elements are within the
+     * range <code>[min, max]</code>.
+     *
+     * @param values
+     *            the values to check
+     * @param min
+     *            the minimum allowed value (inclusive)
+     * @param max
+     *            the maximum allowed value (inclusive)
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or one of its elements is out of range, the
+     *             message contains the index of the first such element
+     */
+    public static void allInRange(@CheckForNull final long[] values, final long min, final long max) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("Array is NULL", NO_ARGUMENTS);
+        }
+        else {
+            int index = BulkChecks.indexOfOutOfRange(values, min, max);
+            if (index >= 0) {
+                throwException("Element at index %d is not in range [%d, %d]: %d", index, min, max, values[index]);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and all of its elements are within the
+     * range <code>[min, max]</code>. <code>NaN</code> is not within any range.
+     *
+     * @param values
+     *            the values to check
+     * @param min
+     *            the minimum allowed value (inclusive)
+     * @param max
+     *            the maximum allowed value (inclusive)
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or one of its elements is out of range, the
+     *             message contains the index of the first such element
+     */
+    public static void allInRange(@CheckForNull final double[] values, final double min, final double max) {
+        ValidationMetrics.recordInvocation(Check.BULK);
+        if (values == null) {
+            throwException("Array is NULL", NO_ARGUMENTS);
+        }
+        else {
+            int index = BulkChecks.indexOfOutOfRange(values, min, max);
+            if (index >= 0) {
+                throwException("Element at index %d is not in range [%s, %s]: %s", index, min, max, values[index]);
+            }
+        }
+    }
+
     /**
      * Always throws an {@link AssertionFailedException}.
      *
@@ -123,7 +457,7 @@ public final class Ensure {
      *            return type
      */
     public static <T> T thatStatementIsNeverReached() {
-        throwException("This statement should never be reached.");
+        throwException("This statement should never be reached.", NO_ARGUMENTS);
 
         return null;
     }
@@ -150,7 +484,8 @@ public final class Ensure {
 
     /**
      * Throws a {@link AssertionFailedException} with the specified detail
-     * message.
+     * message. The creation of the exception is kept out of the checks so that
+     * the passing checks remain small enough to be inlined.
      *
      * @param message
      *            a {@link Formatter formatted message} with the description of
@@ -169,10 +504,217 @@ public final class Ensure {
         throw exception;
     }
 
+    /**
+     * Throws a {@link AssertionFailedException} if the specified index of a
+     * violating element is not negative.
+     *
+     * @param index
+     *            the index of the first violating element, or <code>-1</code>
+     * @param message
+     *            a {@link Formatter formatted message} with a single
+     *            <code>%d</code> specifier for the index
+     */
+    private static void failOnIndex(final int index, final String message) {
+        if (index >= 0) {
+            throwException(message, index);
+        }
+    }
+
+    /**
+     * Throws a {@link AssertionFailedException} with the detail message of the
+     * specified supplier.
+     *
+     * @param message
+     *            provides the description of the error
+     * @exception AssertionFailedException
+     *                always thrown
+     */
+    private static void throwException(final Supplier<String> message) {
+        RuntimeException exception = new AssertionFailedException(message.get());
+
+        throw exception;
+    }
+
+    /**
+     * Returns whether the checks of the specified class are enabled. Similar to the <code>-ea</code>
+     * and <code>-da</code> options of the JVM, the checks can be disabled for all classes, a package
+     * (including its sub packages) or a single class using the system properties
+     * <ul>
+     * <li><code>edu.hm.hafner.util.Ensure.disableChecks</code>,</li>
+     * <li><code>edu.hm.hafner.util.Ensure.disableChecks.</code><em>package name</em>, or</li>
+     * <li><code>edu.hm.hafner.util.Ensure.disableChecks.</code><em>class name</em>.</li>
+     * </ul>
+     * <p>
+     * The result should be stored once in a <code>static final</code> field of the class and each
+     * check should be guarded by this field, e.g.
+     * </p>
+     * <pre>
+     * private static final boolean CHECKS = Ensure.isEnabled(Foo.class);
+     * ...
+     * if (CHECKS) {
+     *     Ensure.that(value).isNotNull();
+     * }
+     * </pre>
+     * <p>
+     * The JIT compiler treats the field as a constant, so disabled checks are removed
+     * completely from the compiled code. The properties are not read again, changing them later
+     * has no effect on classes that have already been initialized.
+     * </p>
+     *
+     * @param type
+     *            the class that contains the checks
+     * @return <code>true</code> if the checks of the class are enabled, <code>false</code> otherwise
+     */
+    public static boolean isEnabled(final Class<?> type) {
+        return isEnabled(type.getName(), SYSTEM_PROPERTIES);
+    }
+
+    /**
+     * Returns whether the checks of the specified class are enabled.
+     *
+     * @param className
+     *            the name of the class that contains the checks
+     * @param isSet
+     *            determines whether a property is set
+     * @return <code>true</code> if the checks of the class are enabled, <code>false</code> otherwise
+     */
+    static boolean isEnabled(final String className, final Predicate<String> isSet) {
+        if (isSet.apply(DISABLE_CHECKS_PROPERTY)) {
+            return false;
+        }
+        String name = className;
+        while (true) {
+            if (isSet.apply(DISABLE_CHECKS_PROPERTY + '.' + name)) {
+                return false;
+            }
+            int separator = name.lastIndexOf('.');
+            if (separator < 0) {
+                return true;
+            }
+            name = name.substring(0, separator);
+        }
+    }
+
+    /**
+     * Enables or disables the stack traces of the thrown {@link AssertionFailedException
+     * exceptions}. Disabling the stack traces makes failing checks considerably cheaper, but the
+     * exceptions do not show where the check failed anymore. Stack traces can also be disabled
+     * on startup by setting the system property <code>edu.hm.hafner.util.Ensure.disableStackTrace</code>.
+     *
+     * @param enabled
+     *            determines whether the stack traces should be captured
+     */
+    public static void setStackTraceEnabled(final boolean enabled) {
+        AssertionFailedException.setStackTraceEnabled(enabled);
+    }
+
+    /**
+     * Returns whether the thrown {@link AssertionFailedException exceptions} capture the stack
+     * trace.
+     *
+     * @return <code>true</code> if the stack traces are captured, <code>false</code> otherwise
+     */
+    public static boolean isStackTraceEnabled() {
+        return AssertionFailedException.isStackTraceEnabled();
+    }
+
+    /**
+     * Sets the way the thrown {@link AssertionFailedException exceptions} are logged. The logging can also
+     * be disabled on startup by setting the system property <code>edu.hm.hafner.util.Ensure.disableLogging</code>.
+     *
+     * @param logging
+     *            the logging of failed checks
+     */
+    public static void setFailureLogging(final FailureLogging logging) {
+        notNull(logging);
+
+        AssertionFailedException.setLogging(logging);
+    }
+
+    /**
+     * Returns the way the thrown {@link AssertionFailedException exceptions} are logged.
+     *
+     * @return the logging of failed checks
+     */
+    public static FailureLogging getFailureLogging() {
+        return AssertionFailedException.getLogging();
+    }
+
+    /**
+     * Returns the logger that is used if the failure logging is set to
+     * {@link FailureLogging#ASYNCHRONOUS}. The returned logger can be used to change the overflow
+     * policy or to flush the queued failures.
+     *
+     * @return the asynchronous logger
+     */
+    public static AsynchronousFailureLogger getAsynchronousFailureLogger() {
+        return AssertionFailedException.getAsynchronousLogger();
+    }
+
     private Ensure() {
         // prevents instantiation
     }
 
+    /**
+     * Determines how failed checks are logged.
+     */
+    public enum FailureLogging {
+        /** Each failure is logged on the throwing thread. */
+        SYNCHRONOUS,
+        /**
+         * Failures are logged in batches on a background thread, see
+         * {@link AsynchronousFailureLogger}.
+         */
+        ASYNCHRONOUS,
+        /** Failures are not logged at all, the caller is responsible to handle the exception. */
+        NONE
+    }
+
+    /**
+     * Base class of all conditions. A condition either throws an {@link AssertionFailedException} if
+     * a check fails or records the failure in {@link Violations}.
+     */
+    abstract static class Condition {
+        @CheckForNull
+        private final Violations violations;
+
+        Condition(@CheckForNull final Violations violations) {
+            this.violations = violations;
+        }
+
+        /**
+         * Reports a failed check.
+         *
+         * @param message
+         *            a {@link Formatter formatted message} with the description of the error
+         * @param args
+         *            arguments referenced by the format specifiers in the formatted message
+         */
+        void fail(final String message, final Object... args) {
+            if (violations == null) {
+                throwException(message, args);
+            }
+            else {
+                violations.add(String.format(message, args));
+            }
+        }
+
+        /**
+         * Reports a failed check.
+         *
+         * @param message
+         *            provides the description of the error
+         */
+        void fail(final Supplier<String> message) {
+            if (violations == null) {
+                throwException(message);
+            }
+            else {
+                violations.add(message.get());
+            }
+        }
+    }
+
     /**
      * Assertions for iterables.
      */
@@ -186,7 +728,11 @@ public final class Ensure {
          *            value of the condition
          */
         public IterableCondition(@CheckForNull final Iterable<?> value) {
-            super(value);
+            this(value, null);
+        }
+
+        IterableCondition(@CheckForNull final Iterable<?> value, @CheckForNull final Violations violations) {
+            super(value, NO_ARGUMENTS, violations);
 
             this.value = value;
         }
@@ -201,7 +747,7 @@ public final class Ensure {
          *             one iterable element is <code>null</code>.
          */
         public void isNotEmpty() {
-            isNotEmpty("Iterable is empty or NULL");
+            isNotEmpty("Iterable is empty or NULL", NO_ARGUMENTS);
         }
 
         /**
@@ -222,18 +768,40 @@ public final class Ensure {
          *             least one iterable element is <code>null</code>.
          */
         public void isNotEmpty(final String explanation, final Object... args) {
-            isNotNull(explanation);
+            if (value == null || !containsNonNullElementsOnly()) {
+                fail(explanation, args);
+            }
+        }
 
-            if (value.iterator().hasNext()) {
-                for (Object object : value) {
-                    if (object == null) {
-                        throwException(explanation, args);
-                    }
-                }
+        /**
+         * Ensures that the given iterable is not <code>null</code> and contains
+         * at least one element. Additionally, ensures that each element of the
+         * iterable is not <code>null</code>.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the iterable is empty (or <code>null</code>), or at
+         *             least one iterable element is <code>null</code>.
+         */
+        public void isNotEmpty(final Supplier<String> explanation) {
+            if (value == null || !containsNonNullElementsOnly()) {
+                fail(explanation);
             }
-            else {
-                throwException(explanation, args);
+        }
+
+        private boolean containsNonNullElementsOnly() {
+            Iterator<?> iterator = value.iterator();
+            if (!iterator.hasNext()) {
+                return false;
             }
+            while (iterator.hasNext()) {
+                if (iterator.next() == null) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 
@@ -249,10 +817,14 @@ public final class Ensure {
          * @param value
          *            value of the condition
          */
+        public ArrayCondition(@CheckForNull final Object[] value) {
+            this(value, null);
+        }
+
         @SuppressWarnings("PMD.ArrayIsStoredDirectly")
         @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
-        public ArrayCondition(@CheckForNull final Object[] value) {
-            super(value);
+        ArrayCondition(@CheckForNull final Object[] value, @CheckForNull final Violations violations) {
+            super(value, NO_ARGUMENTS, violations);
 
             this.value = value;
         }
@@ -267,7 +839,7 @@ public final class Ensure {
          *             one array element is <code>null</code>.
          */
         public void isNotEmpty() {
-            isNotEmpty("Array is empty or NULL");
+            isNotEmpty("Array is empty or NULL", NO_ARGUMENTS);
         }
 
         /**
@@ -288,18 +860,39 @@ public final class Ensure {
          *             one array element is <code>null</code>.
          */
         public void isNotEmpty(final String explanation, final Object... args) {
-            isNotNull(explanation);
+            if (value == null || !containsNonNullElementsOnly()) {
+                fail(explanation, args);
+            }
+        }
 
+        /**
+         * Ensures that the given array is not <code>null</code> and contains
+         * at least one element. Additionally, ensures that each element of the
+         * array is not <code>null</code>.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the array is empty (or <code>null</code>), or at least
+         *             one array element is <code>null</code>.
+         */
+        public void isNotEmpty(final Supplier<String> explanation) {
+            if (value == null || !containsNonNullElementsOnly()) {
+                fail(explanation);
+            }
+        }
+
+        private boolean containsNonNullElementsOnly() {
             if (value.length == 0) {
-                throwException(explanation, args);
+                return false;
             }
-            else {
-                for (Object object : value) {
-                    if (object == null) {
-                        throwException(explanation, args);
-                    }
+            for (Object object : value) {
+                if (object == null) {
+                    return false;
                 }
             }
+            return true;
         }
     }
 
@@ -316,7 +909,11 @@ public final class Ensure {
          *            value of the condition
          */
         public StringCondition(@CheckForNull final String value) {
-            super(value);
+            this(value, null);
+        }
+
+        StringCondition(@CheckForNull final String value, @CheckForNull final Violations violations) {
+            super(value, NO_ARGUMENTS, violations);
 
             this.value = value;
         }
@@ -329,7 +926,7 @@ public final class Ensure {
          *             if the string is empty (or <code>null</code>)
          */
         public void isNotEmpty() {
-            isNotEmpty("The string is empty or NULL");
+            isNotEmpty("The string is empty or NULL", NO_ARGUMENTS);
         }
 
         /**
@@ -348,10 +945,24 @@ public final class Ensure {
          *             if the string is empty (or <code>null</code>)
          */
         public void isNotEmpty(final String explanation, final Object... args) {
-            isNotNull(explanation);
+            if (value == null || value.length() == 0) {
+                fail(explanation, args);
+            }
+        }
 
-            if (value.length() == 0) {
-                throwException(explanation, args);
+        /**
+         * Ensures that the given string is not <code>null</code> and contains
+         * at least one character.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the string is empty (or <code>null</code>)
+         */
+        public void isNotEmpty(final Supplier<String> explanation) {
+            if (value == null || value.length() == 0) {
+                fail(explanation);
             }
         }
 
@@ -363,7 +974,7 @@ public final class Ensure {
          *             if the string is empty (or <code>null</code>)
          */
         public void isNotBlank() {
-            isNotBlank("The string is blank");
+            isNotBlank("The string is blank", NO_ARGUMENTS);
         }
 
         /**
@@ -382,10 +993,30 @@ public final class Ensure {
          *             if the string is empty (or <code>null</code>)
          */
         public void isNotBlank(final String explanation, final Object... args) {
-            isNotNull();
+            if (value == null) {
+                isNotNull();
+            }
+            else if (isBlank()) {
+                fail(explanation, args);
+            }
+        }
 
-            if (isBlank()) {
-                throwException(explanation, args);
+        /**
+         * Ensures that the given string is not <code>null</code> and contains
+         * at least one non-whitespace character.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the string is empty (or <code>null</code>)
+         */
+        public void isNotBlank(final Supplier<String> explanation) {
+            if (value == null) {
+                isNotNull();
+            }
+            else if (isBlank()) {
+                fail(explanation);
             }
         }
 
@@ -405,7 +1036,7 @@ public final class Ensure {
     /**
      * Assertions for objects.
      */
-    public static class ObjectCondition {
+    public static class ObjectCondition extends Condition {
         private final Object value;
         private final Object[] additionalValues;
 
@@ -416,7 +1047,7 @@ public final class Ensure {
          *            value of the condition
          */
         public ObjectCondition(@CheckForNull final Object value) {
-            this(value, new Object[0]);
+            this(value, NO_ARGUMENTS);
         }
 
         /**
@@ -427,9 +1058,16 @@ public final class Ensure {
          * @param additionalValues
          *            additional values of the condition
          */
+        public ObjectCondition(@CheckForNull final Object value, final Object[] additionalValues) {
+            this(value, additionalValues, null);
+        }
+
         @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
         @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-        public ObjectCondition(@CheckForNull final Object value, final Object[] additionalValues) {
+        ObjectCondition(@CheckForNull final Object value, final Object[] additionalValues,
+                @CheckForNull final Violations violations) {
+            super(violations);
+
             this.value = value;
             this.additionalValues = additionalValues;
         }
@@ -441,7 +1079,7 @@ public final class Ensure {
          *             if the object is <code>null</code>
          */
         public void isNotNull() {
-            isNotNull("Object is NULL");
+            isNotNull("Object is NULL", NO_ARGUMENTS);
         }
 
         /**
@@ -459,14 +1097,36 @@ public final class Ensure {
          *             if the object is <code>null</code>
          */
         public void isNotNull(final String explanation, final Object... args) {
+            if (!containsNonNullValuesOnly()) {
+                fail(explanation, args);
+            }
+        }
+
+        /**
+         * Ensures that the given object is not <code>null</code>.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the object is <code>null</code>
+         */
+        public void isNotNull(final Supplier<String> explanation) {
+            if (!containsNonNullValuesOnly()) {
+                fail(explanation);
+            }
+        }
+
+        private boolean containsNonNullValuesOnly() {
             if (value == null) {
-                throwException(explanation, args);
+                return false;
             }
             for (Object additionalValue : additionalValues) {
                 if (additionalValue == null) {
-                    throwException(explanation, args);
+                    return false;
                 }
             }
+            return true;
         }
 
         /**
@@ -476,7 +1136,7 @@ public final class Ensure {
          *             if the object is not <code>null</code>
          */
         public void isNull() {
-            isNull("Object is not NULL");
+            isNull("Object is not NULL", NO_ARGUMENTS);
         }
 
         /**
@@ -495,7 +1155,7 @@ public final class Ensure {
          */
         public void isNull(final String explanation, final Object... args) {
             if (value != null) {
-                throwException(explanation, args);
+                fail(explanation, args);
             }
         }
 
@@ -511,15 +1171,20 @@ public final class Ensure {
          *             <code>null</code>)
          */
         public void isInstanceOf(final Class<?> type, final Class<?>... additionalTypes) {
-            isNotNull();
-
-            List<Class<? extends Object>> types = Lists.asList(type, additionalTypes);
-            for (Class<?> clazz : types) {
+            if (!containsNonNullValuesOnly()) {
+                isNotNull();
+                return;
+            }
+            if (type.isInstance(value)) {
+                return;
+            }
+            for (Class<?> clazz : additionalTypes) {
                 if (clazz.isInstance(value)) {
                     return;
                 }
             }
-            throwException("Object is of wrong type. Actual: %s. Expected one of: %s", value, types);
+            List<Class<? extends Object>> types = Lists.asList(type, additionalTypes);
+            fail("Object is of wrong type. Actual: %s. Expected one of: %s", value, types);
         }
 
         /**
@@ -540,19 +1205,39 @@ public final class Ensure {
          *             <code>null</code>)
          */
         public void isInstanceOf(final Class<?> type, final String explanation, final Object... args) {
-            isNotNull(explanation);
-
-            if (!type.isInstance(value)) {
-                throwException(explanation, args);
+            if (!containsNonNullValuesOnly() || !type.isInstance(value)) {
+                fail(explanation, args);
             }
+        }
 
+        /**
+         * Ensures that the given object is an instance of the specified type.
+         *
+         * @param type
+         *            the type to check the specified object for
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             the specified object is not an instance of the given type (or
+         *             <code>null</code>)
+         */
+        public void isInstanceOf(final Class<?> type, final Supplier<String> explanation) {
+            if (!containsNonNullValuesOnly() || !type.isInstance(value)) {
+                fail(explanation);
+            }
         }
     }
 
     /**
      * Assertions for booleans.
      */
-    public static class BooleanCondition {
+    public static class BooleanCondition extends Condition {
+        /** Shared condition for the value <code>true</code>. */
+        static final BooleanCondition TRUE = new BooleanCondition(true);
+        /** Shared condition for the value <code>false</code>. */
+        static final BooleanCondition FALSE = new BooleanCondition(false);
+
         /** The value of the condition. */
         private final boolean value;
 
@@ -563,6 +1248,12 @@ public final class Ensure {
          *            value of the condition
          */
         public BooleanCondition(final boolean value) {
+            this(value, null);
+        }
+
+        BooleanCondition(final boolean value, @CheckForNull final Violations violations) {
+            super(violations);
+
             this.value = value;
         }
 
@@ -582,7 +1273,7 @@ public final class Ensure {
          */
         public void isFalse(final String explanation, final Object... args) {
             if (value) {
-                throwException(explanation, args);
+                fail(explanation, args);
             }
         }
 
@@ -593,7 +1284,22 @@ public final class Ensure {
          *             if the condition is <code>true</code>
          */
         public void isFalse() {
-            isFalse("Value is not FALSE");
+            isFalse("Value is not FALSE", NO_ARGUMENTS);
+        }
+
+        /**
+         * Ensures that the given condition is <code>false</code>.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the condition is <code>true</code>
+         */
+        public void isFalse(final Supplier<String> explanation) {
+            if (value) {
+                fail(explanation);
+            }
         }
 
         /**
@@ -612,7 +1318,7 @@ public final class Ensure {
          */
         public void isTrue(final String explanation, final Object... args) {
             if (!value) {
-                throwException(explanation, args);
+                fail(explanation, args);
             }
         }
 
@@ -623,7 +1329,22 @@ public final class Ensure {
          *             if the condition is <code>false</code>
          */
         public void isTrue() {
-            isTrue("Value is not TRUE");
+            isTrue("Value is not TRUE", NO_ARGUMENTS);
+        }
+
+        /**
+         * Ensures that the given condition is <code>true</code>.
+         *
+         * @param explanation
+         *            provides the message explaining the assertion, the message
+         *            is only created if the assertion fails
+         * @throws AssertionFailedException
+         *             if the condition is <code>false</code>
+         */
+        public void isTrue(final Supplier<String> explanation) {
+            if (!value) {
+                fail(explanation);
+            }
         }
     }
 
@@ -1,7 +1,31 @@
 package edu.hm.hafner.util;
 
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+
+import edu.hm.hafner.util.ExchangeRateTable.Snapshot;
+import edu.hm.hafner.util.ParallelExecution.RangeTask;
+
 /**
- * Konvertiert Geldbeträge nach Euro.
+ * Konvertiert Geldbeträge nach Euro. Die Wechselkurse stammen aus einer {@link ExchangeRateTable},
+ * die während der Umrechnungen aktualisiert werden kann.
+ * <p>
+ * Große Mengen von Beträgen werden spaltenweise konvertiert: Ein Array enthält die Beträge, ein
+ * zweites Array gleicher Länge die Ordinalzahlen der zugehörigen {@link Currency Währungen}. Alle
+ * Beträge eines Aufrufs werden mit den Kursen des gleichen {@link Snapshot} konvertiert. Die innere
+ * Schleife enthält weder Methodenaufrufe noch Verzweigungen, so dass der JIT-Compiler sie abrollen
+ * und optimieren kann. Sehr große Mengen können mit den <code>parallel</code>-Varianten auf mehrere
+ * Threads verteilt werden.
+ * </p>
+ * <p>
+ * Für exakte Ergebnisse ohne Rundungsfehler von <code>double</code> gibt es zusätzlich Methoden, die
+ * mit Festkommazahlen rechnen: Die Beträge sind <code>long</code>-Werte in der kleinsten Einheit
+ * der Währung (z.B. Rappen oder Yen), die Kurse die {@link ExchangeRateTable.Snapshot#getScaledRate(Currency)
+ * skalierten Kurse} der Tabelle, und das Ergebnis ist in Cent mit dem übergebenen {@link RoundingMode}
+ * gerundet. Ein Überlauf wird mit einer {@link ArithmeticException} gemeldet. Diese Methoden erzeugen
+ * keine Objekte.
+ * </p>
  *
  * @author Ulli Hafner
  */
@@ -9,11 +33,110 @@ public class EuroConverter {
     /**
      * Verfügbare Währungen.
      */
-    enum Currency {
+    public enum Currency {
         /** Euro. */
-        EUR,
+        EUR(2),
         /** Schweizer Franken. */
-        SFR
+        SFR(2),
+        /** US-Dollar. */
+        USD(2),
+        /** Britisches Pfund. */
+        GBP(2),
+        /** Japanischer Yen. */
+        JPY(0),
+        /** Chinesischer Renminbi. */
+        CNY(2),
+        /** Kanadischer Dollar. */
+        CAD(2),
+        /** Australischer Dollar. */
+        AUD(2),
+        /** Neuseeland-Dollar. */
+        NZD(2),
+        /** Hongkong-Dollar. */
+        HKD(2),
+        /** Singapur-Dollar. */
+        SGD(2),
+        /** Schwedische Krone. */
+        SEK(2),
+        /** Norwegische Krone. */
+        NOK(2),
+        /** Dänische Krone. */
+        DKK(2),
+        /** Polnischer Złoty. */
+        PLN(2),
+        /** Tschechische Krone. */
+        CZK(2),
+        /** Ungarischer Forint. */
+        HUF(2),
+        /** Rumänischer Leu. */
+        RON(2),
+        /** Türkische Lira. */
+        TRY(2),
+        /** Indische Rupie. */
+        INR(2),
+        /** Südkoreanischer Won. */
+        KRW(0),
+        /** Brasilianischer Real. */
+        BRL(2),
+        /** Mexikanischer Peso. */
+        MXN(2),
+        /** Südafrikanischer Rand. */
+        ZAR(2),
+        /** Israelischer Schekel. */
+        ILS(2);
+
+        private final int fractionDigits;
+
+        Currency(final int fractionDigits) {
+            this.fractionDigits = fractionDigits;
+        }
+
+        /**
+         * Liefert die Anzahl der Nachkommastellen der kleinsten Einheit der Währung, z.B. 2 für Cent.
+         *
+         * @return die Anzahl der Nachkommastellen
+         */
+        public int getFractionDigits() {
+            return fractionDigits;
+        }
+    }
+
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
+    /** Minimale Anzahl von Beträgen eines Abschnitts, der parallel konvertiert wird. */
+    static final int GRAIN_SIZE = 1 << 16;
+
+    /** Faktoren, mit denen die Beträge einer Währung in die Nachkommastellen des Euro umgerechnet werden. */
+    private static final long[] FRACTION_FACTORS = createFractionFactors();
+
+    private final ExchangeRateTable rates;
+
+    /**
+     * Erzeugt einen neuen Konverter mit den Standardkursen von {@link ExchangeRateTable#createDefault()}.
+     */
+    public EuroConverter() {
+        this(ExchangeRateTable.createDefault());
+    }
+
+    /**
+     * Erzeugt einen neuen Konverter, der die Kurse der übergebenen Tabelle verwendet.
+     *
+     * @param rates
+     *            die Wechselkurse
+     */
+    public EuroConverter(final ExchangeRateTable rates) {
+        Ensure.that(rates).isNotNull();
+
+        this.rates = rates;
+    }
+
+    /**
+     * Liefert die Wechselkurse dieses Konverters.
+     *
+     * @return die Wechselkurse
+     */
+    public ExchangeRateTable getRates() {
+        return rates;
     }
 
     /**
@@ -24,17 +147,374 @@ public class EuroConverter {
      * @param waehrung
      *            die Währung
      * @return konvertierter Betrag in Euro
+     * @throws AssertionFailedException
+     *             falls der Kurs der Währung nicht bekannt ist
      */
     public double converterToEuro(final double value, final Currency waehrung) {
-        return value * getWechselkurs(waehrung);
+        return value * rates.getRate(waehrung);
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge in Euro.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            das Array für die konvertierten Beträge in Euro, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     */
+    public void converterToEuro(final double[] values, final byte[] currencies, final double[] result) {
+        double[] table = getRates(values.length, currencies, result.length);
+        convert(values, currencies, table, result, 0, 0, values.length);
     }
 
-    private double getWechselkurs(final Currency waehrung) {
-        if (Currency.SFR == waehrung) {
-            return 5.0 / 6;
+    /**
+     * Konvertiert die übergebenen Beträge in Euro.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            das Array für die konvertierten Beträge in Euro, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     */
+    public void converterToEuro(final double[] values, final int[] currencies, final double[] result) {
+        double[] table = getRates(values.length, currencies, result.length);
+        convert(values, currencies, table, result, 0, 0, values.length);
+    }
+
+    /**
+     * Konvertiert die übergebenen ganzzahligen Beträge in Euro.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            das Array für die konvertierten Beträge in Euro, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     */
+    public void converterToEuro(final long[] values, final byte[] currencies, final double[] result) {
+        double[] table = getRates(values.length, currencies, result.length);
+        convert(values, currencies, table, result, 0, values.length);
+    }
+
+    /**
+     * Konvertiert die übergebenen ganzzahligen Beträge in Euro.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            das Array für die konvertierten Beträge in Euro, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     */
+    public void converterToEuro(final long[] values, final int[] currencies, final double[] result) {
+        double[] table = getRates(values.length, currencies, result.length);
+        convert(values, currencies, table, result, 0, values.length);
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge in Euro und schreibt sie ab der aktuellen Position in den
+     * Puffer. Danach steht die Position hinter dem letzten Betrag. Der Puffer kann auch außerhalb des
+     * Heaps liegen.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            der Puffer für die konvertierten Beträge in Euro
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     * @throws BufferOverflowException
+     *             falls der Puffer nicht genug Platz hat
+     */
+    public void converterToEuro(final double[] values, final byte[] currencies, final DoubleBuffer result) {
+        int position = getPosition(values.length, result);
+        double[] table = getRates(values.length, currencies, values.length);
+        if (result.hasArray()) {
+            convert(values, currencies, table, result.array(), result.arrayOffset() + position, 0, values.length);
         }
         else {
-            return 1;
+            for (int i = 0; i < values.length; i++) {
+                result.put(position + i, values[i] * table[currencies[i]]);
+            }
+        }
+        result.position(position + values.length);
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge in Euro und schreibt sie ab der aktuellen Position in den
+     * Puffer. Danach steht die Position hinter dem letzten Betrag. Der Puffer kann auch außerhalb des
+     * Heaps liegen.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            der Puffer für die konvertierten Beträge in Euro
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     * @throws BufferOverflowException
+     *             falls der Puffer nicht genug Platz hat
+     */
+    public void converterToEuro(final double[] values, final int[] currencies, final DoubleBuffer result) {
+        int position = getPosition(values.length, result);
+        double[] table = getRates(values.length, currencies, values.length);
+        if (result.hasArray()) {
+            convert(values, currencies, table, result.array(), result.arrayOffset() + position, 0, values.length);
+        }
+        else {
+            for (int i = 0; i < values.length; i++) {
+                result.put(position + i, values[i] * table[currencies[i]]);
+            }
+        }
+        result.position(position + values.length);
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge in Euro wie {@link #converterToEuro(double[], byte[], double[])}.
+     * Große Arrays werden in Abschnitte aufgeteilt, die parallel konvertiert werden.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            das Array für die konvertierten Beträge in Euro, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     */
+    public void parallelConverterToEuro(final double[] values, final byte[] currencies, final double[] result) {
+        final double[] table = getRates(values.length, currencies, result.length);
+        ParallelExecution.execute(values.length, GRAIN_SIZE, new RangeTask<Void>() {
+            @Override
+            public Void compute(final int from, final int to) {
+                convert(values, currencies, table, result, 0, from, to);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge in Euro wie {@link #converterToEuro(double[], int[], double[])}.
+     * Große Arrays werden in Abschnitte aufgeteilt, die parallel konvertiert werden.
+     *
+     * @param values
+     *            die Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param result
+     *            das Array für die konvertierten Beträge in Euro, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     */
+    public void parallelConverterToEuro(final double[] values, final int[] currencies, final double[] result) {
+        final double[] table = getRates(values.length, currencies, result.length);
+        ParallelExecution.execute(values.length, GRAIN_SIZE, new RangeTask<Void>() {
+            @Override
+            public Void compute(final int from, final int to) {
+                convert(values, currencies, table, result, 0, from, to);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Konvertiert den übergebenen Betrag exakt in Euro.
+     *
+     * @param amount
+     *            der Betrag in der kleinsten Einheit der Währung, z.B. Rappen
+     * @param waehrung
+     *            die Währung
+     * @param mode
+     *            die Rundung des Ergebnisses
+     * @return konvertierter Betrag in Cent
+     * @throws AssertionFailedException
+     *             falls der Kurs der Währung nicht bekannt ist
+     * @throws ArithmeticException
+     *             falls das Ergebnis nicht in einen <code>long</code> passt oder gerundet werden
+     *             müsste, obwohl die Rundung {@link RoundingMode#UNNECESSARY} ist
+     */
+    public long converterToEuroCent(final long amount, final Currency waehrung, final RoundingMode mode) {
+        return toEuroCent(amount, waehrung.ordinal(), rates.getSnapshot().getScaledRate(waehrung), mode);
+    }
+
+    /**
+     * Konvertiert die übergebenen Beträge exakt in Euro. Alle Beträge werden mit den gleichen Kursen
+     * konvertiert.
+     *
+     * @param amounts
+     *            die Beträge in der kleinsten Einheit der jeweiligen Währung
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param mode
+     *            die Rundung der Ergebnisse
+     * @param result
+     *            das Array für die konvertierten Beträge in Cent, muss mindestens so lang wie die
+     *            Beträge sein
+     * @throws AssertionFailedException
+     *             falls die Längen der Arrays nicht passen, eine Ordinalzahl keine Währung ist oder der
+     *             Kurs einer Währung nicht bekannt ist
+     * @throws ArithmeticException
+     *             falls ein Ergebnis nicht in einen <code>long</code> passt oder gerundet werden
+     *             müsste, obwohl die Rundung {@link RoundingMode#UNNECESSARY} ist
+     */
+    public void converterToEuroCent(final long[] amounts, final byte[] currencies, final RoundingMode mode,
+            final long[] result) {
+        long[] table = getSnapshot(amounts.length, currencies, result.length).getScaledRates();
+        for (int i = 0; i < amounts.length; i++) {
+            int currency = currencies[i];
+            result[i] = toEuroCent(amounts[i], currency, table[currency], mode);
+        }
+    }
+
+    private static long toEuroCent(final long amount, final int currency, final long scaledRate,
+            final RoundingMode mode) {
+        long factor = FRACTION_FACTORS[currency];
+        long value = factor == 1 ? amount : FixedPoint.multiplyExact(amount, factor);
+        return FixedPoint.multiplyAndDivide(value, scaledRate, ExchangeRateTable.RATE_SCALE, mode);
+    }
+
+    private static long[] createFractionFactors() {
+        Currency[] currencies = Currency.values();
+        long[] factors = new long[currencies.length];
+        for (Currency currency : currencies) {
+            int digits = Currency.EUR.getFractionDigits() - currency.getFractionDigits();
+            Ensure.that(digits >= 0).isTrue("Währung %s hat mehr Nachkommastellen als der Euro", currency);
+
+            factors[currency.ordinal()] = FixedPoint.powerOfTen(digits);
+        }
+        return factors;
+    }
+
+    private static void convert(final double[] values, final byte[] currencies, final double[] table,
+            final double[] result, final int offset, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            result[offset + i] = values[i] * table[currencies[i]];
+        }
+    }
+
+    private static void convert(final double[] values, final int[] currencies, final double[] table,
+            final double[] result, final int offset, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            result[offset + i] = values[i] * table[currencies[i]];
+        }
+    }
+
+    private static void convert(final long[] values, final byte[] currencies, final double[] table,
+            final double[] result, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = values[i] * table[currencies[i]];
+        }
+    }
+
+    private static void convert(final long[] values, final int[] currencies, final double[] table,
+            final double[] result, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = values[i] * table[currencies[i]];
+        }
+    }
+
+    private static int getPosition(final int length, final DoubleBuffer result) {
+        if (result.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        return result.position();
+    }
+
+    /**
+     * Liefert die aktuellen Kurse, nachdem die Längen der Arrays und die Währungen geprüft wurden.
+     * Die Kurse der Währungen werden nur dann einzeln geprüft, wenn nicht alle Kurse bekannt sind.
+     *
+     * @param length
+     *            die Anzahl der Beträge
+     * @param currencies
+     *            die Ordinalzahlen der Währungen der Beträge
+     * @param resultLength
+     *            die Länge des Ergebnisses
+     * @return die Kurse indiziert über die Ordinalzahl der Währung
+     */
+    private double[] getRates(final int length, final byte[] currencies, final int resultLength) {
+        return getSnapshot(length, currencies, resultLength).getRates();
+    }
+
+    private double[] getRates(final int length, final int[] currencies, final int resultLength) {
+        return getSnapshot(length, currencies, resultLength).getRates();
+    }
+
+    private Snapshot getSnapshot(final int length, final byte[] currencies, final int resultLength) {
+        checkLengths(length, currencies.length, resultLength);
+
+        Snapshot snapshot = rates.getSnapshot();
+        boolean isComplete = snapshot.isComplete();
+        double[] table = snapshot.getRates();
+        for (int i = 0; i < currencies.length; i++) {
+            int currency = currencies[i];
+            checkCurrency(currency, i);
+            if (!isComplete) {
+                checkRate(table, currency, i);
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot getSnapshot(final int length, final int[] currencies, final int resultLength) {
+        checkLengths(length, currencies.length, resultLength);
+
+        Snapshot snapshot = rates.getSnapshot();
+        boolean isComplete = snapshot.isComplete();
+        double[] table = snapshot.getRates();
+        for (int i = 0; i < currencies.length; i++) {
+            int currency = currencies[i];
+            checkCurrency(currency, i);
+            if (!isComplete) {
+                checkRate(table, currency, i);
+            }
+        }
+        return snapshot;
+    }
+
+    private static void checkLengths(final int length, final int currencyLength, final int resultLength) {
+        Ensure.that(currencyLength == length).isTrue("%s Beträge, aber %s Währungen", length, currencyLength);
+        Ensure.that(resultLength >= length).isTrue("Ergebnis der Länge %s hat keinen Platz für %s Beträge",
+                resultLength, length);
+    }
+
+    private static void checkCurrency(final int currency, final int index) {
+        if (currency < 0 || currency >= CURRENCY_COUNT) {
+            throw new AssertionFailedException("Keine Währung mit Ordinalzahl " + currency + " an Index " + index);
+        }
+    }
+
+    private static void checkRate(final double[] table, final int currency, final int index) {
+        if (Double.isNaN(table[currency])) {
+            throw new AssertionFailedException("Kein Wechselkurs für " + Currency.values()[currency]
+                    + " an Index " + index);
         }
     }
 }
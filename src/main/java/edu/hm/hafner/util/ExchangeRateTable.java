@@ -0,0 +1,390 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Tabelle der Wechselkurse aller {@link Currency Währungen}, die zur Laufzeit aktualisiert werden kann.
+ * Ein Wechselkurs gibt an, wie viele Euro eine Einheit der Währung wert ist, z.B. 5/6 für
+ * Schweizer Franken. Der Kurs des Euro ist immer 1.
+ * <p>
+ * Die Kurse werden in einem <code>double</code>-Array gespeichert, dessen Index die Ordinalzahl der
+ * Währung ist. Das Array gehört zu einem unveränderlichen {@link Snapshot}, der über ein
+ * <code>volatile</code>-Feld veröffentlicht wird: Lesende Threads sperren daher nie. Eine
+ * Aktualisierung kopiert das Array, ändert alle Kurse der Aktualisierung und ersetzt danach den
+ * Snapshot. Die Kurse einer Aktualisierung werden somit atomar sichtbar, z.B.
+ * </p>
+ * <pre>
+ * table.update()
+ *         .setRate(Currency.USD, 0.92)
+ *         .setRate(Currency.GBP, 1.17)
+ *         .apply();
+ * </pre>
+ * <p>
+ * Für Währungen ohne bekannten Kurs ist der Wert <code>NaN</code> gespeichert; eine Umrechnung mit
+ * einer solchen Währung schlägt fehl.
+ * </p>
+ * <p>
+ * Für exakte Umrechnungen mit Festkommazahlen enthält jeder Snapshot zusätzlich die Kurse als
+ * <code>long</code>-Werte in Einheiten von 10<sup>-{@value #RATE_DIGITS}</sup> Euro. Kurse, die mit
+ * {@link Update#setScaledRate(Currency, long)} gesetzt werden, sind darin exakt enthalten; Kurse vom
+ * Typ <code>double</code> werden dafür auf {@value #RATE_DIGITS} Nachkommastellen gerundet.
+ * </p>
+ * <p>
+ * Außerdem berechnet jede Aktualisierung die {@link Snapshot#getCrossRate(Currency, Currency)
+ * Kreuzkurse} aller Währungspaare als dichte Matrix, die der {@link CurrencyConverter} verwendet.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class ExchangeRateTable {
+    /** Anzahl der Nachkommastellen der skalierten Kurse. */
+    public static final int RATE_DIGITS = 8;
+    /** Skalierungsfaktor der skalierten Kurse: Ein skalierter Kurs von {@value} entspricht 1 Euro. */
+    public static final long RATE_SCALE = 100000000L;
+    /** Maximaler skalierter Kurs, also 900 Euro pro Einheit einer Währung. */
+    public static final long MAXIMUM_SCALED_RATE = 900 * RATE_SCALE;
+
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Erzeugt eine neue Tabelle, die nur die Kurse des Euro und des Schweizer Franken (5/6) kennt.
+     *
+     * @return die Tabelle
+     */
+    public static ExchangeRateTable createDefault() {
+        ExchangeRateTable table = new ExchangeRateTable();
+        table.update().setRate(Currency.SFR, 5.0 / 6).apply();
+        return table;
+    }
+
+    /**
+     * Erzeugt eine neue Tabelle, die nur den Kurs des Euro kennt.
+     */
+    public ExchangeRateTable() {
+        double[] rates = new double[CURRENCY_COUNT];
+        Arrays.fill(rates, Double.NaN);
+        rates[Currency.EUR.ordinal()] = 1;
+        long[] scaledRates = new long[CURRENCY_COUNT];
+        scaledRates[Currency.EUR.ordinal()] = RATE_SCALE;
+        snapshot = new Snapshot(rates, scaledRates, 0);
+    }
+
+    /**
+     * Liefert die aktuellen Kurse. Der Snapshot ändert sich nicht mehr, alle Umrechnungen mit dem
+     * gleichen Snapshot verwenden daher die gleichen Kurse.
+     *
+     * @return die aktuellen Kurse
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Liefert den aktuellen Kurs der übergebenen Währung.
+     *
+     * @param currency
+     *            die Währung
+     * @return der Wert einer Einheit der Währung in Euro
+     * @throws AssertionFailedException
+     *             falls der Kurs der Währung nicht bekannt ist
+     */
+    public double getRate(final Currency currency) {
+        return snapshot.getRate(currency);
+    }
+
+    /**
+     * Setzt den Kurs der übergebenen Währung.
+     *
+     * @param currency
+     *            die Währung
+     * @param rate
+     *            der Wert einer Einheit der Währung in Euro
+     * @throws AssertionFailedException
+     *             falls der Kurs ungültig ist
+     */
+    public void setRate(final Currency currency, final double rate) {
+        update().setRate(currency, rate).apply();
+    }
+
+    /**
+     * Setzt die übergebenen Kurse in einer atomaren Aktualisierung.
+     *
+     * @param rates
+     *            die neuen Kurse
+     * @throws AssertionFailedException
+     *             falls ein Kurs ungültig ist, in diesem Fall wird kein Kurs geändert
+     */
+    public void setRates(final Map<Currency, Double> rates) {
+        Update update = update();
+        for (Entry<Currency, Double> entry : rates.entrySet()) {
+            update.setRate(entry.getKey(), entry.getValue());
+        }
+        update.apply();
+    }
+
+    /**
+     * Beginnt eine Aktualisierung mehrerer Kurse. Die Kurse werden erst mit {@link Update#apply()}
+     * sichtbar.
+     *
+     * @return die Aktualisierung
+     */
+    public Update update() {
+        return new Update();
+    }
+
+    /**
+     * Skaliert den übergebenen Kurs auf {@value #RATE_DIGITS} Nachkommastellen.
+     *
+     * @param currency
+     *            die Währung, nur für die Fehlermeldung
+     * @param rate
+     *            der Wert einer Einheit der Währung in Euro
+     * @return der gerundete skalierte Kurs
+     * @throws AssertionFailedException
+     *             falls der gerundete Kurs nicht positiv oder größer als 900 ist
+     */
+    static long toScaledRate(final Currency currency, final double rate) {
+        Ensure.that(rate > 0 && rate * RATE_SCALE < MAXIMUM_SCALED_RATE + 1).isTrue(
+                "Ungültiger Wechselkurs für %s: %s", currency, rate);
+
+        return Math.round(rate * RATE_SCALE);
+    }
+
+    private synchronized void apply(final Map<Currency, Double> changedRates,
+            final Map<Currency, Long> changedScaledRates) {
+        Snapshot current = snapshot;
+        double[] rates = Arrays.copyOf(current.rates, CURRENCY_COUNT);
+        for (Entry<Currency, Double> change : changedRates.entrySet()) {
+            rates[change.getKey().ordinal()] = change.getValue();
+        }
+        long[] scaledRates = Arrays.copyOf(current.scaledRates, CURRENCY_COUNT);
+        for (Entry<Currency, Long> change : changedScaledRates.entrySet()) {
+            scaledRates[change.getKey().ordinal()] = change.getValue();
+        }
+        snapshot = new Snapshot(rates, scaledRates, current.getVersion() + 1);
+    }
+
+    /**
+     * Unveränderliche Kurse aller Währungen zu einem Zeitpunkt.
+     */
+    public static final class Snapshot {
+        private final double[] rates;
+        private final long[] scaledRates;
+        /** Die Kreuzkurse aller Währungspaare, Zeile ist die Ausgangswährung, Spalte die Zielwährung. */
+        private final double[] crossRates;
+        private final long version;
+        private final boolean isComplete;
+
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Snapshot(final double[] rates, final long[] scaledRates, final long version) {
+            this.rates = rates;
+            this.scaledRates = scaledRates;
+            this.version = version;
+            isComplete = indexOfUnknownRate(rates) < 0;
+            crossRates = createCrossRates(rates);
+        }
+
+        private static double[] createCrossRates(final double[] rates) {
+            double[] crossRates = new double[rates.length * rates.length];
+            for (int from = 0; from < rates.length; from++) {
+                for (int to = 0; to < rates.length; to++) {
+                    crossRates[from * rates.length + to] = rates[from] / rates[to];
+                }
+            }
+            return crossRates;
+        }
+
+        private static int indexOfUnknownRate(final double[] rates) {
+            for (int i = 0; i < rates.length; i++) {
+                if (Double.isNaN(rates[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Liefert den Kurs der übergebenen Währung.
+         *
+         * @param currency
+         *            die Währung
+         * @return der Wert einer Einheit der Währung in Euro
+         * @throws AssertionFailedException
+         *             falls der Kurs der Währung nicht bekannt ist
+         */
+        public double getRate(final Currency currency) {
+            double rate = rates[currency.ordinal()];
+            if (Double.isNaN(rate)) {
+                throw new AssertionFailedException("Kein Wechselkurs für " + currency);
+            }
+            return rate;
+        }
+
+        /**
+         * Liefert den skalierten Kurs der übergebenen Währung.
+         *
+         * @param currency
+         *            die Währung
+         * @return der Wert einer Einheit der Währung in 10<sup>-{@value #RATE_DIGITS}</sup> Euro
+         * @throws AssertionFailedException
+         *             falls der Kurs der Währung nicht bekannt ist
+         */
+        public long getScaledRate(final Currency currency) {
+            long rate = scaledRates[currency.ordinal()];
+            if (rate == 0) {
+                throw new AssertionFailedException("Kein Wechselkurs für " + currency);
+            }
+            return rate;
+        }
+
+        /**
+         * Liefert den Kreuzkurs zwischen zwei Währungen.
+         *
+         * @param from
+         *            die Ausgangswährung
+         * @param to
+         *            die Zielwährung
+         * @return der Wert einer Einheit der Ausgangswährung in der Zielwährung
+         * @throws AssertionFailedException
+         *             falls der Kurs einer der Währungen nicht bekannt ist
+         */
+        public double getCrossRate(final Currency from, final Currency to) {
+            double rate = crossRates[from.ordinal() * rates.length + to.ordinal()];
+            if (Double.isNaN(rate)) {
+                throw new AssertionFailedException("Kein Wechselkurs für " + (hasRate(from) ? to : from));
+            }
+            return rate;
+        }
+
+        /**
+         * Liefert, ob der Kurs der übergebenen Währung bekannt ist.
+         *
+         * @param currency
+         *            die Währung
+         * @return <code>true</code> falls der Kurs bekannt ist, <code>false</code> sonst
+         */
+        public boolean hasRate(final Currency currency) {
+            return !Double.isNaN(rates[currency.ordinal()]);
+        }
+
+        /**
+         * Liefert die Versionsnummer der Kurse. Jede Aktualisierung erhöht die Versionsnummer um
+         * eins.
+         *
+         * @return die Versionsnummer
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Liefert, ob die Kurse aller Währungen bekannt sind.
+         *
+         * @return <code>true</code> falls alle Kurse bekannt sind, <code>false</code> sonst
+         */
+        boolean isComplete() {
+            return isComplete;
+        }
+
+        /**
+         * Liefert die Kurse indiziert über die Ordinalzahl der Währung. Das Array darf nicht
+         * verändert werden.
+         *
+         * @return die Kurse, <code>NaN</code> für unbekannte Kurse
+         */
+        double[] getRates() {
+            return rates;
+        }
+
+        /**
+         * Liefert die Kreuzkurse aller Währungspaare. Der Kurs von Währung <code>from</code> nach
+         * Währung <code>to</code> steht an der Position <code>from * n + to</code>, wobei
+         * <code>n</code> die Anzahl der Währungen ist. Das Array darf nicht verändert werden.
+         *
+         * @return die Kreuzkurse, <code>NaN</code> für unbekannte Kurse
+         */
+        double[] getCrossRates() {
+            return crossRates;
+        }
+
+        /**
+         * Liefert die skalierten Kurse indiziert über die Ordinalzahl der Währung. Das Array darf
+         * nicht verändert werden.
+         *
+         * @return die skalierten Kurse, 0 für unbekannte Kurse
+         */
+        long[] getScaledRates() {
+            return scaledRates;
+        }
+    }
+
+    /**
+     * Sammelt die Kurse einer atomaren Aktualisierung.
+     */
+    public final class Update {
+        private final Map<Currency, Double> rates = new EnumMap<Currency, Double>(Currency.class);
+        private final Map<Currency, Long> scaledRates = new EnumMap<Currency, Long>(Currency.class);
+
+        Update() {
+            // use factory method
+        }
+
+        /**
+         * Setzt den Kurs der übergebenen Währung.
+         *
+         * @param currency
+         *            die Währung
+         * @param rate
+         *            der Wert einer Einheit der Währung in Euro, der skalierte Kurs wird auf
+         *            {@value #RATE_DIGITS} Nachkommastellen gerundet
+         * @return diese Aktualisierung
+         * @throws AssertionFailedException
+         *             falls der gerundete Kurs nicht positiv oder größer als 900 ist oder der Kurs des
+         *             Euro nicht genau 1 ist
+         */
+        public Update setRate(final Currency currency, final double rate) {
+            Ensure.that(currency != Currency.EUR || rate == 1).isTrue("Der Kurs des Euro ist immer 1: %s", rate);
+
+            setScaledRate(currency, toScaledRate(currency, rate));
+            rates.put(currency, rate);
+            return this;
+        }
+
+        /**
+         * Setzt den skalierten Kurs der übergebenen Währung.
+         *
+         * @param currency
+         *            die Währung
+         * @param rate
+         *            der Wert einer Einheit der Währung in 10<sup>-{@value #RATE_DIGITS}</sup> Euro,
+         *            höchstens {@link #MAXIMUM_SCALED_RATE}
+         * @return diese Aktualisierung
+         * @throws AssertionFailedException
+         *             falls der Kurs ungültig ist
+         */
+        public Update setScaledRate(final Currency currency, final long rate) {
+            Ensure.that(rate > 0 && rate <= MAXIMUM_SCALED_RATE).isTrue("Ungültiger Wechselkurs für %s: %s",
+                    currency, rate);
+            Ensure.that(currency != Currency.EUR || rate == RATE_SCALE).isTrue(
+                    "Der Kurs des Euro ist immer 1: %s", rate);
+
+            scaledRates.put(currency, rate);
+            rates.put(currency, (double)rate / RATE_SCALE);
+            return this;
+        }
+
+        /**
+         * Veröffentlicht alle Kurse dieser Aktualisierung gemeinsam.
+         */
+        public void apply() {
+            ExchangeRateTable.this.apply(rates, scaledRates);
+        }
+    }
+}
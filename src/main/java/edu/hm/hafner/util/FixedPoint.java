@@ -0,0 +1,154 @@
+package edu.hm.hafner.util;
+
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic of fixed-point numbers that are stored as <code>long</code> values. All operations are
+ * exact: results that do not fit into a <code>long</code> are detected like in
+ * <code>Math.multiplyExact</code> of Java 8, and remainders of divisions are rounded with a
+ * {@link RoundingMode} like in {@link java.math.BigDecimal}. No objects are created.
+ *
+ * @author Ulli Hafner
+ */
+final class FixedPoint {
+    /** Powers of ten that fit into a <code>long</code>. */
+    private static final long[] POWERS_OF_TEN = createPowersOfTen();
+
+    /**
+     * Returns 10<sup>exponent</sup>.
+     *
+     * @param exponent
+     *            the exponent, between 0 and 18
+     * @return the power of ten
+     */
+    static long powerOfTen(final int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Returns the product of the arguments.
+     *
+     * @param x
+     *            the first value
+     * @param y
+     *            the second value
+     * @return the product
+     * @throws ArithmeticException
+     *             if the result overflows a <code>long</code>
+     */
+    static long multiplyExact(final long x, final long y) {
+        long product = x * y;
+        if ((Math.abs(x) | Math.abs(y)) >>> 31 != 0
+                && (y != 0 && product / y != x || x == Long.MIN_VALUE && y == -1)) {
+            throw new ArithmeticException("long overflow: " + x + " * " + y);
+        }
+        return product;
+    }
+
+    /**
+     * Returns the sum of the arguments.
+     *
+     * @param x
+     *            the first value
+     * @param y
+     *            the second value
+     * @return the sum
+     * @throws ArithmeticException
+     *             if the result overflows a <code>long</code>
+     */
+    static long addExact(final long x, final long y) {
+        long sum = x + y;
+        if (((x ^ sum) & (y ^ sum)) < 0) {
+            throw new ArithmeticException("long overflow: " + x + " + " + y);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns <code>value * factor / divisor</code>, rounded with the specified mode. The product is
+     * never computed as a whole: the value is split into a multiple of the divisor and a remainder,
+     * so only the exact result must fit into a <code>long</code>.
+     *
+     * @param value
+     *            the value
+     * @param factor
+     *            the positive factor
+     * @param divisor
+     *            the positive divisor, <code>(divisor - 1) * factor</code> must fit into a
+     *            <code>long</code>
+     * @param mode
+     *            the rounding mode
+     * @return the rounded result
+     * @throws ArithmeticException
+     *             if the result overflows a <code>long</code>, or if the mode is
+     *             {@link RoundingMode#UNNECESSARY} and the result is not exact
+     */
+    static long multiplyAndDivide(final long value, final long factor, final long divisor, final RoundingMode mode) {
+        long product = value % divisor * factor;
+        long quotient = addExact(multiplyExact(value / divisor, factor), product / divisor);
+        return round(quotient, product % divisor, divisor, mode);
+    }
+
+    /**
+     * Rounds the quotient of a division with the specified mode.
+     *
+     * @param quotient
+     *            the quotient of the division, rounded towards zero
+     * @param remainder
+     *            the remainder of the division, has the same sign as the exact result
+     * @param divisor
+     *            the positive divisor
+     * @param mode
+     *            the rounding mode
+     * @return the rounded quotient
+     * @throws ArithmeticException
+     *             if the mode is {@link RoundingMode#UNNECESSARY} and the remainder is not 0
+     */
+    static long round(final long quotient, final long remainder, final long divisor, final RoundingMode mode) {
+        if (remainder == 0) {
+            return quotient;
+        }
+        long signum = remainder > 0 ? 1 : -1;
+        long half = Math.abs(remainder) - (divisor - Math.abs(remainder));
+        boolean isAwayFromZero;
+        switch (mode) {
+            case UP:
+                isAwayFromZero = true;
+                break;
+            case DOWN:
+                isAwayFromZero = false;
+                break;
+            case CEILING:
+                isAwayFromZero = signum > 0;
+                break;
+            case FLOOR:
+                isAwayFromZero = signum < 0;
+                break;
+            case HALF_UP:
+                isAwayFromZero = half >= 0;
+                break;
+            case HALF_DOWN:
+                isAwayFromZero = half > 0;
+                break;
+            case HALF_EVEN:
+                isAwayFromZero = half > 0 || half == 0 && (quotient & 1) != 0;
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+        return isAwayFromZero ? addExact(quotient, signum) : quotient;
+    }
+
+    private static long[] createPowersOfTen() {
+        long[] powers = new long[19];
+        powers[0] = 1;
+        for (int i = 1; i < powers.length; i++) {
+            powers[i] = powers[i - 1] * 10;
+        }
+        return powers;
+    }
+
+    private FixedPoint() {
+        // prevents instantiation
+    }
+}
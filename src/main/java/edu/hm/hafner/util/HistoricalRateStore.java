@@ -0,0 +1,574 @@
+package edu.hm.hafner.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import com.google.common.io.Closeables;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Unveränderliche historische Wechselkurse, mit denen Beträge zum Kurs eines bestimmten Tages
+ * konvertiert werden. Ein Tag wird als Anzahl der Tage seit dem 1.1.1970 angegeben (Epoch Day). Ein
+ * Kurs gilt ab seinem Tag bis zum Tag des nächsten Kurses der gleichen Währung; für Tage vor dem
+ * ersten Kurs einer Währung ist kein Kurs bekannt. Die Kurse sind wie in
+ * {@link ExchangeRateTable.Snapshot#getScaledRate(Currency) ExchangeRateTable} skaliert, so dass sie
+ * exakt gespeichert werden.
+ * <p>
+ * Für jede Währung sind die Tage aufsteigend sortiert als <code>int</code>-Werte und die Kurse als
+ * <code>long</code>-Werte gespeichert, ein Kurs wird mit einer binären Suche gefunden. Bei der
+ * {@link #getRates(Currency, int[], double[]) Suche vieler Kurse} für aufsteigende Tage beginnt jede
+ * Suche an der Position des vorigen Tages und sucht mit exponentiell wachsenden Schritten, so dass
+ * aufeinanderfolgende Tage fast ohne Suche gefunden werden.
+ * </p>
+ * <p>
+ * Die Kurse werden mit einem {@link Builder} erzeugt und außerhalb des Heaps gespeichert. Sie können
+ * in eine Datei {@link #write(File) geschrieben} und wieder {@link #load(File) geladen} werden: Die
+ * Datei wird in den Speicher abgebildet, so dass auch Jahrzehnte täglicher Kurse sofort verfügbar
+ * sind. Die Datei beginnt mit einem Kopf von {@value #HEADER_SIZE} Bytes (Magic Number, Version,
+ * Anzahl der Währungen, Anzahl der Kurse), gefolgt von einem Verzeichnis mit dem Namen und der
+ * Anzahl der Kurse jeder Währung. Der Name ist der Name der Konstante in {@link Currency}, also z.B.
+ * <code>SFR</code> und nicht der ISO-Code <code>CHF</code>, und wird als vier ASCII-Zeichen mit
+ * Leerzeichen aufgefüllt. Danach folgen für jede Währung die Tage und die Kurse, alles in
+ * Big-Endian-Byte-Reihenfolge. Währungen der Datei, die es in {@link Currency} nicht gibt, werden
+ * ignoriert.
+ * </p>
+ * <p>
+ * Instanzen dieser Klasse sind thread-safe.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class HistoricalRateStore {
+    /** Größe des Dateikopfs in Bytes. */
+    static final int HEADER_SIZE = 16;
+    /** Größe eines Eintrags im Verzeichnis in Bytes: Name der Währung und Anzahl der Kurse. */
+    static final int DIRECTORY_ENTRY_SIZE = 8;
+    /** Erste Bytes einer Datei: die Zeichen <code>RATE</code>. */
+    static final int MAGIC = 0x52415445;
+    /** Version des Dateiformats. */
+    static final int VERSION = 1;
+    /** Anzahl der Bytes eines Kurses: der Tag und der skalierte Kurs. */
+    private static final int ENTRY_SIZE = 12;
+    /** Maximale Anzahl der Kurse, begrenzt durch die Größe eines abgebildeten Puffers. */
+    public static final int MAXIMUM_SIZE = (Integer.MAX_VALUE - HEADER_SIZE
+            - DIRECTORY_ENTRY_SIZE * Currency.values().length) / ENTRY_SIZE;
+
+    private static final int NOT_FOUND = -1;
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
+    /** Der Inhalt der Datei. */
+    private final ByteBuffer image;
+    /** Die Tage der Kurse indiziert über die Ordinalzahl der Währung. */
+    private final IntBuffer[] days = new IntBuffer[CURRENCY_COUNT];
+    /** Die skalierten Kurse indiziert über die Ordinalzahl der Währung. */
+    private final LongBuffer[] rates = new LongBuffer[CURRENCY_COUNT];
+    private final int size;
+
+    /**
+     * Erzeugt einen neuen Builder für historische Kurse.
+     *
+     * @return der Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Lädt die Kurse aus einer Datei, die mit {@link #write(File)} erzeugt wurde. Die Datei wird nur
+     * lesend in den Speicher abgebildet, die Abbildung wird freigegeben, sobald die Kurse vom Garbage
+     * Collector entfernt werden.
+     *
+     * @param file
+     *            die Datei
+     * @return die Kurse
+     * @throws IOException
+     *             falls die Datei nicht gelesen werden kann oder keine gültigen Kurse enthält
+     */
+    public static HistoricalRateStore load(final File file) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = input.getChannel();
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Keine Datei mit Wechselkursen: " + file);
+            }
+            ByteBuffer image = channel.map(MapMode.READ_ONLY, 0, length);
+            if (image.getInt(0) != MAGIC) {
+                throw new IOException("Keine Datei mit Wechselkursen: " + file);
+            }
+            int version = image.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Nicht unterstützte Version " + version + " der Wechselkurse: " + file);
+            }
+            if (!isValid(image)) {
+                throw new IOException("Beschädigte Datei mit Wechselkursen: " + file);
+            }
+            return new HistoricalRateStore(image);
+        }
+        finally {
+            Closeables.closeQuietly(input);
+        }
+    }
+
+    /**
+     * Prüft, ob die Größe des Inhalts zum Verzeichnis passt.
+     *
+     * @param image
+     *            der Inhalt der Datei
+     * @return <code>true</code> falls der Inhalt gültig ist, <code>false</code> sonst
+     */
+    private static boolean isValid(final ByteBuffer image) {
+        int currencies = image.getInt(8);
+        int size = image.getInt(12);
+        if (currencies < 0 || size < 0 || size > MAXIMUM_SIZE
+                || HEADER_SIZE + (long)currencies * DIRECTORY_ENTRY_SIZE + (long)size * ENTRY_SIZE != image.limit()) {
+            return false;
+        }
+        long sum = 0;
+        for (int i = 0; i < currencies; i++) {
+            int count = image.getInt(HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE + 4);
+            if (count < 0) {
+                return false;
+            }
+            sum += count;
+        }
+        return sum == size;
+    }
+
+    private HistoricalRateStore(final ByteBuffer image) {
+        this.image = image;
+
+        int currencies = image.getInt(8);
+        size = image.getInt(12);
+        int position = HEADER_SIZE + currencies * DIRECTORY_ENTRY_SIZE;
+        for (int i = 0; i < currencies; i++) {
+            int entry = HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE;
+            int count = image.getInt(entry + 4);
+            Currency currency = toCurrency(image.getInt(entry));
+            if (currency != null && days[currency.ordinal()] == null) {
+                days[currency.ordinal()] = slice(image, position, count * 4).asIntBuffer();
+                rates[currency.ordinal()] = slice(image, position + count * 4, count * 8).asLongBuffer();
+            }
+            position += count * ENTRY_SIZE;
+        }
+        for (int i = 0; i < CURRENCY_COUNT; i++) {
+            if (days[i] == null) {
+                days[i] = IntBuffer.allocate(0);
+                rates[i] = LongBuffer.allocate(0);
+            }
+        }
+    }
+
+    private static ByteBuffer slice(final ByteBuffer image, final int position, final int length) {
+        ByteBuffer buffer = image.duplicate();
+        buffer.position(position);
+        buffer.limit(position + length);
+        return buffer.slice();
+    }
+
+    private static int toCode(final Currency currency) {
+        String name = currency.name();
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            code = code << 8 | (i < name.length() ? name.charAt(i) : ' ');
+        }
+        return code;
+    }
+
+    private static Currency toCurrency(final int code) {
+        for (Currency currency : Currency.values()) {
+            if (toCode(currency) == code) {
+                return currency;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liefert die Anzahl aller Kurse.
+     *
+     * @return die Anzahl der Kurse
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Liefert die Anzahl der Kurse der übergebenen Währung.
+     *
+     * @param currency
+     *            die Währung
+     * @return die Anzahl der Kurse
+     */
+    public int size(final Currency currency) {
+        return days[currency.ordinal()].limit();
+    }
+
+    /**
+     * Liefert, ob für die Währung am übergebenen Tag ein Kurs bekannt ist.
+     *
+     * @param currency
+     *            die Währung
+     * @param epochDay
+     *            der Tag
+     * @return <code>true</code> falls ein Kurs bekannt ist, <code>false</code> sonst
+     */
+    public boolean hasRate(final Currency currency, final int epochDay) {
+        return floorIndex(days[currency.ordinal()], NOT_FOUND, epochDay) != NOT_FOUND;
+    }
+
+    /**
+     * Liefert den skalierten Kurs, der für die Währung am übergebenen Tag gilt.
+     *
+     * @param currency
+     *            die Währung
+     * @param epochDay
+     *            der Tag
+     * @return der Wert einer Einheit der Währung in 10<sup>-{@value ExchangeRateTable#RATE_DIGITS}</sup>
+     *         Euro
+     * @throws AssertionFailedException
+     *             falls an diesem Tag kein Kurs bekannt ist
+     */
+    public long getScaledRate(final Currency currency, final int epochDay) {
+        int index = floorIndex(days[currency.ordinal()], NOT_FOUND, epochDay);
+        checkIndex(index, currency, epochDay);
+
+        return rates[currency.ordinal()].get(index);
+    }
+
+    /**
+     * Liefert den Kurs, der für die Währung am übergebenen Tag gilt.
+     *
+     * @param currency
+     *            die Währung
+     * @param epochDay
+     *            der Tag
+     * @return der Wert einer Einheit der Währung in Euro
+     * @throws AssertionFailedException
+     *             falls an diesem Tag kein Kurs bekannt ist
+     */
+    public double getRate(final Currency currency, final int epochDay) {
+        return (double)getScaledRate(currency, epochDay) / ExchangeRateTable.RATE_SCALE;
+    }
+
+    /**
+     * Konvertiert den übergebenen Betrag zum Kurs des übergebenen Tages in Euro.
+     *
+     * @param value
+     *            der Betrag
+     * @param waehrung
+     *            die Währung
+     * @param epochDay
+     *            der Tag
+     * @return konvertierter Betrag in Euro
+     * @throws AssertionFailedException
+     *             falls an diesem Tag kein Kurs bekannt ist
+     */
+    public double converterToEuro(final double value, final Currency waehrung, final int epochDay) {
+        return value * getRate(waehrung, epochDay);
+    }
+
+    /**
+     * Liefert die skalierten Kurse, die für die Währung an den übergebenen Tagen gelten. Sind die Tage
+     * aufsteigend sortiert, beginnt jede Suche an der Position des vorigen Tages. Unsortierte Tage
+     * sind erlaubt, werden aber langsamer gefunden.
+     *
+     * @param currency
+     *            die Währung
+     * @param epochDays
+     *            die Tage
+     * @param result
+     *            das Array für die Kurse, muss mindestens so lang wie die Tage sein
+     * @throws AssertionFailedException
+     *             falls an einem der Tage kein Kurs bekannt ist oder das Ergebnis zu kurz ist
+     */
+    public void getScaledRates(final Currency currency, final int[] epochDays, final long[] result) {
+        checkLength(epochDays.length, result.length);
+
+        IntBuffer currencyDays = days[currency.ordinal()];
+        LongBuffer currencyRates = rates[currency.ordinal()];
+        int index = NOT_FOUND;
+        for (int i = 0; i < epochDays.length; i++) {
+            index = findIndex(currency, currencyDays, epochDays, i, index);
+            result[i] = currencyRates.get(index);
+        }
+    }
+
+    /**
+     * Liefert die Kurse, die für die Währung an den übergebenen Tagen gelten. Sind die Tage
+     * aufsteigend sortiert, beginnt jede Suche an der Position des vorigen Tages. Unsortierte Tage
+     * sind erlaubt, werden aber langsamer gefunden.
+     *
+     * @param currency
+     *            die Währung
+     * @param epochDays
+     *            die Tage
+     * @param result
+     *            das Array für die Kurse, muss mindestens so lang wie die Tage sein
+     * @throws AssertionFailedException
+     *             falls an einem der Tage kein Kurs bekannt ist oder das Ergebnis zu kurz ist
+     */
+    public void getRates(final Currency currency, final int[] epochDays, final double[] result) {
+        checkLength(epochDays.length, result.length);
+
+        IntBuffer currencyDays = days[currency.ordinal()];
+        LongBuffer currencyRates = rates[currency.ordinal()];
+        int index = NOT_FOUND;
+        for (int i = 0; i < epochDays.length; i++) {
+            index = findIndex(currency, currencyDays, epochDays, i, index);
+            result[i] = (double)currencyRates.get(index) / ExchangeRateTable.RATE_SCALE;
+        }
+    }
+
+    /**
+     * Sucht die Position des Kurses für einen der übergebenen Tage. Liegt der Tag nicht vor dem vorigen
+     * Tag, beginnt die Suche an der Position des vorigen Tages.
+     *
+     * @param currency
+     *            die Währung
+     * @param currencyDays
+     *            die Tage der Kurse der Währung
+     * @param epochDays
+     *            die gesuchten Tage
+     * @param i
+     *            der Index des gesuchten Tages
+     * @param previousIndex
+     *            die Position des Kurses für den vorigen Tag, oder -1 für den ersten Tag
+     * @return die Position des Kurses
+     * @throws AssertionFailedException
+     *             falls an dem Tag kein Kurs bekannt ist
+     */
+    private static int findIndex(final Currency currency, final IntBuffer currencyDays, final int[] epochDays,
+            final int i, final int previousIndex) {
+        int day = epochDays[i];
+        int start = i > 0 && day >= epochDays[i - 1] ? previousIndex : NOT_FOUND;
+        int index = floorIndex(currencyDays, start, day);
+        checkIndex(index, currency, day);
+
+        return index;
+    }
+
+    private static void checkLength(final int length, final int resultLength) {
+        Ensure.that(resultLength >= length).isTrue("Ergebnis der Länge %s hat keinen Platz für %s Kurse",
+                resultLength, length);
+    }
+
+    private static void checkIndex(final int index, final Currency currency, final int epochDay) {
+        if (index == NOT_FOUND) {
+            throw new AssertionFailedException("Kein Wechselkurs für " + currency + " am Tag " + epochDay);
+        }
+    }
+
+    /**
+     * Sucht die Position des letzten Tages, der nicht nach dem übergebenen Tag liegt. Die Suche beginnt
+     * hinter der Startposition mit exponentiell wachsenden Schritten und endet mit einer binären Suche
+     * im zuletzt übersprungenen Bereich.
+     *
+     * @param days
+     *            die aufsteigend sortierten Tage
+     * @param start
+     *            eine Position, deren Tag nicht nach dem gesuchten Tag liegt, oder -1
+     * @param day
+     *            der gesuchte Tag
+     * @return die Position, oder -1 falls alle Tage nach dem gesuchten Tag liegen
+     */
+    static int floorIndex(final IntBuffer days, final int start, final int day) {
+        int size = days.limit();
+        int low = start;
+        int step = 1;
+        int high = low + step;
+        while (high < size && days.get(high) <= day) {
+            low = high;
+            step <<= 1;
+            high = low + step;
+        }
+        high = Math.min(high, size);
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            if (days.get(middle) <= day) {
+                low = middle;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Schreibt die Kurse in die übergebene Datei. Eine bestehende Datei wird ersetzt: Die Kurse werden
+     * zuerst in eine temporäre Datei im gleichen Verzeichnis geschrieben, die dann umbenannt wird. Daher
+     * kann auch die Datei überschrieben werden, aus der diese Kurse {@link #load(File) geladen} wurden,
+     * ohne dass der abgebildete Speicher abgeschnitten wird.
+     *
+     * @param file
+     *            die Datei
+     * @throws IOException
+     *             falls die Datei nicht geschrieben werden kann
+     */
+    public void write(final File file) throws IOException {
+        File temporary = File.createTempFile("." + file.getName() + "-", ".tmp",
+                file.getAbsoluteFile().getParentFile());
+        try {
+            writeImage(temporary);
+            if (!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file))) {
+                throw new IOException("Datei " + temporary + " kann nicht in " + file + " umbenannt werden");
+            }
+        }
+        finally {
+            if (temporary.exists() && !temporary.delete()) {
+                temporary.deleteOnExit();
+            }
+        }
+    }
+
+    private void writeImage(final File file) throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = output.getChannel();
+            ByteBuffer buffer = image.duplicate();
+            buffer.clear();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Sammelt die Kurse für {@link HistoricalRateStore}. Die Kurse können in beliebiger Reihenfolge
+     * hinzugefügt werden, sie werden beim Erzeugen sortiert. Instanzen dieser Klasse sind nicht
+     * thread-safe.
+     */
+    public static final class Builder {
+        /** Anzahl der Kurse einer Währung, bevor die Arrays wachsen müssen. */
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final int[][] days = new int[CURRENCY_COUNT][];
+        private final long[][] rates = new long[CURRENCY_COUNT][];
+        private final int[] counts = new int[CURRENCY_COUNT];
+        private int size;
+
+        Builder() {
+            // use factory method
+        }
+
+        /**
+         * Fügt einen Kurs hinzu.
+         *
+         * @param currency
+         *            die Währung
+         * @param epochDay
+         *            der erste Tag, an dem der Kurs gilt
+         * @param rate
+         *            der Wert einer Einheit der Währung in Euro, wird auf
+         *            {@value ExchangeRateTable#RATE_DIGITS} Nachkommastellen gerundet
+         * @return dieser Builder
+         * @throws AssertionFailedException
+         *             falls der gerundete Kurs nicht positiv oder zu groß ist
+         */
+        public Builder addRate(final Currency currency, final int epochDay, final double rate) {
+            return addScaledRate(currency, epochDay, ExchangeRateTable.toScaledRate(currency, rate));
+        }
+
+        /**
+         * Fügt einen skalierten Kurs hinzu.
+         *
+         * @param currency
+         *            die Währung
+         * @param epochDay
+         *            der erste Tag, an dem der Kurs gilt
+         * @param rate
+         *            der Wert einer Einheit der Währung in 10<sup>-{@value ExchangeRateTable#RATE_DIGITS}</sup>
+         *            Euro
+         * @return dieser Builder
+         * @throws AssertionFailedException
+         *             falls der Kurs nicht positiv oder zu groß ist
+         */
+        public Builder addScaledRate(final Currency currency, final int epochDay, final long rate) {
+            Ensure.that(rate > 0 && rate <= ExchangeRateTable.MAXIMUM_SCALED_RATE).isTrue(
+                    "Ungültiger Wechselkurs für %s: %s", currency, rate);
+            Ensure.that(size < MAXIMUM_SIZE).isTrue("Es sind höchstens %s Kurse möglich", MAXIMUM_SIZE);
+
+            int index = currency.ordinal();
+            int count = counts[index];
+            if (days[index] == null) {
+                days[index] = new int[INITIAL_CAPACITY];
+                rates[index] = new long[INITIAL_CAPACITY];
+            }
+            else if (count == days[index].length) {
+                days[index] = Arrays.copyOf(days[index], 2 * count);
+                rates[index] = Arrays.copyOf(rates[index], 2 * count);
+            }
+            days[index][count] = epochDay;
+            rates[index][count] = rate;
+            counts[index]++;
+            size++;
+            return this;
+        }
+
+        /**
+         * Erzeugt die historischen Kurse mit den bisher hinzugefügten Kursen.
+         *
+         * @return die Kurse
+         * @throws AssertionFailedException
+         *             falls für eine Währung zwei Kurse am gleichen Tag hinzugefügt wurden
+         */
+        public HistoricalRateStore build() {
+            ByteBuffer image = ByteBuffer.allocateDirect(HEADER_SIZE + CURRENCY_COUNT * DIRECTORY_ENTRY_SIZE
+                    + size * ENTRY_SIZE);
+            image.putInt(MAGIC).putInt(VERSION).putInt(CURRENCY_COUNT).putInt(size);
+            for (Currency currency : Currency.values()) {
+                image.putInt(toCode(currency)).putInt(counts[currency.ordinal()]);
+            }
+            for (Currency currency : Currency.values()) {
+                int count = counts[currency.ordinal()];
+                long[] sorted = sort(currency);
+                for (int i = 0; i < count; i++) {
+                    image.putInt(days[currency.ordinal()][(int)sorted[i]]);
+                }
+                for (int i = 0; i < count; i++) {
+                    image.putLong(rates[currency.ordinal()][(int)sorted[i]]);
+                }
+            }
+            image.clear();
+            return new HistoricalRateStore(image);
+        }
+
+        /**
+         * Sortiert die Kurse der Währung nach ihrem Tag.
+         *
+         * @param currency
+         *            die Währung
+         * @return die Positionen der Kurse in der Reihenfolge ihrer Tage, in den unteren 32 Bits
+         */
+        private long[] sort(final Currency currency) {
+            int count = counts[currency.ordinal()];
+            int[] currencyDays = days[currency.ordinal()];
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = (long)currencyDays[i] << 32 | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < count; i++) {
+                keys[i] &= 0xFFFFFFFFL;
+                if (i > 0) {
+                    int day = currencyDays[(int)keys[i]];
+                    Ensure.that(day != currencyDays[(int)keys[i - 1]]).isTrue(
+                            "Zwei Kurse für %s am Tag %s", currency, day);
+                }
+            }
+            return keys;
+        }
+    }
+}
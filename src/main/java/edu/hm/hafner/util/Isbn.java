@@ -0,0 +1,631 @@
+package edu.hm.hafner.util;
+
+import java.nio.ByteBuffer;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Validates ISBN-10 and ISBN-13 numbers in a single pass without creating any objects. Besides
+ * {@link CharSequence strings} the numbers can be given as slices of <code>char</code> arrays and as
+ * slices of ASCII encoded <code>byte</code> arrays or {@link ByteBuffer byte buffers}, so that large
+ * catalog files can be validated without decoding each line into a {@link String}.
+ * <p>
+ * The separators that are skipped are the same as in {@link StringUtils#isValidISBN10(String)} and
+ * {@link StringUtils#isValidIsbn13(String)}:
+ * </p>
+ * <ul>
+ * <li>ISBN-10: hyphens and the ASCII whitespace characters, i.e. space, tab, line feed, vertical
+ * tab, form feed and carriage return. Digits may be any Unicode decimal digits.</li>
+ * <li>ISBN-13: all Unicode space separators and dash punctuation characters. Digits may be any Unicode
+ * decimal digits.</li>
+ * </ul>
+ * <p>
+ * The ASCII variants treat each byte as a character, bytes outside of the ASCII range are invalid.
+ * </p>
+ * <p>
+ * In order to store, compare and de-duplicate large numbers of ISBNs, an ISBN can be
+ * {@link #parse(CharSequence) parsed} once into its canonical form, the EAN-13 number as a primitive
+ * <code>long</code>. ISBN-10 numbers are converted to ISBN-13 numbers with the prefix 978. The
+ * canonical form can be written as ISBN-13 or ISBN-10 without creating intermediate strings.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class Isbn {
+    /** Number of digits of an ISBN-10. */
+    static final int ISBN10_LENGTH = 10;
+    /** Number of digits of an ISBN-13. */
+    static final int ISBN13_LENGTH = 13;
+    /** Check digit 10 of an ISBN-10, written as <code>X</code>. */
+    static final int CHECK_DIGIT_X = 10;
+
+    /** First 12 digits of the EAN-13 of the ISBN-10 0-00-000000-?. */
+    private static final long ISBN10_PREFIX = 978000000000L;
+    /** Divides the first 12 digits of an EAN-13 into the prefix and the ISBN-10 digits. */
+    private static final int ISBN10_PREFIX_DIVISOR = 1000000000;
+    /** Smallest number with 14 digits. */
+    private static final long EAN_LIMIT = 10000000000000L;
+
+    /** Result of {@link #parse(CharSequence)} if the characters are no valid ISBN. */
+    public static final long INVALID_ISBN = -1;
+
+    /** Value of characters that are neither digits nor separators. */
+    static final int INVALID = -1;
+    /** Value of separator characters. */
+    static final int SEPARATOR = -2;
+
+    /*
+     * The validation and parsing loops of all character sources share the checksum accumulation. Its state is
+     * packed into a long: the number of digits in the lowest bits, followed by the weighted sum and the value
+     * of the digits that have been read so far.
+     */
+    private static final int COUNT_BITS = 4;
+    private static final long COUNT_MASK = (1 << COUNT_BITS) - 1;
+    private static final int SUM_BITS = 9;
+    private static final long SUM_MASK = (1 << SUM_BITS) - 1;
+    private static final int VALUE_SHIFT = COUNT_BITS + SUM_BITS;
+    /** State of a loop if the characters are no valid ISBN. */
+    private static final long INVALID_STATE = -1;
+
+    /**
+     * Returns whether the specified characters form a valid ISBN-10.
+     *
+     * @param isbn
+     *            the characters to check, may be <code>null</code>
+     * @return <code>true</code> if the characters form a valid ISBN-10, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn10(@CheckForNull final CharSequence isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        long state = 0;
+        for (int i = 0; i < isbn.length() && state != INVALID_STATE; i++) {
+            state = addIsbn10Digit(state, isbn10Digit(isbn.charAt(i)));
+        }
+        return isCompleteIsbn10(state);
+    }
+
+    /**
+     * Returns whether the specified characters form a valid ISBN-10.
+     *
+     * @param isbn
+     *            the array containing the characters to check
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the characters form a valid ISBN-10, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn10(final char[] isbn, final int offset, final int length) {
+        checkRange(isbn.length, offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn10Digit(state, isbn10Digit(isbn[i]));
+        }
+        return isCompleteIsbn10(state);
+    }
+
+    /**
+     * Returns whether the specified ASCII characters form a valid ISBN-10.
+     *
+     * @param isbn
+     *            the array containing the ASCII characters to check
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the characters form a valid ISBN-10, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn10(final byte[] isbn, final int offset, final int length) {
+        checkRange(isbn.length, offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn10Digit(state, isbn10Digit(isbn[i]));
+        }
+        return isCompleteIsbn10(state);
+    }
+
+    /**
+     * Returns whether the remaining ASCII characters of the specified buffer form a valid ISBN-10.
+     * The position of the buffer is not changed.
+     *
+     * @param isbn
+     *            the buffer containing the ASCII characters to check between its position and limit
+     * @return <code>true</code> if the characters form a valid ISBN-10, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn10(final ByteBuffer isbn) {
+        return isValidIsbn10(isbn, isbn.position(), isbn.remaining());
+    }
+
+    /**
+     * Returns whether the specified ASCII characters of the buffer form a valid ISBN-10. The position
+     * of the buffer is not used and not changed.
+     *
+     * @param isbn
+     *            the buffer containing the ASCII characters to check
+     * @param offset
+     *            the absolute index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the characters form a valid ISBN-10, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn10(final ByteBuffer isbn, final int offset, final int length) {
+        checkRange(isbn.limit(), offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn10Digit(state, isbn10Digit(isbn.get(i)));
+        }
+        return isCompleteIsbn10(state);
+    }
+
+    /**
+     * Returns whether the specified characters form a valid ISBN-13.
+     *
+     * @param isbn
+     *            the characters to check, may be <code>null</code>
+     * @return <code>true</code> if the characters form a valid ISBN-13, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn13(@CheckForNull final CharSequence isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        long state = 0;
+        for (int i = 0; i < isbn.length() && state != INVALID_STATE; i++) {
+            state = addIsbn13Digit(state, isbn13Digit(isbn.charAt(i)));
+        }
+        return isCompleteIsbn13(state);
+    }
+
+    /**
+     * Returns whether the specified characters form a valid ISBN-13.
+     *
+     * @param isbn
+     *            the array containing the characters to check
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the characters form a valid ISBN-13, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn13(final char[] isbn, final int offset, final int length) {
+        checkRange(isbn.length, offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn13Digit(state, isbn13Digit(isbn[i]));
+        }
+        return isCompleteIsbn13(state);
+    }
+
+    /**
+     * Returns whether the specified ASCII characters form a valid ISBN-13.
+     *
+     * @param isbn
+     *            the array containing the ASCII characters to check
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the characters form a valid ISBN-13, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn13(final byte[] isbn, final int offset, final int length) {
+        checkRange(isbn.length, offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn13Digit(state, isbn13Digit(isbn[i]));
+        }
+        return isCompleteIsbn13(state);
+    }
+
+    /**
+     * Returns whether the remaining ASCII characters of the specified buffer form a valid ISBN-13.
+     * The position of the buffer is not changed.
+     *
+     * @param isbn
+     *            the buffer containing the ASCII characters to check between its position and limit
+     * @return <code>true</code> if the characters form a valid ISBN-13, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn13(final ByteBuffer isbn) {
+        return isValidIsbn13(isbn, isbn.position(), isbn.remaining());
+    }
+
+    /**
+     * Returns whether the specified ASCII characters of the buffer form a valid ISBN-13. The position
+     * of the buffer is not used and not changed.
+     *
+     * @param isbn
+     *            the buffer containing the ASCII characters to check
+     * @param offset
+     *            the absolute index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the characters form a valid ISBN-13, <code>false</code> otherwise
+     */
+    public static boolean isValidIsbn13(final ByteBuffer isbn, final int offset, final int length) {
+        checkRange(isbn.limit(), offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn13Digit(state, isbn13Digit(isbn.get(i)));
+        }
+        return isCompleteIsbn13(state);
+    }
+
+    /**
+     * Parses the specified ISBN-10 or ISBN-13 into its canonical form, the EAN-13 number as a
+     * <code>long</code>. An ISBN-10 is converted to the ISBN-13 with the prefix 978. The separators
+     * that are skipped are the same as in {@link #isValidIsbn10(CharSequence)} and
+     * {@link #isValidIsbn13(CharSequence)}. In addition to these validators, the check digit
+     * <code>X</code> of an ISBN-10 is accepted, as it is written by
+     * {@link #appendIsbn10(long, StringBuilder)}.
+     *
+     * @param isbn
+     *            the ISBN to parse, may be <code>null</code>
+     * @return the EAN-13 number, or {@link #INVALID_ISBN} if the characters are no valid ISBN
+     */
+    public static long parse(@CheckForNull final CharSequence isbn) {
+        if (isbn == null) {
+            return INVALID_ISBN;
+        }
+        long state = 0;
+        for (int i = 0; i < isbn.length() && state != INVALID_STATE; i++) {
+            state = addIsbn13Digit(state, isbn13Digit(isbn.charAt(i)));
+        }
+        if (isCompleteIsbn13(state)) {
+            return getValue(state);
+        }
+        return parseIsbn10(isbn);
+    }
+
+    /**
+     * Parses the specified ASCII characters of an ISBN-10 or ISBN-13 into its canonical form, the
+     * EAN-13 number as a <code>long</code>. The characters are parsed like
+     * {@link #parse(CharSequence)}.
+     *
+     * @param isbn
+     *            the array containing the ASCII characters to parse
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return the EAN-13 number, or {@link #INVALID_ISBN} if the characters are no valid ISBN
+     */
+    public static long parse(final byte[] isbn, final int offset, final int length) {
+        checkRange(isbn.length, offset, length);
+
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            state = addIsbn13Digit(state, isbn13Digit(isbn[i]));
+        }
+        if (isCompleteIsbn13(state)) {
+            return getValue(state);
+        }
+        return parseIsbn10(isbn, offset, length);
+    }
+
+    private static long parseIsbn10(final CharSequence isbn) {
+        long state = 0;
+        for (int i = 0; i < isbn.length() && state != INVALID_STATE; i++) {
+            char character = isbn.charAt(i);
+            state = addIsbn10Digit(state, isCheckDigitX(state, character) ? CHECK_DIGIT_X : isbn10Digit(character));
+        }
+        return isCompleteIsbn10(state) ? toEan(ISBN10_PREFIX + getValue(state)) : INVALID_ISBN;
+    }
+
+    private static long parseIsbn10(final byte[] isbn, final int offset, final int length) {
+        long state = 0;
+        for (int i = offset; i < offset + length && state != INVALID_STATE; i++) {
+            byte character = isbn[i];
+            state = addIsbn10Digit(state, isCheckDigitX(state, character) ? CHECK_DIGIT_X : isbn10Digit(character));
+        }
+        return isCompleteIsbn10(state) ? toEan(ISBN10_PREFIX + getValue(state)) : INVALID_ISBN;
+    }
+
+    /**
+     * Adds the specified value of an ISBN-10 character to the state of a validation or parsing loop.
+     * The state of an empty ISBN is 0.
+     *
+     * @param state
+     *            the state after the previous characters
+     * @param digit
+     *            the value of the character, see {@link #isbn10Digit(char)}
+     * @return the state after the character, or {@link #INVALID_STATE} if the characters are no valid
+     *         ISBN-10
+     */
+    private static long addIsbn10Digit(final long state, final int digit) {
+        if (digit == SEPARATOR) {
+            return state;
+        }
+        int count = getCount(state) + 1;
+        int sum = getSum(state);
+        if (digit == INVALID || count > ISBN10_LENGTH) {
+            return INVALID_STATE;
+        }
+        if (count < ISBN10_LENGTH) {
+            return createState(count, sum + count * digit, getValue(state) * 10 + digit);
+        }
+        return sum % 11 == digit ? createState(count, sum, getValue(state)) : INVALID_STATE;
+    }
+
+    /**
+     * Adds the specified value of an ISBN-13 character to the state of a validation or parsing loop.
+     * The state of an empty ISBN is 0.
+     *
+     * @param state
+     *            the state after the previous characters
+     * @param digit
+     *            the value of the character, see {@link #isbn13Digit(char)}
+     * @return the state after the character, or {@link #INVALID_STATE} if the characters are no valid
+     *         ISBN-13
+     */
+    private static long addIsbn13Digit(final long state, final int digit) {
+        if (digit == SEPARATOR) {
+            return state;
+        }
+        int count = getCount(state);
+        if (digit == INVALID || count == ISBN13_LENGTH) {
+            return INVALID_STATE;
+        }
+        return createState(count + 1, getSum(state) + weight(count) * digit, getValue(state) * 10 + digit);
+    }
+
+    private static boolean isCompleteIsbn10(final long state) {
+        return state != INVALID_STATE && getCount(state) == ISBN10_LENGTH;
+    }
+
+    private static boolean isCompleteIsbn13(final long state) {
+        return state != INVALID_STATE && getCount(state) == ISBN13_LENGTH && getSum(state) % 10 == 0;
+    }
+
+    private static boolean isCheckDigitX(final long state, final int character) {
+        return getCount(state) == ISBN10_LENGTH - 1 && (character == 'X' || character == 'x');
+    }
+
+    private static long createState(final int count, final int sum, final long value) {
+        return value << VALUE_SHIFT | (long)sum << COUNT_BITS | count;
+    }
+
+    private static int getCount(final long state) {
+        return (int)(state & COUNT_MASK);
+    }
+
+    private static int getSum(final long state) {
+        return (int)(state >>> COUNT_BITS & SUM_MASK);
+    }
+
+    private static long getValue(final long state) {
+        return state >>> VALUE_SHIFT;
+    }
+
+    /**
+     * Appends the check digit to the specified first 12 digits of an EAN-13.
+     *
+     * @param digits
+     *            the first 12 digits
+     * @return the EAN-13
+     */
+    private static long toEan(final long digits) {
+        int sum = 0;
+        long remaining = digits;
+        for (int position = ISBN13_LENGTH - 2; position >= 0; position--) {
+            sum += weight(position) * (int)(remaining % 10);
+            remaining /= 10;
+        }
+        return digits * 10 + (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Returns whether the specified number is a valid EAN-13, i.e. it has at most 13 digits and a
+     * correct check digit. All values returned by {@link #parse(CharSequence)} are valid, except
+     * {@link #INVALID_ISBN}.
+     *
+     * @param ean
+     *            the number to check
+     * @return <code>true</code> if the number is a valid EAN-13, <code>false</code> otherwise
+     */
+    public static boolean isValidEan(final long ean) {
+        return ean >= 0 && ean < EAN_LIMIT && toEan(ean / 10) == ean;
+    }
+
+    /**
+     * Returns whether the specified EAN-13 can be written as an ISBN-10, i.e. it starts with the
+     * prefix 978.
+     *
+     * @param ean
+     *            the EAN-13
+     * @return <code>true</code> if the number has an ISBN-10 representation, <code>false</code> otherwise
+     */
+    public static boolean hasIsbn10(final long ean) {
+        return isValidEan(ean) && ean / 10 / ISBN10_PREFIX_DIVISOR == ISBN10_PREFIX / ISBN10_PREFIX_DIVISOR;
+    }
+
+    /**
+     * Appends the 13 digits of the specified EAN-13 to the builder.
+     *
+     * @param ean
+     *            the EAN-13
+     * @param builder
+     *            the builder to append the digits to
+     * @throws AssertionFailedException
+     *             if the number is no valid EAN-13
+     */
+    public static void appendIsbn13(final long ean, final StringBuilder builder) {
+        if (!isValidEan(ean)) {
+            throw new AssertionFailedException("Invalid EAN-13: " + ean);
+        }
+
+        for (long divisor = EAN_LIMIT / 10; divisor > 0; divisor /= 10) {
+            builder.append((char)('0' + ean / divisor % 10));
+        }
+    }
+
+    /**
+     * Writes the 13 digits of the specified EAN-13 into the array.
+     *
+     * @param ean
+     *            the EAN-13
+     * @param destination
+     *            the array to write the digits to
+     * @param offset
+     *            the index of the first digit in the array
+     * @return the index after the last written digit
+     * @throws AssertionFailedException
+     *             if the number is no valid EAN-13
+     */
+    public static int formatIsbn13(final long ean, final char[] destination, final int offset) {
+        if (!isValidEan(ean)) {
+            throw new AssertionFailedException("Invalid EAN-13: " + ean);
+        }
+        checkRange(destination.length, offset, ISBN13_LENGTH);
+
+        long remaining = ean;
+        for (int i = offset + ISBN13_LENGTH - 1; i >= offset; i--) {
+            destination[i] = (char)('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return offset + ISBN13_LENGTH;
+    }
+
+    /**
+     * Appends the ISBN-10 of the specified EAN-13 to the builder. The check digit 10 is written as
+     * <code>X</code>.
+     *
+     * @param ean
+     *            the EAN-13, must start with the prefix 978
+     * @param builder
+     *            the builder to append the digits to
+     * @throws AssertionFailedException
+     *             if the number has no ISBN-10 representation
+     * @see #hasIsbn10(long)
+     */
+    public static void appendIsbn10(final long ean, final StringBuilder builder) {
+        if (!hasIsbn10(ean)) {
+            throw new AssertionFailedException("EAN-13 has no ISBN-10: " + ean);
+        }
+
+        int digits = (int)(ean / 10 % ISBN10_PREFIX_DIVISOR);
+        int sum = 0;
+        int weight = 1;
+        for (int divisor = ISBN10_PREFIX_DIVISOR / 10; divisor > 0; divisor /= 10) {
+            int digit = digits / divisor % 10;
+            builder.append((char)('0' + digit));
+            sum += weight++ * digit;
+        }
+        int checkDigit = sum % 11;
+        builder.append(checkDigit == CHECK_DIGIT_X ? 'X' : (char)('0' + checkDigit));
+    }
+
+    /**
+     * Returns the weight of the digit at the specified position of an ISBN-13: the digits are
+     * alternately weighted by 1 and 3.
+     *
+     * @param position
+     *            the position of the digit
+     * @return the weight
+     */
+    static int weight(final int position) {
+        return 1 + ((position & 1) << 1);
+    }
+
+    /**
+     * Returns the value of the specified character of an ISBN-10.
+     *
+     * @param character
+     *            the character
+     * @return the value of the digit, {@link #SEPARATOR} for a separator, or {@link #INVALID}
+     */
+    static int isbn10Digit(final char character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character < 128) {
+            return isIsbn10Separator(character) ? SEPARATOR : INVALID;
+        }
+        return Character.digit(character, 10);
+    }
+
+    /**
+     * Returns the value of the specified ASCII character of an ISBN-10.
+     *
+     * @param character
+     *            the ASCII character
+     * @return the value of the digit, {@link #SEPARATOR} for a separator, or {@link #INVALID}
+     */
+    static int isbn10Digit(final byte character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        return isIsbn10Separator((char)character) ? SEPARATOR : INVALID;
+    }
+
+    /**
+     * Returns the value of the specified character of an ISBN-13.
+     *
+     * @param character
+     *            the character
+     * @return the value of the digit, {@link #SEPARATOR} for a separator, or {@link #INVALID}
+     */
+    static int isbn13Digit(final char character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character < 128) {
+            return isIsbn13AsciiSeparator(character) ? SEPARATOR : INVALID;
+        }
+        int type = Character.getType(character);
+        if (type == Character.DECIMAL_DIGIT_NUMBER) {
+            return Character.digit(character, 10);
+        }
+        if (type == Character.SPACE_SEPARATOR || type == Character.DASH_PUNCTUATION) {
+            return SEPARATOR;
+        }
+        return INVALID;
+    }
+
+    /**
+     * Returns the value of the specified ASCII character of an ISBN-13.
+     *
+     * @param character
+     *            the ASCII character
+     * @return the value of the digit, {@link #SEPARATOR} for a separator, or {@link #INVALID}
+     */
+    static int isbn13Digit(final byte character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        return isIsbn13AsciiSeparator((char)character) ? SEPARATOR : INVALID;
+    }
+
+    private static boolean isIsbn10Separator(final char character) {
+        switch (character) {
+            case '-':
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\013':
+            case '\f':
+            case '\r':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isIsbn13AsciiSeparator(final char character) {
+        return character == ' ' || character == '-';
+    }
+
+    private static void checkRange(final int size, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > size - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", size " + size);
+        }
+    }
+
+    private Isbn() {
+        // prevents instantiation
+    }
+}
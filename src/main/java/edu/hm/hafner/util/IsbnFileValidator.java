@@ -0,0 +1,518 @@
+package edu.hm.hafner.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.io.Closeables;
+
+import edu.hm.hafner.util.ParallelExecution.RangeTask;
+
+/**
+ * Validates a file that contains one ISBN per line. The file is mapped into memory and the ASCII
+ * bytes are validated directly, without decoding the lines into {@link String strings}. The file is
+ * split on line boundaries into chunks that are validated in parallel.
+ * <p>
+ * Each line is validated like {@link Isbn#isValidIsbn10(byte[], int, int)} or
+ * {@link Isbn#isValidIsbn13(byte[], int, int)}, i.e. the same separators are skipped. Lines are
+ * separated by <code>'\n'</code>, an optional <code>'\r'</code> before the line feed is ignored. For
+ * lines that contain the correct number of digits but a wrong check digit, the {@link Result} provides
+ * the check digit the line should have had.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class IsbnFileValidator {
+    /** Check digit of lines that are valid. */
+    public static final int VALID = -1;
+    /** Check digit of lines that contain invalid characters or the wrong number of digits. */
+    public static final int MALFORMED = -2;
+    /** Check digit 10 of an ISBN-10, usually written as <code>X</code>. */
+    public static final int CHECK_DIGIT_X = 10;
+
+    /** Maximum size of a mapped chunk of the file. */
+    static final int MAXIMUM_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+    private static final int LINE_FEED = -3;
+    private static final int CARRIAGE_RETURN = -4;
+    private static final byte[] ISBN10_VALUES = createValues(Type.ISBN_10);
+    private static final byte[] ISBN13_VALUES = createValues(Type.ISBN_13);
+
+    /**
+     * The kinds of ISBN numbers.
+     */
+    public enum Type {
+        /** The lines contain ISBN-10 numbers. */
+        ISBN_10,
+        /** The lines contain ISBN-13 numbers. */
+        ISBN_13
+    }
+
+    /**
+     * Validates all lines of the specified file.
+     *
+     * @param file
+     *            the file to validate
+     * @param type
+     *            the type of the ISBN numbers in the file
+     * @return the result of the validation
+     * @throws IOException
+     *             if the file could not be read
+     */
+    public static Result validate(final File file, final Type type) throws IOException {
+        return validate(file, type, MAXIMUM_CHUNK_SIZE);
+    }
+
+    /**
+     * Validates all lines of the specified file.
+     *
+     * @param file
+     *            the file to validate
+     * @param type
+     *            the type of the ISBN numbers in the file
+     * @param maximumChunkSize
+     *            the maximum number of bytes that are mapped at once
+     * @return the result of the validation
+     * @throws IOException
+     *             if the file could not be read
+     */
+    static Result validate(final File file, final Type type, final int maximumChunkSize) throws IOException {
+        Ensure.notNull(file, type);
+
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = input.getChannel();
+            final long[] boundaries = findChunkBoundaries(channel, maximumChunkSize);
+
+            List<List<Chunk>> results = ParallelExecution.execute(boundaries.length - 1, 1,
+                    new RangeTask<List<Chunk>>() {
+                        @Override
+                        public List<Chunk> compute(final int from, final int to) {
+                            List<Chunk> chunks = new ArrayList<Chunk>(to - from);
+                            for (int i = from; i < to; i++) {
+                                chunks.add(validate(channel, boundaries[i], boundaries[i + 1], type));
+                            }
+                            return chunks;
+                        }
+                    });
+
+            List<Chunk> chunks = new ArrayList<Chunk>();
+            for (List<Chunk> result : results) {
+                chunks.addAll(result);
+            }
+            return new Result(chunks);
+        }
+        finally {
+            Closeables.closeQuietly(input);
+        }
+    }
+
+    /**
+     * Splits the file into chunks that end with a complete line. The file is split into at least one
+     * chunk per processor.
+     *
+     * @param channel
+     *            the channel of the file to split
+     * @param maximumChunkSize
+     *            the maximum number of bytes of a chunk
+     * @return the start offsets of the chunks, followed by the size of the file
+     * @throws IOException
+     *             if the file could not be read or contains a line that is longer than the maximum chunk size
+     */
+    private static long[] findChunkBoundaries(final FileChannel channel, final int maximumChunkSize)
+            throws IOException {
+        long size = channel.size();
+        long targetSize = Math.max(1, Math.min(maximumChunkSize / 2, (size + ParallelExecution.PARALLELISM - 1)
+                / ParallelExecution.PARALLELISM));
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long[] boundaries = new long[(int)Math.min(Integer.MAX_VALUE - 1, size / targetSize + 2)];
+        int count = 1;
+        long start = 0;
+        while (size - start > targetSize) {
+            long end = findLineEnd(channel, start + targetSize, buffer);
+            if (end >= size) {
+                break;
+            }
+            boundaries[count++] = end;
+            start = end;
+        }
+        boundaries[count++] = size;
+
+        for (int i = 1; i < count; i++) {
+            if (boundaries[i] - boundaries[i - 1] > maximumChunkSize) {
+                throw new IOException("Line at offset " + boundaries[i - 1] + " is too long");
+            }
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Returns the offset after the first line feed at or after the specified position.
+     *
+     * @param channel
+     *            the channel of the file to scan
+     * @param position
+     *            the offset to start the scan at
+     * @param buffer
+     *            the buffer to read the file contents into
+     * @return the offset after the line feed, or the size of the file if there is no line feed
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private static long findLineEnd(final FileChannel channel, final long position, final ByteBuffer buffer)
+            throws IOException {
+        long offset = position;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                return offset;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    private static Chunk validate(final FileChannel channel, final long start, final long end, final Type type) {
+        try {
+            MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, start, end - start);
+            if (type == Type.ISBN_10) {
+                return validateIsbn10(buffer);
+            }
+            return validateIsbn13(buffer);
+        }
+        catch (IOException exception) {
+            throw new IllegalStateException("Can't map chunk " + start + " - " + end, exception);
+        }
+    }
+
+    private static Chunk validateIsbn10(final ByteBuffer buffer) {
+        Chunk chunk = new Chunk(buffer.limit());
+        int limit = buffer.limit();
+        int sum = 0;
+        int count = 0;
+        boolean isMalformed = false;
+        int checkDigit = 0;
+        boolean isEmpty = true;
+        for (int i = 0; i < limit; i++) {
+            int digit = ISBN10_VALUES[buffer.get(i) & 0xFF];
+            if (digit == LINE_FEED) {
+                chunk.add(isbn10Result(sum, count, checkDigit, isMalformed));
+                sum = 0;
+                count = 0;
+                isMalformed = false;
+                isEmpty = true;
+                continue;
+            }
+            isEmpty = false;
+            if (digit >= 0) {
+                count++;
+                if (count < Isbn.ISBN10_LENGTH) {
+                    sum += count * digit;
+                }
+                else {
+                    checkDigit = digit;
+                }
+            }
+            else if (digit == Isbn.INVALID) {
+                isMalformed = true;
+            }
+        }
+        if (!isEmpty) {
+            chunk.add(isbn10Result(sum, count, checkDigit, isMalformed));
+        }
+        return chunk;
+    }
+
+    private static int isbn10Result(final int sum, final int count, final int checkDigit, final boolean isMalformed) {
+        if (isMalformed || count != Isbn.ISBN10_LENGTH) {
+            return MALFORMED;
+        }
+        int expected = sum % 11;
+        if (expected == checkDigit) {
+            return VALID;
+        }
+        return expected;
+    }
+
+    private static Chunk validateIsbn13(final ByteBuffer buffer) {
+        Chunk chunk = new Chunk(buffer.limit());
+        int limit = buffer.limit();
+        int sum = 0;
+        int count = 0;
+        boolean isMalformed = false;
+        int checkDigit = 0;
+        boolean isEmpty = true;
+        for (int i = 0; i < limit; i++) {
+            int digit = ISBN13_VALUES[buffer.get(i) & 0xFF];
+            if (digit == LINE_FEED) {
+                chunk.add(isbn13Result(sum, count, checkDigit, isMalformed));
+                sum = 0;
+                count = 0;
+                isMalformed = false;
+                isEmpty = true;
+                continue;
+            }
+            isEmpty = false;
+            if (digit >= 0) {
+                if (count < Isbn.ISBN13_LENGTH - 1) {
+                    sum += Isbn.weight(count) * digit;
+                }
+                else {
+                    checkDigit = digit;
+                }
+                count++;
+            }
+            else if (digit == Isbn.INVALID || digit == CARRIAGE_RETURN && !isLineEnd(buffer, i)) {
+                isMalformed = true;
+            }
+        }
+        if (!isEmpty) {
+            chunk.add(isbn13Result(sum, count, checkDigit, isMalformed));
+        }
+        return chunk;
+    }
+
+    private static boolean isLineEnd(final ByteBuffer buffer, final int index) {
+        return index + 1 == buffer.limit() || buffer.get(index + 1) == '\n';
+    }
+
+    private static int isbn13Result(final int sum, final int count, final int checkDigit, final boolean isMalformed) {
+        if (isMalformed || count != Isbn.ISBN13_LENGTH) {
+            return MALFORMED;
+        }
+        int expected = (10 - sum % 10) % 10;
+        if (expected == checkDigit) {
+            return VALID;
+        }
+        return expected;
+    }
+
+    /**
+     * Creates a table with the values of all bytes, see {@link Isbn#isbn10Digit(byte)} and
+     * {@link Isbn#isbn13Digit(byte)}. Line feeds and carriage returns get their own values so that the
+     * scanning loop needs a single table lookup for each byte.
+     *
+     * @param type
+     *            the type of the ISBN numbers
+     * @return the values of all bytes, indexed by the unsigned byte value
+     */
+    private static byte[] createValues(final Type type) {
+        byte[] values = new byte[256];
+        for (int i = 0; i < values.length; i++) {
+            int value = type == Type.ISBN_10 ? Isbn.isbn10Digit((byte)i) : Isbn.isbn13Digit((byte)i);
+            if (i == '\n') {
+                value = LINE_FEED;
+            }
+            else if (i == '\r' && value == Isbn.INVALID) {
+                value = CARRIAGE_RETURN;
+            }
+            values[i] = (byte)value;
+        }
+        return values;
+    }
+
+    private IsbnFileValidator() {
+        // prevents instantiation
+    }
+
+    /**
+     * The results of the lines of a chunk. Valid lines are stored in a bitmap, the invalid lines are
+     * stored in a sparse list together with their expected check digit.
+     */
+    private static final class Chunk {
+        private long[] valid;
+        private int lines;
+        private int[] invalidLines = new int[16];
+        private byte[] checkDigits = new byte[16];
+        private int invalidCount;
+
+        Chunk(final int size) {
+            valid = new long[Math.max(1, size / Isbn.ISBN10_LENGTH / Long.SIZE + 1)];
+        }
+
+        void add(final int result) {
+            if (result == VALID) {
+                if (lines >>> 6 >= valid.length) {
+                    valid = Arrays.copyOf(valid, valid.length * 2);
+                }
+                valid[lines >>> 6] |= 1L << lines;
+            }
+            else {
+                if (invalidCount == invalidLines.length) {
+                    invalidLines = Arrays.copyOf(invalidLines, invalidCount * 2);
+                    checkDigits = Arrays.copyOf(checkDigits, invalidCount * 2);
+                }
+                invalidLines[invalidCount] = lines;
+                checkDigits[invalidCount] = (byte)result;
+                invalidCount++;
+            }
+            lines++;
+        }
+
+        int getLines() {
+            return lines;
+        }
+
+        int getInvalidCount() {
+            return invalidCount;
+        }
+
+        boolean isValid(final int line) {
+            return line >>> 6 < valid.length && (valid[line >>> 6] & 1L << line) != 0;
+        }
+
+        int getCheckDigit(final int line) {
+            int index = Arrays.binarySearch(invalidLines, 0, invalidCount, line);
+            if (index < 0) {
+                return VALID;
+            }
+            return checkDigits[index];
+        }
+
+        int getInvalidLine(final int index) {
+            return invalidLines[index];
+        }
+
+        int getInvalidCheckDigit(final int index) {
+            return checkDigits[index];
+        }
+    }
+
+    /**
+     * The result of the validation of a file. Lines are numbered starting with 1.
+     */
+    public static final class Result {
+        private final Chunk[] chunks;
+        private final long[] firstLines;
+        private final long lineCount;
+        private final long invalidCount;
+
+        Result(final List<Chunk> chunks) {
+            this.chunks = chunks.toArray(new Chunk[chunks.size()]);
+            firstLines = new long[chunks.size()];
+
+            long lines = 0;
+            long invalid = 0;
+            for (int i = 0; i < this.chunks.length; i++) {
+                firstLines[i] = lines;
+                lines += this.chunks[i].getLines();
+                invalid += this.chunks[i].getInvalidCount();
+            }
+            lineCount = lines;
+            invalidCount = invalid;
+        }
+
+        /**
+         * Returns the number of lines of the file.
+         *
+         * @return the number of lines
+         */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        /**
+         * Returns the number of lines that contain a valid ISBN.
+         *
+         * @return the number of valid lines
+         */
+        public long getValidCount() {
+            return lineCount - invalidCount;
+        }
+
+        /**
+         * Returns the number of lines that do not contain a valid ISBN.
+         *
+         * @return the number of invalid lines
+         */
+        public long getInvalidCount() {
+            return invalidCount;
+        }
+
+        /**
+         * Returns whether the specified line contains a valid ISBN.
+         *
+         * @param lineNumber
+         *            the number of the line, starting with 1
+         * @return <code>true</code> if the line is valid, <code>false</code> otherwise
+         */
+        public boolean isValid(final long lineNumber) {
+            int chunk = findChunk(lineNumber);
+
+            return chunks[chunk].isValid((int)(lineNumber - 1 - firstLines[chunk]));
+        }
+
+        /**
+         * Returns the check digit the specified line should have had.
+         *
+         * @param lineNumber
+         *            the number of the line, starting with 1
+         * @return the expected check digit ({@link #CHECK_DIGIT_X} for an ISBN-10 with the check digit
+         *         <code>X</code>), {@link #VALID} if the line is valid, or {@link #MALFORMED} if the line
+         *         contains invalid characters or the wrong number of digits
+         */
+        public int getExpectedCheckDigit(final long lineNumber) {
+            int chunk = findChunk(lineNumber);
+
+            return chunks[chunk].getCheckDigit((int)(lineNumber - 1 - firstLines[chunk]));
+        }
+
+        /**
+         * Writes the invalid lines to the specified output. Each invalid line is written as a line
+         * containing the line number and the expected check digit separated by a tab. Malformed lines
+         * have the check digit <code>-</code>.
+         *
+         * @param output
+         *            the output to write to
+         * @throws IOException
+         *             if the output could not be written
+         */
+        public void writeInvalidLines(final Appendable output) throws IOException {
+            for (int i = 0; i < chunks.length; i++) {
+                Chunk chunk = chunks[i];
+                for (int j = 0; j < chunk.getInvalidCount(); j++) {
+                    output.append(String.valueOf(firstLines[i] + chunk.getInvalidLine(j) + 1)).append('\t');
+                    int checkDigit = chunk.getInvalidCheckDigit(j);
+                    if (checkDigit == MALFORMED) {
+                        output.append('-');
+                    }
+                    else if (checkDigit == CHECK_DIGIT_X) {
+                        output.append('X');
+                    }
+                    else {
+                        output.append((char)('0' + checkDigit));
+                    }
+                    output.append('\n');
+                }
+            }
+        }
+
+        private int findChunk(final long lineNumber) {
+            if (lineNumber < 1 || lineNumber > lineCount) {
+                throw new IndexOutOfBoundsException("Line " + lineNumber + " of " + lineCount);
+            }
+            int index = Arrays.binarySearch(firstLines, lineNumber - 1);
+            if (index >= 0) {
+                while (index + 1 < firstLines.length && firstLines[index + 1] == lineNumber - 1) {
+                    index++; // skip empty chunks
+                }
+                return index;
+            }
+            return -index - 2;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package edu.hm.hafner.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.io.Closeables;
+
+/**
+ * An immutable set of ISBN numbers that is stored outside of the Java heap. The numbers are stored in
+ * their canonical form, the EAN-13 number returned by {@link Isbn#parse(CharSequence)}, as sorted
+ * primitive <code>long</code> values. Thus, each ISBN requires 8 bytes, and ISBN-10 and ISBN-13
+ * numbers of the same book are found regardless of the form that has been added or is looked up.
+ * Lookups use a binary search, i.e. the time is O(log n) and no objects are created. A small
+ * directory on the heap maps the leading bits of a number to the range of positions that contains it,
+ * so that the binary search touches only a few neighboring memory pages.
+ * <p>
+ * An index is created using a {@link Builder} and stored in a direct buffer. It can be
+ * {@link #write(File) written} to a file and later {@link #load(File) loaded} again: the file is
+ * mapped into memory, so loading even a large index is almost instantaneous and the operating system
+ * pages in only the parts that are actually searched. The file starts with a header of
+ * {@value #HEADER_SIZE} bytes (magic number, version, size, directory bits, smallest and largest
+ * number), followed by the directory and the sorted numbers, all in big endian byte order.
+ * </p>
+ * <p>
+ * Instances of this class are thread safe.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class IsbnIndex {
+    /** Size of the file header in bytes. */
+    static final int HEADER_SIZE = 32;
+    /** Maximum number of bits of the directory, i.e. the directory has at most 65536 buckets. */
+    static final int MAXIMUM_DIRECTORY_BITS = 16;
+    /** Maximum number of ISBN numbers in an index, limited by the size of a mapped buffer. */
+    public static final int MAXIMUM_SIZE = (Integer.MAX_VALUE - HEADER_SIZE
+            - 4 * ((1 << MAXIMUM_DIRECTORY_BITS) + 2)) / 8;
+    /** First bytes of an index file: the characters <code>ISBN</code>. */
+    static final int MAGIC = 0x4953424E;
+    /** Version of the file format. */
+    static final int VERSION = 1;
+
+    /** Number of ISBN numbers that are written with a single buffer. */
+    private static final int WRITE_BUFFER_SIZE = 8192;
+
+    private final LongBuffer numbers;
+    private final int size;
+    private final int directoryBits;
+    private final long minimum;
+    private final long maximum;
+    private final int shift;
+    /** Start positions of the buckets, the last element is the size. */
+    private final int[] directory;
+
+    /**
+     * Creates a new builder for an index.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Loads an index from a file that has been created with {@link #write(File)}. The file is mapped
+     * read only into memory, the mapping is released when the index is garbage collected.
+     *
+     * @param file
+     *            the file to load
+     * @return the index
+     * @throws IOException
+     *             if the file could not be read or is no valid index file
+     */
+    public static IsbnIndex load(final File file) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = input.getChannel();
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Not an ISBN index: " + file);
+            }
+            ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an ISBN index: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of ISBN index: " + file);
+            }
+            int size = buffer.getInt();
+            int directoryBits = buffer.getInt();
+            long minimum = buffer.getLong();
+            long maximum = buffer.getLong();
+            if (size < 0 || directoryBits < 0 || directoryBits > MAXIMUM_DIRECTORY_BITS
+                    || HEADER_SIZE + getDirectorySize(directoryBits) + size * 8L != length) {
+                throw new IOException("Corrupt ISBN index: " + file);
+            }
+            int[] directory = new int[(1 << directoryBits) + 1];
+            buffer.asIntBuffer().get(directory);
+            buffer.position(HEADER_SIZE + getDirectorySize(directoryBits));
+
+            return new IsbnIndex(buffer.slice().asLongBuffer(), size, directoryBits, minimum, maximum, directory);
+        }
+        finally {
+            Closeables.closeQuietly(input);
+        }
+    }
+
+    private IsbnIndex(final LongBuffer numbers, final int size, final int directoryBits,
+            final long minimum, final long maximum, final int[] directory) {
+        this.numbers = numbers;
+        this.size = size;
+        this.directoryBits = directoryBits;
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.directory = directory;
+        shift = getShift(minimum, maximum, directoryBits);
+    }
+
+    /**
+     * Returns the number of bits a number needs to be shifted to the right in order to get its bucket
+     * in the directory.
+     *
+     * @param minimum
+     *            the smallest number of the index
+     * @param maximum
+     *            the largest number of the index
+     * @param directoryBits
+     *            the number of bits of the directory
+     * @return the number of bits to shift
+     */
+    static int getShift(final long minimum, final long maximum, final int directoryBits) {
+        int rangeBits = Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, maximum - minimum));
+        return Math.max(0, rangeBits - directoryBits);
+    }
+
+    /**
+     * Returns the size of the directory in the file: the start positions of the buckets and the size,
+     * padded to a multiple of 8 bytes.
+     *
+     * @param directoryBits
+     *            the number of bits of the directory
+     * @return the size of the directory in bytes
+     */
+    static int getDirectorySize(final int directoryBits) {
+        return ((1 << directoryBits) + 2) / 2 * 8;
+    }
+
+    /**
+     * Returns the number of ISBN numbers in this index.
+     *
+     * @return the number of ISBN numbers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the specified ISBN-10 or ISBN-13 is part of this index.
+     *
+     * @param isbn
+     *            the ISBN to look up, may be <code>null</code>
+     * @return <code>true</code> if the ISBN is valid and part of this index, <code>false</code>
+     *         otherwise
+     */
+    public boolean contains(@CheckForNull final CharSequence isbn) {
+        return contains(Isbn.parse(isbn));
+    }
+
+    /**
+     * Returns whether the specified ISBN-10 or ISBN-13, given as ASCII characters, is part of this
+     * index.
+     *
+     * @param isbn
+     *            the array containing the ASCII characters of the ISBN
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return <code>true</code> if the ISBN is valid and part of this index, <code>false</code>
+     *         otherwise
+     */
+    public boolean contains(final byte[] isbn, final int offset, final int length) {
+        return contains(Isbn.parse(isbn, offset, length));
+    }
+
+    /**
+     * Returns whether the specified EAN-13 is part of this index.
+     *
+     * @param ean
+     *            the EAN-13 as returned by {@link Isbn#parse(CharSequence)}
+     * @return <code>true</code> if the number is part of this index, <code>false</code> otherwise
+     */
+    public boolean contains(final long ean) {
+        return ean >= minimum && ean <= maximum && indexOf(ean) >= 0;
+    }
+
+    /**
+     * Returns the position of the specified number in the sorted numbers of this index.
+     *
+     * @param ean
+     *            the number to look up
+     * @return the position of the number, or <code>-(insertion point) - 1</code> if the number is not
+     *         part of this index
+     */
+    int indexOf(final long ean) {
+        if (ean < minimum) {
+            return -1;
+        }
+        if (ean > maximum) {
+            return -(size + 1);
+        }
+        int bucket = (int)((ean - minimum) >>> shift);
+        int low = directory[bucket];
+        int high = directory[bucket + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = numbers.get(middle);
+            if (value < ean) {
+                low = middle + 1;
+            }
+            else if (value > ean) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Writes this index to the specified file. An existing file will be overwritten.
+     *
+     * @param file
+     *            the file to write
+     * @throws IOException
+     *             if the file could not be written
+     */
+    public void write(final File file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + getDirectorySize(directoryBits));
+        header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(directoryBits).putLong(minimum).putLong(maximum);
+        header.asIntBuffer().put(directory);
+        header.rewind();
+
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.setLength(0);
+            FileChannel channel = output.getChannel();
+            writeFully(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE * 8);
+            for (int start = 0; start < size; start += WRITE_BUFFER_SIZE) {
+                buffer.clear();
+                int end = Math.min(size, start + WRITE_BUFFER_SIZE);
+                for (int i = start; i < end; i++) {
+                    buffer.putLong(numbers.get(i));
+                }
+                buffer.flip();
+                writeFully(channel, buffer);
+            }
+        }
+        finally {
+            output.close();
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Collects the ISBN numbers of an {@link IsbnIndex}. The numbers are collected in a primitive array
+     * on the heap that is sorted and copied into a direct buffer when the index is built. Duplicates
+     * are allowed and will be removed. Instances of this class are not thread safe.
+     */
+    public static final class Builder {
+        /** Number of ISBN numbers that can be added before the buffer needs to grow. */
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] numbers = new long[INITIAL_CAPACITY];
+        private int size;
+
+        Builder() {
+            // use factory method
+        }
+
+        /**
+         * Adds the specified ISBN-10 or ISBN-13. Invalid numbers are skipped.
+         *
+         * @param isbn
+         *            the ISBN to add, may be <code>null</code>
+         * @return <code>true</code> if the ISBN is valid and has been added, <code>false</code> otherwise
+         */
+        public boolean add(@CheckForNull final CharSequence isbn) {
+            long ean = Isbn.parse(isbn);
+            if (ean == Isbn.INVALID_ISBN) {
+                return false;
+            }
+            append(ean);
+            return true;
+        }
+
+        /**
+         * Adds the specified ISBN-10 or ISBN-13, given as ASCII characters. Invalid numbers are
+         * skipped.
+         *
+         * @param isbn
+         *            the array containing the ASCII characters of the ISBN
+         * @param offset
+         *            the index of the first character
+         * @param length
+         *            the number of characters
+         * @return <code>true</code> if the ISBN is valid and has been added, <code>false</code> otherwise
+         */
+        public boolean add(final byte[] isbn, final int offset, final int length) {
+            long ean = Isbn.parse(isbn, offset, length);
+            if (ean == Isbn.INVALID_ISBN) {
+                return false;
+            }
+            append(ean);
+            return true;
+        }
+
+        /**
+         * Adds the specified EAN-13.
+         *
+         * @param ean
+         *            the EAN-13 as returned by {@link Isbn#parse(CharSequence)}
+         * @return this builder
+         * @throws AssertionFailedException
+         *             if the number is no valid EAN-13
+         */
+        public Builder add(final long ean) {
+            Ensure.that(Isbn.isValidEan(ean)).isTrue("Invalid EAN-13: %s", ean);
+
+            append(ean);
+            return this;
+        }
+
+        private void append(final long ean) {
+            if (size == numbers.length) {
+                Ensure.that(size < MAXIMUM_SIZE).isTrue("ISBN index is limited to %s numbers", MAXIMUM_SIZE);
+
+                numbers = Arrays.copyOf(numbers, (int)Math.min(MAXIMUM_SIZE, 2L * size));
+            }
+            numbers[size++] = ean;
+        }
+
+        /**
+         * Creates an index with the numbers that have been added so far.
+         *
+         * @return the index
+         */
+        public IsbnIndex build() {
+            Arrays.sort(numbers, 0, size);
+
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || numbers[i] != numbers[unique - 1]) {
+                    numbers[unique++] = numbers[i];
+                }
+            }
+            size = unique;
+
+            LongBuffer buffer = ByteBuffer.allocateDirect(unique * 8).asLongBuffer();
+            buffer.put(numbers, 0, unique);
+
+            int directoryBits = Math.min(MAXIMUM_DIRECTORY_BITS, Integer.SIZE - Integer.numberOfLeadingZeros(unique));
+            long minimum = unique == 0 ? 0 : numbers[0];
+            long maximum = unique == 0 ? Isbn.INVALID_ISBN : numbers[unique - 1];
+            int shift = getShift(minimum, maximum, directoryBits);
+            int[] directory = new int[(1 << directoryBits) + 1];
+            int position = 0;
+            for (int bucket = 0; bucket < directory.length; bucket++) {
+                while (position < unique && (numbers[position] - minimum) >>> shift < bucket) {
+                    position++;
+                }
+                directory[bucket] = position;
+            }
+            return new IsbnIndex(buffer, unique, directoryBits, minimum, maximum, directory);
+        }
+    }
+}
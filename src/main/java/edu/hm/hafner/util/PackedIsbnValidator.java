@@ -0,0 +1,253 @@
+package edu.hm.hafner.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import edu.hm.hafner.util.IsbnFileValidator.Type;
+
+/**
+ * Validates many ISBN numbers that are packed into a buffer as records of a fixed length, e.g. a file
+ * with one ISBN-13 per line and no separators has records of 14 bytes. Each record starts with the 10
+ * or 13 ASCII digits of the number, the remaining bytes of a record (e.g. a line feed) are ignored.
+ * <p>
+ * The digits are processed in 64 bit words (SIMD within a register): eight digits are loaded with a
+ * single read, checked with a few bit operations and multiplied with their weights with two
+ * multiplications of 16 bit lanes. A record is valid if and only if its digits are accepted by
+ * {@link Isbn#isValidIsbn10(ByteBuffer, int, int)} or {@link Isbn#isValidIsbn13(ByteBuffer, int, int)}:
+ * a record of 10 or 13 bytes that contains a separator has too few digits for these validators, too.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class PackedIsbnValidator {
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+    private static final long SIXES = 0x0606060606060606L;
+    private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+    private static final int WORD_BITS = 6;
+
+    private static final long ISBN13_LOW_WEIGHTS_EVEN = weights(Type.ISBN_13, 0, 0);
+    private static final long ISBN13_LOW_WEIGHTS_ODD = weights(Type.ISBN_13, 0, 1);
+    private static final long ISBN13_HIGH_WEIGHTS_EVEN = weights(Type.ISBN_13, Isbn.ISBN13_LENGTH - 8, 0);
+    private static final long ISBN13_HIGH_WEIGHTS_ODD = weights(Type.ISBN_13, Isbn.ISBN13_LENGTH - 8, 1);
+    private static final long ISBN10_LOW_WEIGHTS_EVEN = weights(Type.ISBN_10, 0, 0);
+    private static final long ISBN10_LOW_WEIGHTS_ODD = weights(Type.ISBN_10, 0, 1);
+    private static final long ISBN10_HIGH_WEIGHTS_EVEN = weights(Type.ISBN_10, Isbn.ISBN10_LENGTH - 8, 0);
+    private static final long ISBN10_HIGH_WEIGHTS_ODD = weights(Type.ISBN_10, Isbn.ISBN10_LENGTH - 8, 1);
+
+    /** Keeps the digits of the second word of an ISBN-13 that are not part of the first word. */
+    private static final long ISBN13_HIGH_MASK = -1L >>> 8 * (16 - Isbn.ISBN13_LENGTH);
+    /** Keeps the digits of the second word of an ISBN-10 that are not part of the first word. */
+    private static final long ISBN10_HIGH_MASK = -1L >>> 8 * (16 - Isbn.ISBN10_LENGTH);
+
+    /**
+     * Validates all records between the position and the limit of the buffer. The position of the
+     * buffer is not changed. Bit <code>i % 64</code> of <code>validRecords[i / 64]</code> is set if
+     * record <code>i</code> is valid, otherwise it is cleared. The bits after the last record are not
+     * changed.
+     *
+     * @param records
+     *            the buffer with the records
+     * @param recordLength
+     *            the number of bytes of a record, at least the number of digits of the type
+     * @param type
+     *            the type of the ISBN numbers
+     * @param validRecords
+     *            the bit mask of the valid records, must have room for all records
+     * @return the number of valid records
+     * @throws AssertionFailedException
+     *             if the record length is too small, or the buffer does not contain a whole number of
+     *             records, or the bit mask is too small
+     */
+    public static int validate(final ByteBuffer records, final int recordLength, final Type type,
+            final long[] validRecords) {
+        int count = getRecordCount(records, recordLength, type, validRecords);
+        int start = records.position();
+        ByteBuffer buffer = records.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int valid = 0;
+        for (int word = 0; word << WORD_BITS < count; word++) {
+            int first = word << WORD_BITS;
+            int end = Math.min(first + (1 << WORD_BITS), count);
+            long bits = 0;
+            if (type == Type.ISBN_13) {
+                for (int i = first; i < end; i++) {
+                    bits |= isValidIsbn13(buffer, start + i * recordLength) << i;
+                }
+            }
+            else {
+                for (int i = first; i < end; i++) {
+                    bits |= isValidIsbn10(buffer, start + i * recordLength) << i;
+                }
+            }
+            long unchanged = end - first == 1 << WORD_BITS ? 0 : -1L << end;
+            validRecords[word] = validRecords[word] & unchanged | bits;
+            valid += Long.bitCount(bits);
+        }
+        return valid;
+    }
+
+    /**
+     * Validates all records like {@link #validate(ByteBuffer, int, Type, long[])}, but each record is
+     * validated character by character with the validators of {@link Isbn}. This is the reference
+     * implementation for tests and benchmarks.
+     *
+     * @param records
+     *            the buffer with the records
+     * @param recordLength
+     *            the number of bytes of a record
+     * @param type
+     *            the type of the ISBN numbers
+     * @param validRecords
+     *            the bit mask of the valid records
+     * @return the number of valid records
+     */
+    static int validateScalar(final ByteBuffer records, final int recordLength, final Type type,
+            final long[] validRecords) {
+        int count = getRecordCount(records, recordLength, type, validRecords);
+        int start = records.position();
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = start + i * recordLength;
+            boolean isValid = type == Type.ISBN_13
+                    ? Isbn.isValidIsbn13(records, offset, Isbn.ISBN13_LENGTH)
+                    : Isbn.isValidIsbn10(records, offset, Isbn.ISBN10_LENGTH);
+            valid += setBit(validRecords, i, isValid);
+        }
+        return valid;
+    }
+
+    private static int getRecordCount(final ByteBuffer records, final int recordLength, final Type type,
+            final long[] validRecords) {
+        int digits = type == Type.ISBN_13 ? Isbn.ISBN13_LENGTH : Isbn.ISBN10_LENGTH;
+        Ensure.that(recordLength >= digits).isTrue("Record length %s is less than %s digits", recordLength, digits);
+        int remaining = records.remaining();
+        Ensure.that(remaining % recordLength == 0).isTrue(
+                "Buffer of %s bytes does not contain whole records of %s bytes", remaining, recordLength);
+        int count = remaining / recordLength;
+        Ensure.that(validRecords.length >= (count + 63) >>> WORD_BITS).isTrue(
+                "Bit mask of %s words has no room for %s records", validRecords.length, count);
+
+        return count;
+    }
+
+    private static int setBit(final long[] mask, final int index, final boolean isSet) {
+        int word = index >>> WORD_BITS;
+        if (isSet) {
+            mask[word] |= 1L << index;
+            return 1;
+        }
+        mask[word] &= ~(1L << index);
+        return 0;
+    }
+
+    /**
+     * Returns whether the 13 bytes at the specified offset are a valid ISBN-13. The first word
+     * contains the digits 0 to 7, the second word the digits 5 to 12, so the digits 5 to 7 are masked
+     * out of the second sum. The sum is computed even if a byte is no digit, so the result is
+     * determined without branches.
+     *
+     * @param records
+     *            the buffer with the records in big endian byte order
+     * @param offset
+     *            the offset of the record
+     * @return 1 if the record is valid, 0 otherwise
+     */
+    private static long isValidIsbn13(final ByteBuffer records, final int offset) {
+        long low = records.getLong(offset);
+        long high = records.getLong(offset + Isbn.ISBN13_LENGTH - 8);
+        int sum = weightedSum(low - ZEROS, ISBN13_LOW_WEIGHTS_EVEN, ISBN13_LOW_WEIGHTS_ODD)
+                + weightedSum(high - ZEROS & ISBN13_HIGH_MASK, ISBN13_HIGH_WEIGHTS_EVEN, ISBN13_HIGH_WEIGHTS_ODD);
+        return (nonDigits(low) | nonDigits(high)) == 0 & sum % 10 == 0 ? 1 : 0;
+    }
+
+    /**
+     * Returns whether the 10 bytes at the specified offset are a valid ISBN-10. The first word
+     * contains the digits 0 to 7, the second word the digits 2 to 9, so the digits 2 to 7 are masked
+     * out of the second sum.
+     *
+     * @param records
+     *            the buffer with the records in big endian byte order
+     * @param offset
+     *            the offset of the record
+     * @return 1 if the record is valid, 0 otherwise
+     */
+    private static long isValidIsbn10(final ByteBuffer records, final int offset) {
+        long low = records.getLong(offset);
+        long high = records.getLong(offset + Isbn.ISBN10_LENGTH - 8);
+        int sum = weightedSum(low - ZEROS, ISBN10_LOW_WEIGHTS_EVEN, ISBN10_LOW_WEIGHTS_ODD)
+                + weightedSum(high - ZEROS & ISBN10_HIGH_MASK, ISBN10_HIGH_WEIGHTS_EVEN, ISBN10_HIGH_WEIGHTS_ODD);
+        return (nonDigits(low) | nonDigits(high)) == 0 & sum % 11 == 0 ? 1 : 0;
+    }
+
+    /**
+     * Returns whether all eight bytes of the word are the ASCII digits <code>0</code> to
+     * <code>9</code>.
+     *
+     * @param word
+     *            the eight bytes
+     * @return <code>true</code> if all bytes are digits, <code>false</code> otherwise
+     */
+    static boolean areDigits(final long word) {
+        return nonDigits(word) == 0;
+    }
+
+    /**
+     * Returns a value that is 0 if and only if all eight bytes of the word are the ASCII digits
+     * <code>0</code> to <code>9</code>. The first part is 0 if each byte is in the range
+     * <code>0x30</code> to <code>0x3F</code>; only then the additions of the second part can't carry
+     * into the next byte.
+     *
+     * @param word
+     *            the eight bytes
+     * @return 0 if all bytes are digits, another value otherwise
+     */
+    private static long nonDigits(final long word) {
+        return (word & HIGH_NIBBLES ^ ZEROS) | (word + SIXES & HIGH_NIBBLES ^ ZEROS);
+    }
+
+    /**
+     * Returns the weighted sum of the eight digit values of the word. The bytes at even and odd
+     * positions are spread into four 16 bit lanes each. Multiplying the lanes with the weights in
+     * reverse lane order sums all products in the topmost lane; the sums of the lower lanes are below
+     * 2<sup>16</sup>, so they never carry into the next lane.
+     *
+     * @param digits
+     *            the digit values, the first digit in the most significant byte
+     * @param evenWeights
+     *            the weights of the digits at even positions
+     * @param oddWeights
+     *            the weights of the digits at odd positions
+     * @return the weighted sum
+     */
+    private static int weightedSum(final long digits, final long evenWeights, final long oddWeights) {
+        long even = digits >>> 8 & EVEN_BYTES;
+        long odd = digits & EVEN_BYTES;
+        return (int)((even * evenWeights >>> 48) + (odd * oddWeights >>> 48));
+    }
+
+    /**
+     * Creates the lane weights for the eight digits that start at the specified position of a number.
+     * The weight of the first of the four digits is stored in the lowest lane.
+     *
+     * @param type
+     *            the type of the number
+     * @param start
+     *            the position of the first digit of the word within the number
+     * @param parity
+     *            0 for the digits at even positions of the word, 1 for the digits at odd positions
+     * @return the lane weights
+     */
+    private static long weights(final Type type, final int start, final int parity) {
+        long weights = 0;
+        for (int lane = 0; lane < 4; lane++) {
+            int position = start + 2 * lane + parity;
+            long weight = type == Type.ISBN_13 ? Isbn.weight(position) : position + 1;
+            weights |= weight << 16 * lane;
+        }
+        return weights;
+    }
+
+    private PackedIsbnValidator() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,154 @@
+package edu.hm.hafner.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits an index range into chunks and processes the chunks concurrently. The chunks are executed on
+ * a shared pool of daemon threads, one thread per available processor. The calling thread processes
+ * the first chunk itself. Tasks that are started from a thread of the pool are processed sequentially
+ * so that nested parallel executions cannot exhaust the pool.
+ *
+ * @author Ulli Hafner
+ */
+final class ParallelExecution {
+    /** Number of threads of the pool. */
+    static final int PARALLELISM = Math.max(Runtime.getRuntime().availableProcessors(), 1);
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(PARALLELISM, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Worker(runnable, "edu.hm.hafner.util-parallel-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Processes the index range <code>[0, length)</code> in chunks of at least
+     * <code>grainSize</code> indices.
+     *
+     * @param length
+     *            the number of indices to process
+     * @param grainSize
+     *            the minimum number of indices of a chunk
+     * @param task
+     *            the task that processes a chunk
+     * @return the results of the chunks in the order of the chunks
+     * @param <T>
+     *            type of the results
+     */
+    static <T> List<T> execute(final int length, final int grainSize, final RangeTask<T> task) {
+        Ensure.that(grainSize > 0).isTrue("Grain size must be positive: %s", grainSize);
+
+        int chunks = getNumberOfChunks(length, grainSize);
+        List<T> results = new ArrayList<T>(chunks);
+        if (chunks <= 1) {
+            results.add(task.compute(0, length));
+            return results;
+        }
+
+        int chunkSize = (length + chunks - 1) / chunks;
+        List<Future<T>> futures = new ArrayList<Future<T>>(chunks - 1);
+        for (int from = chunkSize; from < length; from += chunkSize) {
+            futures.add(POOL.submit(new Chunk<T>(task, from, Math.min(from + chunkSize, length))));
+        }
+        try {
+            results.add(task.compute(0, chunkSize));
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the parallel tasks", exception);
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        finally {
+            for (Future<T> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static int getNumberOfChunks(final int length, final int grainSize) {
+        if (PARALLELISM == 1 || Thread.currentThread() instanceof Worker) {
+            return 1;
+        }
+        return Math.min(PARALLELISM, Math.max(length / grainSize, 1));
+    }
+
+    private ParallelExecution() {
+        // prevents instantiation
+    }
+
+    /**
+     * Processes a chunk of an index range.
+     *
+     * @param <T>
+     *            type of the result
+     */
+    interface RangeTask<T> {
+        /**
+         * Processes the indices <code>[from, to)</code>.
+         *
+         * @param from
+         *            the first index (inclusive)
+         * @param to
+         *            the last index (exclusive)
+         * @return the result of the chunk
+         */
+        T compute(int from, int to);
+    }
+
+    /**
+     * Adapts a chunk of a {@link RangeTask} to a {@link Callable}.
+     *
+     * @param <T>
+     *            type of the result
+     */
+    private static final class Chunk<T> implements Callable<T> {
+        private final RangeTask<T> task;
+        private final int from;
+        private final int to;
+
+        Chunk(final RangeTask<T> task, final int from, final int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public T call() {
+            return task.compute(from, to);
+        }
+    }
+
+    /**
+     * Thread of the pool.
+     */
+    private static final class Worker extends Thread {
+        Worker(final Runnable runnable, final String name) {
+            super(runnable, name);
+        }
+    }
+}
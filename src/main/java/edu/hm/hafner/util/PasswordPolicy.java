@@ -0,0 +1,379 @@
+package edu.hm.hafner.util;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Checks the strength of passwords. A policy requires a minimum length, a minimum number of distinct
+ * characters and characters of several {@link CharacterClass classes}. A policy is immutable and can
+ * be shared between threads, e.g.
+ * <pre>
+ * private static final PasswordPolicy POLICY = PasswordPolicy.builder()
+ *         .minimumLength(12)
+ *         .minimumDistinctCharacters(6)
+ *         .require(CharacterClass.DIGIT, CharacterClass.LOWERCASE)
+ *         .build();
+ * ...
+ * Result result = POLICY.check(password);
+ * if (!result.isSecure()) {
+ *     reject(result.getFailedRules());
+ * }
+ * </pre>
+ * <p>
+ * A password is checked in a single pass. The distinct characters of the ISO-8859-1 range are tracked
+ * in a bitmap held in local variables, and the classes that have been found are tracked as bit flags.
+ * Other distinct characters are collected in a small array that is created only if such characters
+ * occur; counting stops as soon as the minimum is reached. All possible results are created in
+ * advance, so checking a password usually creates no objects at all.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class PasswordPolicy {
+    /**
+     * The policy of {@link StringUtils#isSecure(String)}: at least 20 characters, 10 of them distinct,
+     * and at least one character of each class.
+     */
+    public static final PasswordPolicy DEFAULT = builder()
+            .minimumLength(20)
+            .minimumDistinctCharacters(10)
+            .require(CharacterClass.values())
+            .build();
+
+    private static final int LATIN_1_SIZE = 256;
+    private static final int DIGIT_FLAG = CharacterClass.DIGIT.getFlag();
+    private static final int LOWERCASE_FLAG = CharacterClass.LOWERCASE.getFlag();
+    private static final int UPPERCASE_FLAG = CharacterClass.UPPERCASE.getFlag();
+    private static final int SPECIAL_FLAG = CharacterClass.SPECIAL.getFlag();
+
+    /** The results for all combinations of failed rules, indexed by the bit flags of the rules. */
+    private static final Result[] RESULTS = createResults();
+
+    private final int minimumLength;
+    private final int minimumDistinctCharacters;
+    private final int requiredClasses;
+
+    /**
+     * The classes of characters.
+     */
+    public enum CharacterClass {
+        /** Decimal digits. */
+        DIGIT,
+        /** Lowercase letters. */
+        LOWERCASE,
+        /** Uppercase letters. */
+        UPPERCASE,
+        /** All other characters. */
+        SPECIAL;
+
+        int getFlag() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * Returns the class of the specified character.
+         *
+         * @param character
+         *            the character
+         * @return the class of the character
+         */
+        public static CharacterClass of(final char character) {
+            return values()[Integer.numberOfTrailingZeros(classify(character))];
+        }
+    }
+
+    /**
+     * The rules of a policy.
+     */
+    public enum Rule {
+        /** The password is shorter than the minimum length. */
+        MINIMUM_LENGTH,
+        /** The password contains fewer distinct characters than required. */
+        MINIMUM_DISTINCT_CHARACTERS,
+        /** The password contains no digit. */
+        DIGIT_REQUIRED,
+        /** The password contains no lowercase letter. */
+        LOWERCASE_REQUIRED,
+        /** The password contains no uppercase letter. */
+        UPPERCASE_REQUIRED,
+        /** The password contains no special character. */
+        SPECIAL_REQUIRED;
+
+        /** Number of rules that are not related to character classes. */
+        static final int CLASS_OFFSET = 2;
+
+        int getFlag() {
+            return 1 << ordinal();
+        }
+    }
+
+    /**
+     * Creates a new builder for a policy. Without further configuration, the policy accepts all
+     * passwords.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private PasswordPolicy(final int minimumLength, final int minimumDistinctCharacters, final int requiredClasses) {
+        this.minimumLength = minimumLength;
+        this.minimumDistinctCharacters = minimumDistinctCharacters;
+        this.requiredClasses = requiredClasses;
+    }
+
+    /**
+     * Returns whether the specified password satisfies all rules of this policy.
+     *
+     * @param password
+     *            the password to check, <code>null</code> is treated like an empty password
+     * @return <code>true</code> if the password is secure, <code>false</code> otherwise
+     */
+    public boolean isSecure(@CheckForNull final CharSequence password) {
+        return check(password).isSecure();
+    }
+
+    /**
+     * Checks the specified password.
+     *
+     * @param password
+     *            the password to check, <code>null</code> is treated like an empty password
+     * @return the result that contains the failed rules
+     */
+    public Result check(@CheckForNull final CharSequence password) {
+        if (password == null) {
+            return check("");
+        }
+        int length = password.length();
+
+        long latin0 = 0;
+        long latin1 = 0;
+        long latin2 = 0;
+        long latin3 = 0;
+        char[] others = null;
+        int distinct = 0;
+        int foundClasses = 0;
+        for (int i = 0; i < length; i++) {
+            char character = password.charAt(i);
+            foundClasses |= classify(character);
+            if (distinct < minimumDistinctCharacters) {
+                if (character < LATIN_1_SIZE) {
+                    long bit = 1L << character;
+                    switch (character >>> 6) {
+                        case 0:
+                            distinct += (latin0 & bit) == 0 ? 1 : 0;
+                            latin0 |= bit;
+                            break;
+                        case 1:
+                            distinct += (latin1 & bit) == 0 ? 1 : 0;
+                            latin1 |= bit;
+                            break;
+                        case 2:
+                            distinct += (latin2 & bit) == 0 ? 1 : 0;
+                            latin2 |= bit;
+                            break;
+                        default:
+                            distinct += (latin3 & bit) == 0 ? 1 : 0;
+                            latin3 |= bit;
+                            break;
+                    }
+                }
+                else {
+                    if (others == null) {
+                        others = new char[Integer.highestOneBit(
+                                Math.min(minimumDistinctCharacters, length) * 2 - 1) << 1];
+                    }
+                    if (addOther(others, character)) {
+                        distinct++;
+                    }
+                }
+            }
+        }
+
+        int failures = (requiredClasses & ~foundClasses) << Rule.CLASS_OFFSET;
+        if (length < minimumLength) {
+            failures |= Rule.MINIMUM_LENGTH.getFlag();
+        }
+        if (distinct < minimumDistinctCharacters) {
+            failures |= Rule.MINIMUM_DISTINCT_CHARACTERS.getFlag();
+        }
+        return RESULTS[failures];
+    }
+
+    /**
+     * Adds the specified character outside of Latin-1 to the open addressing hash set. The set has at least
+     * twice as many slots as the number of characters that are collected, so that it never becomes full. Empty
+     * slots contain the character 0 that is never added.
+     *
+     * @param characters
+     *            the slots of the set, the length is a power of two
+     * @param character
+     *            the character to add
+     * @return <code>true</code> if the character has been added, <code>false</code> if it is already
+     *         part of the set
+     */
+    private static boolean addOther(final char[] characters, final char character) {
+        int mask = characters.length - 1;
+        int hash = character * 0x9E3779B9;
+        for (int i = (hash ^ hash >>> 16) & mask; ; i = i + 1 & mask) {
+            if (characters[i] == 0) {
+                characters[i] = character;
+                return true;
+            }
+            if (characters[i] == character) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the flag of the class of the specified character. The classes are determined by the
+     * Unicode category of the character.
+     *
+     * @param character
+     *            the character
+     * @return the flag of the class
+     */
+    static int classify(final char character) {
+        switch (Character.getType(character)) {
+            case Character.DECIMAL_DIGIT_NUMBER:
+                return DIGIT_FLAG;
+            case Character.LOWERCASE_LETTER:
+                return LOWERCASE_FLAG;
+            case Character.UPPERCASE_LETTER:
+                return UPPERCASE_FLAG;
+            default:
+                return SPECIAL_FLAG;
+        }
+    }
+
+    private static Result[] createResults() {
+        Result[] results = new Result[1 << Rule.values().length];
+        for (int failures = 0; failures < results.length; failures++) {
+            EnumSet<Rule> rules = EnumSet.noneOf(Rule.class);
+            for (Rule rule : Rule.values()) {
+                if ((failures & rule.getFlag()) != 0) {
+                    rules.add(rule);
+                }
+            }
+            results[failures] = new Result(failures, Collections.unmodifiableSet(rules));
+        }
+        return results;
+    }
+
+    /**
+     * The result of a password check. Results are immutable and shared, two checks that fail with the
+     * same rules return the same instance.
+     */
+    public static final class Result {
+        private final int failures;
+        private final Set<Rule> failedRules;
+
+        Result(final int failures, final Set<Rule> failedRules) {
+            this.failures = failures;
+            this.failedRules = failedRules;
+        }
+
+        /**
+         * Returns whether the password satisfies all rules.
+         *
+         * @return <code>true</code> if no rule failed, <code>false</code> otherwise
+         */
+        public boolean isSecure() {
+            return failures == 0;
+        }
+
+        /**
+         * Returns whether the specified rule failed.
+         *
+         * @param rule
+         *            the rule
+         * @return <code>true</code> if the rule failed, <code>false</code> otherwise
+         */
+        public boolean hasFailed(final Rule rule) {
+            return (failures & rule.getFlag()) != 0;
+        }
+
+        /**
+         * Returns the failed rules.
+         *
+         * @return the failed rules, an empty set if the password is secure
+         */
+        public Set<Rule> getFailedRules() {
+            return failedRules;
+        }
+
+        @Override
+        public String toString() {
+            return isSecure() ? "Secure" : "Failed " + failedRules;
+        }
+    }
+
+    /**
+     * Builds a {@link PasswordPolicy}.
+     */
+    public static final class Builder {
+        private int minimumLength;
+        private int minimumDistinctCharacters;
+        private int requiredClasses;
+
+        Builder() {
+            // use factory method
+        }
+
+        /**
+         * Sets the minimum length of a password.
+         *
+         * @param length
+         *            the minimum number of characters
+         * @return this builder
+         */
+        public Builder minimumLength(final int length) {
+            Ensure.that(length >= 0).isTrue("Minimum length must not be negative: %s", length);
+
+            minimumLength = length;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of distinct characters of a password.
+         *
+         * @param count
+         *            the minimum number of distinct characters
+         * @return this builder
+         */
+        public Builder minimumDistinctCharacters(final int count) {
+            Ensure.that(count >= 0).isTrue("Minimum number of distinct characters must not be negative: %s", count);
+
+            minimumDistinctCharacters = count;
+            return this;
+        }
+
+        /**
+         * Requires at least one character of each of the specified classes.
+         *
+         * @param classes
+         *            the required classes
+         * @return this builder
+         */
+        public Builder require(final CharacterClass... classes) {
+            for (CharacterClass characterClass : classes) {
+                requiredClasses |= characterClass.getFlag();
+            }
+            return this;
+        }
+
+        /**
+         * Creates the policy.
+         *
+         * @return the policy
+         */
+        public PasswordPolicy build() {
+            return new PasswordPolicy(minimumLength, minimumDistinctCharacters, requiredClasses);
+        }
+    }
+}
@@ -19,28 +19,28 @@ public class PropertyChangeAware implements IPropertyChangeAware {
 
     @Override
     public void addPropertyChangeListener(final PropertyChangeListener listener) {
-        Ensure.that(listener).isNotNull();
+        Ensure.notNull(listener);
 
         listenerSupport.addPropertyChangeListener(listener);
     }
 
     @Override
     public void addPropertyChangeListener(final String propertyName, final PropertyChangeListener listener) {
-        Ensure.that(propertyName, listener).isNotNull();
+        Ensure.notNull(propertyName, listener);
 
         listenerSupport.addPropertyChangeListener(propertyName, listener);
     }
 
     @Override
     public void removePropertyChangeListener(final PropertyChangeListener listener) {
-        Ensure.that(listener).isNotNull();
+        Ensure.notNull(listener);
 
         listenerSupport.removePropertyChangeListener(listener);
     }
 
     @Override
     public void removePropertyChangeListener(final String propertyName, final PropertyChangeListener listener) {
-        Ensure.that(propertyName, listener).isNotNull();
+        Ensure.notNull(propertyName, listener);
 
         listenerSupport.removePropertyChangeListener(propertyName, listener);
     }
@@ -54,7 +54,7 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      *            the PropertyChangeEvent object
      */
     protected void firePropertyChangeEvent(final PropertyChangeEvent event) {
-        Ensure.that(event).isNotNull();
+        Ensure.notNull(event);
 
         listenerSupport.firePropertyChange(event);
     }
@@ -75,7 +75,7 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      */
     protected void firePropertyChangeEvent(final String propertyName,
             final boolean oldValue, final boolean newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Ensure.notNull(propertyName);
 
         listenerSupport.firePropertyChange(propertyName, oldValue, newValue);
     }
@@ -96,7 +96,7 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      */
     protected void firePropertyChangeEvent(final String propertyName,
             final int oldValue, final int newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Ensure.notNull(propertyName);
 
         listenerSupport.firePropertyChange(propertyName, oldValue, newValue);
     }
@@ -114,7 +114,7 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      */
     protected void firePropertyChangeEvent(final String propertyName,
             @CheckForNull final Object oldValue, @CheckForNull final Object newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Ensure.notNull(propertyName);
 
         listenerSupport.firePropertyChange(propertyName, oldValue, newValue);
     }
@@ -130,7 +130,7 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      *            the new value of the property
      */
     protected void firePropertyChangeEvent(final String propertyName, @CheckForNull final Object newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Ensure.notNull(propertyName);
 
         listenerSupport.firePropertyChange(propertyName, null, newValue);
     }
@@ -0,0 +1,295 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Predicate;
+
+import edu.hm.hafner.util.ParallelExecution.RangeTask;
+
+/**
+ * Evaluates a predicate for large numbers of strings. The results are stored in a bit mask, one bit
+ * per string, so no objects are created for the individual strings. The strings are split into chunks
+ * of at least <code>grainSize</code> strings that are evaluated in parallel, e.g.
+ * <pre>
+ * Result result = StringBatch.evaluate(isbns, Check.VALID_ISBN_13);
+ * System.out.println(result.getCount() + " of " + result.size() + " ISBNs are valid");
+ * </pre>
+ * <p>
+ * The chunks are aligned to the 64 bit words of the mask, so each word is written by a single thread.
+ * Lists that do not support fast random access are evaluated sequentially.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class StringBatch {
+    /** Default minimum number of strings of a chunk that is evaluated in parallel. */
+    public static final int DEFAULT_GRAIN_SIZE = 1 << 14;
+
+    private static final int WORD_BITS = 6;
+    private static final int WORD_SIZE = 1 << WORD_BITS;
+
+    /**
+     * The predicates of {@link StringUtils}.
+     */
+    public enum Check implements Predicate<String> {
+        /** {@link StringUtils#isBlank(String)}. */
+        BLANK,
+        /** {@link StringUtils#isValidISBN10(String)}. */
+        VALID_ISBN_10,
+        /** {@link StringUtils#isValidIsbn13(String)}. */
+        VALID_ISBN_13,
+        /** {@link StringUtils#isSecure(String)}. */
+        SECURE;
+
+        @Override
+        public boolean apply(@CheckForNull final String input) {
+            switch (this) {
+                case BLANK:
+                    return StringUtils.isBlank(input);
+                case VALID_ISBN_10:
+                    return StringUtils.isValidISBN10(input);
+                case VALID_ISBN_13:
+                    return StringUtils.isValidIsbn13(input);
+                default:
+                    return StringUtils.isSecure(input);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the predicate for all strings of the array using the default grain size.
+     *
+     * @param values
+     *            the strings to evaluate
+     * @param predicate
+     *            the predicate to evaluate
+     * @return the strings that satisfy the predicate
+     */
+    public static Result evaluate(final String[] values, final Predicate<? super String> predicate) {
+        return evaluate(values, predicate, DEFAULT_GRAIN_SIZE);
+    }
+
+    /**
+     * Evaluates the predicate for all strings of the array.
+     *
+     * @param values
+     *            the strings to evaluate
+     * @param predicate
+     *            the predicate to evaluate
+     * @param grainSize
+     *            the minimum number of strings of a chunk that is evaluated in parallel
+     * @return the strings that satisfy the predicate
+     */
+    public static Result evaluate(final String[] values, final Predicate<? super String> predicate,
+            final int grainSize) {
+        final long[] mask = new long[getWordCount(values.length)];
+        int count = sum(ParallelExecution.execute(mask.length, getWordGrainSize(grainSize), new RangeTask<Integer>() {
+            @Override
+            public Integer compute(final int from, final int to) {
+                int matches = 0;
+                for (int word = from; word < to; word++) {
+                    int start = word << WORD_BITS;
+                    int end = Math.min(start + WORD_SIZE, values.length);
+                    long bits = 0;
+                    for (int i = start; i < end; i++) {
+                        if (predicate.apply(values[i])) {
+                            bits |= 1L << i;
+                        }
+                    }
+                    mask[word] = bits;
+                    matches += Long.bitCount(bits);
+                }
+                return matches;
+            }
+        }));
+        return new Result(mask, values.length, count);
+    }
+
+    /**
+     * Evaluates the predicate for all strings of the list using the default grain size.
+     *
+     * @param values
+     *            the strings to evaluate
+     * @param predicate
+     *            the predicate to evaluate
+     * @return the strings that satisfy the predicate
+     */
+    public static Result evaluate(final List<String> values, final Predicate<? super String> predicate) {
+        return evaluate(values, predicate, DEFAULT_GRAIN_SIZE);
+    }
+
+    /**
+     * Evaluates the predicate for all strings of the list. Lists that do not implement
+     * {@link RandomAccess} are evaluated sequentially.
+     *
+     * @param values
+     *            the strings to evaluate
+     * @param predicate
+     *            the predicate to evaluate
+     * @param grainSize
+     *            the minimum number of strings of a chunk that is evaluated in parallel
+     * @return the strings that satisfy the predicate
+     */
+    public static Result evaluate(final List<String> values, final Predicate<? super String> predicate,
+            final int grainSize) {
+        final int size = values.size();
+        final long[] mask = new long[getWordCount(size)];
+        if (!(values instanceof RandomAccess)) {
+            int count = 0;
+            Iterator<String> iterator = values.iterator();
+            for (int i = 0; i < size; i++) {
+                if (predicate.apply(iterator.next())) {
+                    mask[i >>> WORD_BITS] |= 1L << i;
+                    count++;
+                }
+            }
+            return new Result(mask, size, count);
+        }
+
+        int count = sum(ParallelExecution.execute(mask.length, getWordGrainSize(grainSize), new RangeTask<Integer>() {
+            @Override
+            public Integer compute(final int from, final int to) {
+                int matches = 0;
+                for (int word = from; word < to; word++) {
+                    int start = word << WORD_BITS;
+                    int end = Math.min(start + WORD_SIZE, size);
+                    long bits = 0;
+                    for (int i = start; i < end; i++) {
+                        if (predicate.apply(values.get(i))) {
+                            bits |= 1L << i;
+                        }
+                    }
+                    mask[word] = bits;
+                    matches += Long.bitCount(bits);
+                }
+                return matches;
+            }
+        }));
+        return new Result(mask, size, count);
+    }
+
+    private static int getWordCount(final int size) {
+        return (size + WORD_SIZE - 1) >>> WORD_BITS;
+    }
+
+    private static int getWordGrainSize(final int grainSize) {
+        Ensure.that(grainSize > 0).isTrue("Grain size must be positive: %s", grainSize);
+
+        return getWordCount(grainSize);
+    }
+
+    private static int sum(final List<Integer> counts) {
+        int sum = 0;
+        for (Integer count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private StringBatch() {
+        // prevents instantiation
+    }
+
+    /**
+     * The result of a batch evaluation: a bit mask that contains a set bit for each string that
+     * satisfies the predicate. Bit <code>i</code> is stored in word <code>i / 64</code> at position
+     * <code>i % 64</code>, like in {@link BitSet#toLongArray()} of Java 7.
+     */
+    public static final class Result {
+        private final long[] mask;
+        private final int size;
+        private final int count;
+
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Result(final long[] mask, final int size, final int count) {
+            this.mask = mask;
+            this.size = size;
+            this.count = count;
+        }
+
+        /**
+         * Returns the number of evaluated strings.
+         *
+         * @return the number of strings
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the number of strings that satisfy the predicate.
+         *
+         * @return the number of matches
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Returns whether the string at the specified index satisfies the predicate.
+         *
+         * @param index
+         *            the index of the string
+         * @return <code>true</code> if the string satisfies the predicate, <code>false</code>
+         *         otherwise
+         */
+        public boolean matches(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " is not in [0, " + size + ")");
+            }
+            return (mask[index >>> WORD_BITS] & 1L << index) != 0;
+        }
+
+        /**
+         * Returns the index of the first string at or after the specified index that satisfies the
+         * predicate.
+         *
+         * @param fromIndex
+         *            the index to start from
+         * @return the index of the next match, or -1 if there is no such string
+         */
+        public int nextMatch(final int fromIndex) {
+            int word = fromIndex >>> WORD_BITS;
+            if (fromIndex < 0 || word >= mask.length) {
+                return -1;
+            }
+            long bits = mask[word] & -1L << fromIndex;
+            while (bits == 0) {
+                word++;
+                if (word == mask.length) {
+                    return -1;
+                }
+                bits = mask[word];
+            }
+            return (word << WORD_BITS) + Long.numberOfTrailingZeros(bits);
+        }
+
+        /**
+         * Returns a copy of the bit mask.
+         *
+         * @return the bit mask, one bit per string
+         */
+        public long[] toLongArray() {
+            return Arrays.copyOf(mask, mask.length);
+        }
+
+        /**
+         * Returns the bit mask as {@link BitSet}.
+         *
+         * @return the bit set, one bit per string
+         */
+        public BitSet toBitSet() {
+            BitSet bits = new BitSet(size);
+            for (int i = nextMatch(0); i >= 0; i = nextMatch(i + 1)) {
+                bits.set(i);
+            }
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package edu.hm.hafner.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Joins elements with a separator into a string or streams them into an {@link Appendable}. A joiner
+ * is immutable and can be shared between threads, e.g.
+ * <pre>
+ * private static final StringJoiner CSV = StringJoiner.on(",").withPrefix("[").withSuffix("]").useForNull("");
+ * ...
+ * String ids = CSV.join(identifiers);
+ * CSV.appendTo(writer, identifiers);
+ * </pre>
+ * <p>
+ * When joining an array or {@link Iterable} into a string, the exact length of the result is computed
+ * up front so that all characters are copied into a single array of the right size. Iterables are
+ * therefore traversed twice. Numbers of <code>long</code> arrays are written directly as digits
+ * without creating a string for each number. {@link Iterator Iterators} can be traversed only once, so
+ * the result is collected in a growing buffer or streamed into an {@link Appendable}.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class StringJoiner {
+    /** Default text of <code>null</code> elements. */
+    public static final String NULL_TEXT = "(null)";
+
+    /** Maximum number of characters of a <code>long</code> value, including the sign. */
+    private static final int MAXIMUM_LONG_LENGTH = 20;
+    /** Maximum number of digits of a <code>long</code> value. */
+    private static final int MAXIMUM_DIGITS = 19;
+    private static final String LONG_MIN_VALUE = String.valueOf(Long.MIN_VALUE);
+
+    private final String separator;
+    private final String prefix;
+    private final String suffix;
+    private final String nullText;
+
+    /**
+     * Creates a joiner that uses the specified separator, no prefix and suffix, and
+     * {@value #NULL_TEXT} for <code>null</code> elements.
+     *
+     * @param separator
+     *            the separator between two elements
+     * @return the joiner
+     */
+    public static StringJoiner on(final String separator) {
+        return new StringJoiner(separator, "", "", NULL_TEXT);
+    }
+
+    private StringJoiner(final String separator, final String prefix, final String suffix, final String nullText) {
+        Ensure.that(separator, prefix, suffix, nullText).isNotNull();
+
+        this.separator = separator;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.nullText = nullText;
+    }
+
+    /**
+     * Returns a joiner that starts the result with the specified prefix.
+     *
+     * @param newPrefix
+     *            the text before the first element
+     * @return the new joiner
+     */
+    public StringJoiner withPrefix(final String newPrefix) {
+        return new StringJoiner(separator, newPrefix, suffix, nullText);
+    }
+
+    /**
+     * Returns a joiner that ends the result with the specified suffix.
+     *
+     * @param newSuffix
+     *            the text after the last element
+     * @return the new joiner
+     */
+    public StringJoiner withSuffix(final String newSuffix) {
+        return new StringJoiner(separator, prefix, newSuffix, nullText);
+    }
+
+    /**
+     * Returns a joiner that writes the specified text for <code>null</code> elements.
+     *
+     * @param newNullText
+     *            the text of <code>null</code> elements
+     * @return the new joiner
+     */
+    public StringJoiner useForNull(final String newNullText) {
+        return new StringJoiner(separator, prefix, suffix, newNullText);
+    }
+
+    /**
+     * Joins the specified elements.
+     *
+     * @param elements
+     *            the elements to join
+     * @return the joined elements
+     */
+    public String join(final CharSequence... elements) {
+        long length = getFixedLength(elements.length);
+        for (CharSequence element : elements) {
+            length += getText(element).length();
+        }
+        char[] result = new char[toLength(length)];
+        int position = copy(prefix, result, 0);
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                position = copy(separator, result, position);
+            }
+            position = copy(getText(elements[i]), result, position);
+        }
+        copy(suffix, result, position);
+
+        return new String(result);
+    }
+
+    /**
+     * Joins the specified elements. The elements are traversed twice: first to compute the length of
+     * the result and then to copy the characters. Thus, the elements must not be modified concurrently.
+     *
+     * @param elements
+     *            the elements to join
+     * @return the joined elements
+     */
+    public String join(final Iterable<? extends CharSequence> elements) {
+        long length = 0;
+        int count = 0;
+        for (CharSequence element : elements) {
+            length += getText(element).length();
+            count++;
+        }
+        length += getFixedLength(count);
+
+        char[] result = new char[toLength(length)];
+        int position = copy(prefix, result, 0);
+        boolean isFirst = true;
+        for (CharSequence element : elements) {
+            if (!isFirst) {
+                position = copy(separator, result, position);
+            }
+            isFirst = false;
+            position = copy(getText(element), result, position);
+        }
+        copy(suffix, result, position);
+
+        return new String(result);
+    }
+
+    /**
+     * Joins the remaining elements of the specified iterator. Since the length of the result is not
+     * known in advance, the characters are collected in a growing buffer.
+     *
+     * @param elements
+     *            the elements to join
+     * @return the joined elements
+     */
+    public String join(final Iterator<? extends CharSequence> elements) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            appendTo(builder, elements);
+        }
+        catch (IOException exception) {
+            throw new IllegalStateException("StringBuilder does not throw IOExceptions", exception);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Joins the specified numbers. The digits are written directly into the result.
+     *
+     * @param numbers
+     *            the numbers to join
+     * @return the joined numbers
+     */
+    public String join(final long[] numbers) {
+        long length = getFixedLength(numbers.length);
+        for (long number : numbers) {
+            length += getLength(number);
+        }
+        char[] result = new char[toLength(length)];
+        int position = copy(prefix, result, 0);
+        for (int i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                position = copy(separator, result, position);
+            }
+            position = writeDigits(numbers[i], result, position);
+        }
+        copy(suffix, result, position);
+
+        return new String(result);
+    }
+
+    /**
+     * Appends the specified elements to the output.
+     *
+     * @param output
+     *            the output to append the joined elements to
+     * @param elements
+     *            the elements to join
+     * @return the output
+     * @param <A>
+     *            type of the output
+     * @throws IOException
+     *             if the output could not be written
+     */
+    public <A extends Appendable> A appendTo(final A output, final CharSequence... elements) throws IOException {
+        output.append(prefix);
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                output.append(separator);
+            }
+            output.append(getText(elements[i]));
+        }
+        output.append(suffix);
+
+        return output;
+    }
+
+    /**
+     * Appends the specified elements to the output.
+     *
+     * @param output
+     *            the output to append the joined elements to
+     * @param elements
+     *            the elements to join
+     * @return the output
+     * @param <A>
+     *            type of the output
+     * @throws IOException
+     *             if the output could not be written
+     */
+    public <A extends Appendable> A appendTo(final A output, final Iterable<? extends CharSequence> elements)
+            throws IOException {
+        return appendTo(output, elements.iterator());
+    }
+
+    /**
+     * Appends the remaining elements of the specified iterator to the output.
+     *
+     * @param output
+     *            the output to append the joined elements to
+     * @param elements
+     *            the elements to join
+     * @return the output
+     * @param <A>
+     *            type of the output
+     * @throws IOException
+     *             if the output could not be written
+     */
+    public <A extends Appendable> A appendTo(final A output, final Iterator<? extends CharSequence> elements)
+            throws IOException {
+        output.append(prefix);
+        if (elements.hasNext()) {
+            output.append(getText(elements.next()));
+            while (elements.hasNext()) {
+                output.append(separator);
+                output.append(getText(elements.next()));
+            }
+        }
+        output.append(suffix);
+
+        return output;
+    }
+
+    /**
+     * Appends the specified numbers to the output. The digits of all numbers are written using a single
+     * buffer, no string is created for a number.
+     *
+     * @param output
+     *            the output to append the joined numbers to
+     * @param numbers
+     *            the numbers to join
+     * @return the output
+     * @param <A>
+     *            type of the output
+     * @throws IOException
+     *             if the output could not be written
+     */
+    public <A extends Appendable> A appendTo(final A output, final long[] numbers) throws IOException {
+        char[] digits = new char[MAXIMUM_LONG_LENGTH];
+        output.append(prefix);
+        for (int i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                output.append(separator);
+            }
+            int length = writeDigits(numbers[i], digits, 0);
+            if (output instanceof Writer) {
+                ((Writer)output).write(digits, 0, length);
+            }
+            else if (output instanceof StringBuilder) {
+                ((StringBuilder)output).append(digits, 0, length);
+            }
+            else {
+                for (int j = 0; j < length; j++) {
+                    output.append(digits[j]);
+                }
+            }
+        }
+        output.append(suffix);
+
+        return output;
+    }
+
+    private CharSequence getText(@CheckForNull final CharSequence element) {
+        return element == null ? nullText : element;
+    }
+
+    /**
+     * Returns the number of characters of the prefix, the suffix and the separators for the specified
+     * number of elements.
+     *
+     * @param count
+     *            the number of elements
+     * @return the number of characters without the elements
+     */
+    private long getFixedLength(final int count) {
+        return prefix.length() + suffix.length() + (long)Math.max(0, count - 1) * separator.length();
+    }
+
+    private static int toLength(final long length) {
+        Ensure.that(length <= Integer.MAX_VALUE).isTrue("Joined string is too long: %s characters", length);
+
+        return (int)length;
+    }
+
+    private static int copy(final CharSequence text, final char[] destination, final int position) {
+        int length = text.length();
+        if (text instanceof String) {
+            ((String)text).getChars(0, length, destination, position);
+        }
+        else {
+            for (int i = 0; i < length; i++) {
+                destination[position + i] = text.charAt(i);
+            }
+        }
+        return position + length;
+    }
+
+    /**
+     * Returns the number of characters of the decimal representation of the specified number.
+     *
+     * @param number
+     *            the number
+     * @return the number of characters, including the sign
+     */
+    static int getLength(final long number) {
+        if (number == Long.MIN_VALUE) {
+            return MAXIMUM_LONG_LENGTH;
+        }
+        long value = Math.abs(number);
+        int length = 1;
+        for (long limit = 10; length < MAXIMUM_DIGITS && value >= limit; limit *= 10) {
+            length++;
+        }
+        return number < 0 ? length + 1 : length;
+    }
+
+    /**
+     * Writes the decimal representation of the specified number into the array.
+     *
+     * @param number
+     *            the number
+     * @param destination
+     *            the array to write the characters to
+     * @param position
+     *            the index of the first character in the array
+     * @return the index after the last written character
+     */
+    static int writeDigits(final long number, final char[] destination, final int position) {
+        if (number == Long.MIN_VALUE) {
+            return copy(LONG_MIN_VALUE, destination, position);
+        }
+        int end = position + getLength(number);
+        long remaining = Math.abs(number);
+        int i = end;
+        do {
+            long quotient = remaining / 10;
+            destination[--i] = (char)('0' + (remaining - quotient * 10));
+            remaining = quotient;
+        }
+        while (remaining != 0);
+        if (number < 0) {
+            destination[position] = '-';
+        }
+        return end;
+    }
+}
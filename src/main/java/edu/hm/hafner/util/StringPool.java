@@ -0,0 +1,297 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * A bounded pool of canonical strings that removes duplicates of frequently repeated values, e.g.
+ * currency codes, property names or ISBN prefixes. In contrast to {@link String#intern()}, the pool
+ * has a maximum size, and strings can be looked up by {@link CharSequence} or by a slice of a
+ * <code>char</code> array: a new string is created only if the characters are not yet part of the
+ * pool. Parsers can therefore canonicalize their tokens without allocating duplicates.
+ * <p>
+ * The pool is split into segments that are locked independently, so concurrent lookups of different
+ * strings rarely contend. Each segment is a set associative cache: a string is stored in one of
+ * {@value #WAYS} slots of the set selected by its hash code. If all slots of a set are occupied, the
+ * least recently used string of the set is evicted. Evicted strings are not invalidated, they are
+ * just no longer returned by the pool. The pool counts hits, misses and evictions.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class StringPool {
+    /** Number of slots of a set. */
+    static final int WAYS = 8;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final StripedCounter hits = new StripedCounter();
+    private final StripedCounter misses = new StripedCounter();
+    private final StripedCounter evictions = new StripedCounter();
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maximumSize
+     *            the maximum number of strings, will be rounded up to a power of two with at least
+     *            {@value #WAYS} strings
+     */
+    public StringPool(final int maximumSize) {
+        Ensure.that(maximumSize > 0).isTrue("Maximum size must be positive: %s", maximumSize);
+
+        int sets = toPowerOfTwo((maximumSize + WAYS - 1) / WAYS);
+        int segmentCount = Math.min(sets, toPowerOfTwo(ParallelExecution.PARALLELISM * 4));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(sets / segmentCount);
+        }
+        segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    private static int toPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Returns the canonical instance of the specified string. If the pool does not contain an equal
+     * string, the specified string is added.
+     *
+     * @param value
+     *            the string
+     * @return the canonical instance, or <code>null</code> if the value is <code>null</code>
+     */
+    @CheckForNull
+    public String intern(@CheckForNull final String value) {
+        if (value == null) {
+            return null;
+        }
+        return intern(value.hashCode(), value, 0, value.length());
+    }
+
+    /**
+     * Returns the canonical string with the characters of the specified sequence. A new string is
+     * created only if the pool does not contain such a string.
+     *
+     * @param value
+     *            the characters
+     * @return the canonical string, or <code>null</code> if the value is <code>null</code>
+     */
+    @CheckForNull
+    public String intern(@CheckForNull final CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return intern((String)value);
+        }
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return intern(hash, value, 0, value.length());
+    }
+
+    /**
+     * Returns the canonical string with the specified characters. A new string is created only if the
+     * pool does not contain such a string.
+     *
+     * @param characters
+     *            the array that contains the characters
+     * @param offset
+     *            the index of the first character
+     * @param length
+     *            the number of characters
+     * @return the canonical string
+     */
+    public String intern(final char[] characters, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > characters.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length
+                    + ") is not within array of length " + characters.length);
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + characters[i];
+        }
+        return intern(hash, characters, offset, length);
+    }
+
+    private String intern(final int hash, final Object key, final int offset, final int length) {
+        int spread = spread(hash);
+        return segments[segmentShift == Integer.SIZE ? 0 : spread >>> segmentShift].intern(
+                hash, spread, key, offset, length);
+    }
+
+    /**
+     * Mixes the bits of a string hash code, so that the upper bits select the segment and the lower
+     * bits select the set.
+     *
+     * @param hash
+     *            the hash code
+     * @return the mixed hash code
+     */
+    private static int spread(final int hash) {
+        int spread = hash * 0x9E3779B9;
+        return spread ^ spread >>> 16;
+    }
+
+    /**
+     * Returns the number of strings in the pool.
+     *
+     * @return the number of strings
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of strings in the pool.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return segments.length * segments[0].getCapacity();
+    }
+
+    /**
+     * Returns the number of lookups that found a canonical string.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that added a new string.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of strings that have been evicted to make room for new strings.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all strings and resets the metrics.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private static boolean matches(final String candidate, final Object key, final int offset, final int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        if (key instanceof char[]) {
+            char[] characters = (char[])key;
+            for (int i = 0; i < length; i++) {
+                if (candidate.charAt(i) != characters[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (candidate == key) {
+            return true;
+        }
+        CharSequence characters = (CharSequence)key;
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != characters.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toString(final Object key, final int offset, final int length) {
+        if (key instanceof char[]) {
+            return new String((char[])key, offset, length);
+        }
+        return key.toString();
+    }
+
+    /**
+     * A set associative cache of strings that is guarded by its own lock.
+     */
+    private final class Segment {
+        private final String[] entries;
+        private final int[] hashes;
+        /** The time of the last access of each slot, slots with smaller values have been used earlier. */
+        private final long[] accessTimes;
+        private final int setMask;
+        private long time;
+        private int size;
+
+        Segment(final int sets) {
+            entries = new String[sets * WAYS];
+            hashes = new int[sets * WAYS];
+            accessTimes = new long[sets * WAYS];
+            setMask = sets - 1;
+        }
+
+        synchronized String intern(final int hash, final int spread, final Object key, final int offset,
+                final int length) {
+            int first = (spread & setMask) * WAYS;
+            int victim = first;
+            for (int slot = first; slot < first + WAYS; slot++) {
+                String candidate = entries[slot];
+                if (candidate == null) {
+                    victim = slot;
+                    break;
+                }
+                if (hashes[slot] == hash && matches(candidate, key, offset, length)) {
+                    accessTimes[slot] = ++time;
+                    hits.increment();
+                    return candidate;
+                }
+                if (accessTimes[slot] < accessTimes[victim]) {
+                    victim = slot;
+                }
+            }
+
+            if (entries[victim] == null) {
+                size++;
+            }
+            else {
+                evictions.increment();
+            }
+            String value = StringPool.toString(key, offset, length);
+            entries[victim] = value;
+            hashes[victim] = hash;
+            accessTimes[victim] = ++time;
+            misses.increment();
+            return value;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        int getCapacity() {
+            return entries.length;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(entries, null);
+            size = 0;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package edu.hm.hafner.util;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Several useful utility methods that work on {@link String} instances.
@@ -9,6 +8,16 @@ import java.util.Set;
  * @author Ulli Hafner
  */
 public final class StringUtils {
+    private static final StringJoiner COMMA_JOINER = StringJoiner.on(",");
+
+    /** Number of slots of the stripper cache, a power of two. */
+    private static final int STRIPPER_CACHE_SIZE = 16;
+    /**
+     * The strippers of recent calls of {@link #strip(String, String)}, indexed by the hash code of the
+     * characters to remove. Callers typically use a few constant sets, so that each set keeps its slot.
+     */
+    private static final AtomicReferenceArray<CachedStripper> STRIPPERS = new AtomicReferenceArray<CachedStripper>(
+            STRIPPER_CACHE_SIZE);
 
     /**
      * Creates a new instance of {@link StringUtils}.
@@ -39,6 +48,7 @@ public final class StringUtils {
      *
      * @param elements zu verkettende Strings
      * @return String der aus allen Parameterelementen besteht
+     * @see StringJoiner
      *
      * @author Sebastian Seidl
      */
@@ -50,19 +60,7 @@ public final class StringUtils {
             throw new IllegalArgumentException("The Parameterlist should not be empty");
         }
 
-        StringBuilder sb = new StringBuilder();
-        for (String str : elements) {
-            if (str == null) {
-                sb.append("(null),");
-            }
-            else {
-                sb.append(str + ",");
-            }
-        }
-        //Delete last Comma
-        sb.deleteCharAt(sb.length() - 1);
-
-        return sb.toString();
+        return COMMA_JOINER.join(elements);
     }
 
     /**
@@ -71,49 +69,12 @@ public final class StringUtils {
      *
      * @param isbnEingabe Zu prüfende Eingabe
      * @return true wenn Eingabe gültige 10-Stellige ISBN / false sonst
+     * @see Isbn#isValidIsbn10(CharSequence)
      *
      * @author Sebastian Seidl
      */
     public static boolean isValidISBN10(final String isbnEingabe) {
-       if (isbnEingabe == null) {
-           return false;
-       }
-
-       //Remove formating
-       String isbn = isbnEingabe.replaceAll("-", "");   //Remove "-"
-       isbn = isbn.replaceAll("\\s", "");   //Remoe Whitespace
-
-       //check length
-       if (isbn.length() == 10) {
-           //check Parity:
-           //Parse String into int-Array
-           int[] z = new int[10];
-           try {
-               for (int i = 0; i <= 9; i++) {
-                   z[i] = Integer.parseInt(isbn.substring(i, i + 1));
-               }
-           }
-           catch (NumberFormatException e) {
-               //Found non-Numerical Charakter
-               return false;
-           }
-
-           //Calculate Parity
-           int parity = 0;
-           for (int i = 1; i <= 9; i++) {
-               parity += i * z[i - 1];
-           }
-           parity %= 11;
-
-           //compare calulated parity with sepcified parity
-           if (parity == z[9]) {
-               return true;
-           }
-
-           return false;
-        }
-
-        return false;
+        return Isbn.isValidIsbn10(isbnEingabe);
     }
 
     /**
@@ -123,6 +84,7 @@ public final class StringUtils {
      * @param eingabe Zu kürzender String
      * @param toBeRemoved String mit den Zeichen, die entfernt werden sollen
      * @return Gekürzter String
+     * @see CharStripper
      *
      * @author Felix Dürrwanger
      */
@@ -132,15 +94,18 @@ public final class StringUtils {
             throw new IllegalArgumentException("Null is not a valid parameter");
         }
 
-        final StringBuilder stringBuilder = new StringBuilder();
+        return getStripper(toBeRemoved).strip(eingabe);
+    }
 
-        for (char character : eingabe.toCharArray()) {
-            if (!toBeRemoved.contains(String.valueOf(character))) {
-                stringBuilder.append(character);
-            }
+    private static CharStripper getStripper(final String toBeRemoved) {
+        int hash = toBeRemoved.hashCode();
+        int slot = (hash ^ hash >>> 16) & STRIPPER_CACHE_SIZE - 1;
+        CachedStripper cached = STRIPPERS.get(slot);
+        if (cached == null || !cached.characters.equals(toBeRemoved)) {
+            cached = new CachedStripper(toBeRemoved);
+            STRIPPERS.set(slot, cached);
         }
-
-        return stringBuilder.toString();
+        return cached.stripper;
     }
 
     /**
@@ -152,50 +117,12 @@ public final class StringUtils {
      *
      * @param passwordEingabe Zu prüfendes Passwort
      * @return Passwort ist sicher
+     * @see PasswordPolicy#DEFAULT
      *
      * @author Felix Dürrwanger
      */
     public static boolean isSecure(final String passwordEingabe) {
-
-        if (passwordEingabe == null || passwordEingabe.length() < 20) {
-            return false;
-        }
-
-        // Set speichert keine Duplikate
-        final Set<Character> characterSet = new HashSet<Character>();
-
-        for (char character : passwordEingabe.toCharArray()) {
-            characterSet.add(Character.valueOf(character));
-        }
-
-        // Länge des Arrays = Anzahl der verscheidenen Zeichen
-        if (characterSet.size() < 10) {
-            return false;
-        }
-
-        boolean numberFound = false;
-        boolean uppercaseFound = false;
-        boolean lowercaseFound = false;
-        boolean specialFound = false;
-
-        for (char character : characterSet) {
-            switch (Character.getType(character)) {
-                case Character.DECIMAL_DIGIT_NUMBER:
-                    numberFound = true;
-                    break;
-                case Character.UPPERCASE_LETTER:
-                    uppercaseFound = true;
-                    break;
-                case Character.LOWERCASE_LETTER:
-                    lowercaseFound = true;
-                    break;
-                default:
-                    specialFound = true;
-                    break;
-            }
-        }
-
-        return numberFound && uppercaseFound && lowercaseFound && specialFound;
+        return PasswordPolicy.DEFAULT.isSecure(passwordEingabe);
     }
 
     /**
@@ -207,55 +134,24 @@ public final class StringUtils {
      *
      * @param isbnEingabe Zu überprüfender String
      * @return String ist gültige ISBN13
+     * @see Isbn#isValidIsbn13(CharSequence)
      *
      * @author Felix Dürrwanger
      */
     public static boolean isValidIsbn13(final String isbnEingabe) {
-
-        if (isbnEingabe == null) {
-            return false;
-        }
-
-        final char[] characters = removeBlanksAndHyphens(isbnEingabe).toCharArray();
-
-        if (characters.length != 13) {
-            return false;
-        }
-
-        final int[] numbers = new int[13];
-
-        for (int i = 0; i < 13; i++) {
-            if (Character.getType(characters[i]) != Character.DECIMAL_DIGIT_NUMBER) {
-                return false;
-            }
-            numbers[i] = Character.getNumericValue(characters[i]);
-        }
-
-        // Berechnung der Prüfsumme
-        final int checksum = (10 - ((numbers[0] + numbers[2] + numbers[4] + numbers[6] + numbers[8] + numbers[10]
-                + 3 * (numbers[1] + numbers[3] + numbers[5] + numbers[7] + numbers[9] + numbers[11])) % 10)) % 10;
-
-        return checksum == numbers[12];
+        return Isbn.isValidIsbn13(isbnEingabe);
     }
 
     /**
-     * Entfernt aus einem String alle Leerzeichen und Bindestriche.
-     *
-     * @param string String, aus dem die Leerzeichen und Bidnestriche entfernt werden
-     * @return String ohne Leerzeichen und Bindestriche
-     *
-     * @author Felix Dürrwanger
+     * A {@link CharStripper} together with the characters it removes.
      */
-    private static String removeBlanksAndHyphens(final String string) {
-
-        final StringBuilder stringBuilder = new StringBuilder();
+    private static final class CachedStripper {
+        private final String characters;
+        private final CharStripper stripper;
 
-        for (char character : string.toCharArray()) {
-            final int type = Character.getType(character);
-            if (type != Character.SPACE_SEPARATOR && type != Character.DASH_PUNCTUATION) {
-                stringBuilder.append(String.valueOf(character));
-            }
+        CachedStripper(final String characters) {
+            this.characters = characters;
+            stripper = CharStripper.of(characters);
         }
-        return stringBuilder.toString();
     }
 }
@@ -0,0 +1,93 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that distributes the increments of concurrent threads over several cells. Each thread
+ * starts with the cell selected by its thread ID, the cells are padded so that no two cells share a
+ * cache line. If the compare-and-set on a cell fails because another thread incremented the same cell,
+ * the thread moves on to another cell and keeps using it for subsequent increments. Thus, threads whose
+ * IDs select the same cell spread out under contention, like the cells of a <code>LongAdder</code>. The
+ * current value is the sum of all cells.
+ *
+ * @author Ulli Hafner
+ */
+final class StripedCounter {
+    /** Distance between two cells in longs, i.e. two cache lines of 64 bytes. */
+    private static final int PADDING = 16;
+    /** Number of cells, a power of two. */
+    static final int STRIPES = stripes();
+    /** The probe of each thread that selects its cell, never 0. */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[] {initialProbe()};
+        }
+    };
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * Increments the counter by one.
+     */
+    void increment() {
+        int[] probe = PROBE.get();
+        while (true) {
+            int cell = (probe[0] & STRIPES - 1) * PADDING;
+            long value = cells.get(cell);
+            if (cells.compareAndSet(cell, value, value + 1)) {
+                return;
+            }
+            probe[0] = nextProbe(probe[0]);
+        }
+    }
+
+    /**
+     * Returns the current sum of all cells. The sum is not an atomic snapshot if there are
+     * concurrent increments.
+     *
+     * @return the current value
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Resets all cells to zero.
+     */
+    void reset() {
+        for (int i = 0; i < STRIPES; i++) {
+            cells.set(i * PADDING, 0);
+        }
+    }
+
+    private static int initialProbe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int)(id ^ id >>> 32) * 0x9E3779B9;
+
+        return hash >>> 16 | 1 << 16;
+    }
+
+    /**
+     * Returns the probe of the next cell to try, using a xorshift step.
+     *
+     * @param probe
+     *            the current probe, must not be 0
+     * @return the next probe, never 0
+     */
+    static int nextProbe(final int probe) {
+        int next = probe ^ probe << 13;
+        next ^= next >>> 17;
+        return next ^ next << 5;
+    }
+
+    private static int stripes() {
+        int processors = Math.max(Runtime.getRuntime().availableProcessors(), 1);
+
+        return Integer.highestOneBit(processors * 2 - 1) << 1;
+    }
+}
@@ -0,0 +1,342 @@
+package edu.hm.hafner.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Collects metrics about the checks of {@link Ensure}. The metrics are disabled by default, then
+ * each check costs only a single read of a volatile field. If enabled, the number of invocations is
+ * counted for each kind of check and the number of failures is counted for each call site, together
+ * with a histogram of the failure messages. All counters are {@link StripedCounter striped} so that
+ * concurrent checks do not contend with each other.
+ * <p>
+ * The call site of a failure is the first stack frame outside of {@link Ensure}. If the stack traces
+ * are {@link Ensure#setStackTraceEnabled(boolean) disabled}, all failures are counted for an unknown
+ * call site. Counting invocations per call site would require a stack walk on every passing check,
+ * therefore invocations are counted per kind of check only.
+ * </p>
+ * <p>
+ * The metrics can be obtained with {@link #snapshot()} or using JMX, see {@link #registerMBean()}.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class ValidationMetrics {
+    /** Name of the registered {@link ValidationMetricsMXBean}. */
+    public static final String OBJECT_NAME = "edu.hm.hafner.util:type=ValidationMetrics";
+    /** Name of the histogram entry that counts all messages beyond {@link #MAXIMUM_MESSAGES}. */
+    public static final String OTHER_MESSAGES = "(other messages)";
+    /** Maximum number of different failure messages that are counted for each call site. */
+    static final int MAXIMUM_MESSAGES = 64;
+
+    private static volatile boolean isEnabled;
+
+    private static final StripedCounter[] INVOCATIONS = createCounters();
+    private static final ConcurrentMap<String, CallSite> FAILURES = new ConcurrentHashMap<String, CallSite>();
+
+    /**
+     * Enables or disables the collection of metrics. The collected values are kept if the metrics are
+     * disabled.
+     *
+     * @param enabled
+     *            determines whether metrics should be collected
+     */
+    public static void setEnabled(final boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    /**
+     * Returns whether metrics are collected.
+     *
+     * @return <code>true</code> if metrics are collected, <code>false</code> otherwise
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Resets all collected metrics.
+     */
+    public static void reset() {
+        for (StripedCounter counter : INVOCATIONS) {
+            counter.reset();
+        }
+        FAILURES.clear();
+    }
+
+    /**
+     * Returns a snapshot of the current metrics.
+     *
+     * @return the current metrics
+     */
+    public static Snapshot snapshot() {
+        ImmutableMap.Builder<String, Long> invocations = ImmutableMap.builder();
+        for (Check check : Check.values()) {
+            invocations.put(check.getName(), INVOCATIONS[check.ordinal()].sum());
+        }
+        ImmutableMap.Builder<String, Long> failures = ImmutableMap.builder();
+        ImmutableMap.Builder<String, Map<String, Long>> messages = ImmutableMap.builder();
+        for (Map.Entry<String, CallSite> entry : FAILURES.entrySet()) {
+            failures.put(entry.getKey(), entry.getValue().getFailures());
+            messages.put(entry.getKey(), entry.getValue().getMessages());
+        }
+        return new Snapshot(invocations.build(), failures.build(), messages.build());
+    }
+
+    /**
+     * Registers the {@link ValidationMetricsMXBean} with the name {@value #OBJECT_NAME} at the
+     * platform MBean server. Calling this method more than once has no effect.
+     *
+     * @throws JMException
+     *             if the MBean could not be registered
+     */
+    public static synchronized void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(new MBean(), name);
+        }
+    }
+
+    /**
+     * Counts the invocation of the specified check.
+     *
+     * @param check
+     *            the invoked check
+     */
+    static void recordInvocation(final Check check) {
+        if (isEnabled) {
+            INVOCATIONS[check.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Counts the specified failure for its call site.
+     *
+     * @param failure
+     *            the failure
+     */
+    static void recordFailure(final AssertionFailedException failure) {
+        if (isEnabled) {
+            String callSite = AssertionFailedException.getCallSite(failure);
+            CallSite site = FAILURES.get(callSite);
+            if (site == null) {
+                CallSite created = new CallSite();
+                site = FAILURES.putIfAbsent(callSite, created);
+                if (site == null) {
+                    site = created;
+                }
+            }
+            site.record(String.valueOf(failure.getMessage()));
+        }
+    }
+
+    private static StripedCounter[] createCounters() {
+        StripedCounter[] counters = new StripedCounter[Check.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new StripedCounter();
+        }
+        return counters;
+    }
+
+    private ValidationMetrics() {
+        // prevents instantiation
+    }
+
+    /**
+     * The kinds of checks that are counted.
+     */
+    enum Check {
+        /** {@link Ensure#that(boolean)}. */
+        BOOLEAN("that(boolean)"),
+        /** {@link Ensure#that(Object)} and {@link Ensure#that(Object, Object...)}. */
+        OBJECT("that(Object)"),
+        /** {@link Ensure#that(String)}. */
+        STRING("that(String)"),
+        /** {@link Ensure#that(Object[])}. */
+        ARRAY("that(Object[])"),
+        /** {@link Ensure#that(Iterable)}. */
+        ITERABLE("that(Iterable)"),
+        /** {@link Ensure#that(Throwable)}. */
+        EXCEPTION("that(Throwable)"),
+        /** {@link Ensure#notNull(Object)} and its overloads. */
+        NOT_NULL("notNull"),
+        /** The bulk checks of arrays and lists, e.g. {@link Ensure#allNotNull(Object[])}. */
+        BULK("all");
+
+        private final String name;
+
+        Check(final String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the metrics.
+     */
+    public static final class Snapshot {
+        private final Map<String, Long> invocations;
+        private final Map<String, Long> failures;
+        private final Map<String, Map<String, Long>> messages;
+
+        Snapshot(final Map<String, Long> invocations, final Map<String, Long> failures,
+                final Map<String, Map<String, Long>> messages) {
+            this.invocations = invocations;
+            this.failures = failures;
+            this.messages = messages;
+        }
+
+        /**
+         * Returns the number of invocations for each kind of check.
+         *
+         * @return the invocations, mapped by the name of the check
+         */
+        public Map<String, Long> getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * Returns the total number of invocations of all checks.
+         *
+         * @return the number of invocations
+         */
+        public long getTotalInvocations() {
+            return sum(invocations);
+        }
+
+        /**
+         * Returns the number of failures for each call site.
+         *
+         * @return the failures, mapped by the call site
+         */
+        public Map<String, Long> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns the total number of failures of all call sites.
+         *
+         * @return the number of failures
+         */
+        public long getTotalFailures() {
+            return sum(failures);
+        }
+
+        /**
+         * Returns the histogram of the failure messages for the specified call site.
+         *
+         * @param callSite
+         *            the call site
+         * @return the number of failures, mapped by the failure message
+         */
+        public Map<String, Long> getFailureMessages(final String callSite) {
+            Map<String, Long> histogram = messages.get(callSite);
+            if (histogram == null) {
+                return ImmutableMap.of();
+            }
+            return histogram;
+        }
+
+        private static long sum(final Map<String, Long> counters) {
+            long sum = 0;
+            for (Long value : counters.values()) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Counters of a single call site. The histogram of the messages uses plain atomic counters since
+     * the failures are spread over several messages.
+     */
+    private static final class CallSite {
+        private final StripedCounter failures = new StripedCounter();
+        private final ConcurrentMap<String, AtomicLong> messages = new ConcurrentHashMap<String, AtomicLong>();
+
+        void record(final String message) {
+            failures.increment();
+
+            AtomicLong counter = messages.get(message);
+            if (counter == null) {
+                String key = messages.size() < MAXIMUM_MESSAGES ? message : OTHER_MESSAGES;
+                AtomicLong created = new AtomicLong();
+                counter = messages.putIfAbsent(key, created);
+                if (counter == null) {
+                    counter = created;
+                }
+            }
+            counter.incrementAndGet();
+        }
+
+        long getFailures() {
+            return failures.sum();
+        }
+
+        Map<String, Long> getMessages() {
+            ImmutableMap.Builder<String, Long> histogram = ImmutableMap.builder();
+            for (Map.Entry<String, AtomicLong> entry : messages.entrySet()) {
+                histogram.put(entry.getKey(), entry.getValue().get());
+            }
+            return histogram.build();
+        }
+    }
+
+    /**
+     * Exposes the metrics using JMX.
+     */
+    private static final class MBean implements ValidationMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ValidationMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(final boolean enabled) {
+            ValidationMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public long getTotalInvocations() {
+            return snapshot().getTotalInvocations();
+        }
+
+        @Override
+        public long getTotalFailures() {
+            return snapshot().getTotalFailures();
+        }
+
+        @Override
+        public Map<String, Long> getInvocations() {
+            return snapshot().getInvocations();
+        }
+
+        @Override
+        public Map<String, Long> getFailures() {
+            return snapshot().getFailures();
+        }
+
+        @Override
+        public Map<String, Long> getFailureMessages(final String callSite) {
+            return snapshot().getFailureMessages(callSite);
+        }
+
+        @Override
+        public void reset() {
+            ValidationMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.hm.hafner.util;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link ValidationMetrics}.
+ *
+ * @author Ulli Hafner
+ */
+public interface ValidationMetricsMXBean {
+    /**
+     * Returns whether metrics are collected.
+     *
+     * @return <code>true</code> if metrics are collected, <code>false</code> otherwise
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables the collection of metrics.
+     *
+     * @param enabled
+     *            determines whether metrics should be collected
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the total number of invocations of all checks.
+     *
+     * @return the number of invocations
+     */
+    long getTotalInvocations();
+
+    /**
+     * Returns the total number of failures of all call sites.
+     *
+     * @return the number of failures
+     */
+    long getTotalFailures();
+
+    /**
+     * Returns the number of invocations for each kind of check.
+     *
+     * @return the invocations, mapped by the name of the check
+     */
+    Map<String, Long> getInvocations();
+
+    /**
+     * Returns the number of failures for each call site.
+     *
+     * @return the failures, mapped by the call site
+     */
+    Map<String, Long> getFailures();
+
+    /**
+     * Returns the histogram of the failure messages for the specified call site.
+     *
+     * @param callSite
+     *            the call site
+     * @return the number of failures, mapped by the failure message
+     */
+    Map<String, Long> getFailureMessages(String callSite);
+
+    /**
+     * Resets all collected metrics.
+     */
+    void reset();
+}
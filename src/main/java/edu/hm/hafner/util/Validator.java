@@ -0,0 +1,342 @@
+package edu.hm.hafner.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Function;
+
+/**
+ * Validates the fields of objects of a given type using a fixed set of rules. The rules are compiled
+ * once by a {@link Builder} into an immutable validator that can be shared between threads and reused
+ * for any number of objects, e.g.
+ * <pre>
+ * private static final Validator&lt;Person&gt; VALIDATOR = Validator.builder(Person.class)
+ *         .notBlank("name")
+ *         .notNull("address")
+ *         .instanceOf("id", Integer.class)
+ *         .build();
+ * ...
+ * VALIDATOR.validate(person);
+ * </pre>
+ * <p>
+ * A validator either stops at the first violated rule (the default) or {@link Builder#collectAll()
+ * collects} all violations in {@link Violations} and reports them with a single
+ * {@link AssertionFailedException}. The
+ * accessors and the failure messages of the rules are created when the validator is built, so
+ * validating an object that satisfies all rules does not create any objects.
+ * </p>
+ *
+ * @param <T>
+ *            type of the validated objects
+ * @author Ulli Hafner
+ */
+public final class Validator<T> {
+    private final Rule[] rules;
+    private final boolean isFailFast;
+
+    /**
+     * Creates a new builder for a validator of objects of the specified type.
+     *
+     * @param type
+     *            type of the validated objects
+     * @return the builder
+     * @param <T>
+     *            type of the validated objects
+     */
+    public static <T> Builder<T> builder(final Class<T> type) {
+        return new Builder<T>(type);
+    }
+
+    private Validator(final List<Rule> rules, final boolean isFailFast) {
+        this.rules = rules.toArray(new Rule[rules.size()]);
+        this.isFailFast = isFailFast;
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code> and satisfies all rules.
+     *
+     * @param value
+     *            the object to validate
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code> or violates a rule
+     */
+    public void validate(@CheckForNull final T value) {
+        Ensure.notNull(value);
+
+        for (int i = 0; i < rules.length; i++) {
+            if (!rules[i].isSatisfied(value)) {
+                if (isFailFast) {
+                    throw new AssertionFailedException(rules[i].getMessage());
+                }
+                throwViolations(value, i);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given object is not <code>null</code> and satisfies all rules.
+     *
+     * @param value
+     *            the object to validate
+     * @return <code>true</code> if the object is valid, <code>false</code> otherwise
+     */
+    public boolean isValid(@CheckForNull final T value) {
+        if (value == null) {
+            return false;
+        }
+        for (Rule rule : rules) {
+            if (!rule.isSatisfied(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the messages of all rules that are violated by the given object.
+     *
+     * @param value
+     *            the object to validate
+     * @return the messages of the violated rules, an empty list if the object is valid
+     */
+    public List<String> getViolations(final T value) {
+        List<String> violations = new ArrayList<String>();
+        for (Rule rule : rules) {
+            if (!rule.isSatisfied(value)) {
+                violations.add(rule.getMessage());
+            }
+        }
+        return violations;
+    }
+
+    private void throwViolations(final T value, final int firstViolation) {
+        Violations violations = new Violations(rules.length);
+        for (int i = firstViolation; i < rules.length; i++) {
+            if (!rules[i].isSatisfied(value)) {
+                violations.add(rules[i].getMessage());
+            }
+        }
+        violations.throwIfAny();
+    }
+
+    /**
+     * The kinds of rules. The rules are evaluated with a switch rather than with polymorphic calls so
+     * that the validation loop stays monomorphic.
+     */
+    private enum Kind {
+        NOT_NULL, NOT_BLANK, INSTANCE_OF
+    }
+
+    /**
+     * A rule for a single property. The property is read either from a field or using a function.
+     */
+    private static final class Rule {
+        private final Kind kind;
+        @CheckForNull
+        private final Field field;
+        @CheckForNull
+        private final Function<Object, ?> getter;
+        private final Class<?> expectedType;
+        private final String message;
+
+        Rule(final Kind kind, @CheckForNull final Field field, @CheckForNull final Function<Object, ?> getter,
+                final Class<?> expectedType, final String message) {
+            this.kind = kind;
+            this.field = field;
+            this.getter = getter;
+            this.expectedType = expectedType;
+            this.message = message;
+        }
+
+        boolean isSatisfied(final Object target) {
+            Object value = get(target);
+            switch (kind) {
+                case NOT_NULL:
+                    return value != null;
+                case NOT_BLANK:
+                    return value instanceof CharSequence && !BulkChecks.isBlank((CharSequence)value);
+                default:
+                    return expectedType.isInstance(value);
+            }
+        }
+
+        String getMessage() {
+            return message;
+        }
+
+        @CheckForNull
+        private Object get(final Object target) {
+            if (field == null) {
+                return getter.apply(target);
+            }
+            try {
+                return field.get(target);
+            }
+            catch (IllegalAccessException exception) {
+                throw new IllegalStateException("Can't read field " + field, exception);
+            }
+        }
+    }
+
+    /**
+     * Builds a {@link Validator}. The rules are evaluated in the order they have been added.
+     *
+     * @param <T>
+     *            type of the validated objects
+     */
+    public static final class Builder<T> {
+        private final Class<T> type;
+        private final List<Rule> rules = new ArrayList<Rule>();
+        private boolean isFailFast = true;
+
+        Builder(final Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Stops the validation at the first violated rule. This is the default.
+         *
+         * @return this builder
+         */
+        public Builder<T> failFast() {
+            isFailFast = true;
+
+            return this;
+        }
+
+        /**
+         * Evaluates all rules and reports all violations with a single exception.
+         *
+         * @return this builder
+         */
+        public Builder<T> collectAll() {
+            isFailFast = false;
+
+            return this;
+        }
+
+        /**
+         * Adds a rule that ensures that the specified field is not <code>null</code>.
+         *
+         * @param fieldName
+         *            the name of the field
+         * @return this builder
+         */
+        public Builder<T> notNull(final String fieldName) {
+            return add(Kind.NOT_NULL, fieldName, field(fieldName), Object.class, "is NULL");
+        }
+
+        /**
+         * Adds a rule that ensures that the specified property is not <code>null</code>.
+         *
+         * @param propertyName
+         *            the name of the property that is used in the failure message
+         * @param getter
+         *            reads the property
+         * @return this builder
+         */
+        public Builder<T> notNull(final String propertyName, final Function<? super T, ?> getter) {
+            return add(Kind.NOT_NULL, propertyName, Ensure.notNull(getter), Object.class, "is NULL");
+        }
+
+        /**
+         * Adds a rule that ensures that the specified field is not <code>null</code> and contains at
+         * least one non-whitespace character.
+         *
+         * @param fieldName
+         *            the name of the field
+         * @return this builder
+         */
+        public Builder<T> notBlank(final String fieldName) {
+            return add(Kind.NOT_BLANK, fieldName, field(fieldName), CharSequence.class, "is blank");
+        }
+
+        /**
+         * Adds a rule that ensures that the specified property is not <code>null</code> and contains at
+         * least one non-whitespace character.
+         *
+         * @param propertyName
+         *            the name of the property that is used in the failure message
+         * @param getter
+         *            reads the property
+         * @return this builder
+         */
+        public Builder<T> notBlank(final String propertyName, final Function<? super T, ? extends CharSequence> getter) {
+            return add(Kind.NOT_BLANK, propertyName, Ensure.notNull(getter), CharSequence.class, "is blank");
+        }
+
+        /**
+         * Adds a rule that ensures that the specified field is an instance of the given type.
+         *
+         * @param fieldName
+         *            the name of the field
+         * @param expectedType
+         *            the expected type of the field value
+         * @return this builder
+         */
+        public Builder<T> instanceOf(final String fieldName, final Class<?> expectedType) {
+            return add(Kind.INSTANCE_OF, fieldName, field(fieldName), expectedType,
+                    "is not an instance of " + expectedType.getName());
+        }
+
+        /**
+         * Adds a rule that ensures that the specified property is an instance of the given type.
+         *
+         * @param propertyName
+         *            the name of the property that is used in the failure message
+         * @param getter
+         *            reads the property
+         * @param expectedType
+         *            the expected type of the property value
+         * @return this builder
+         */
+        public Builder<T> instanceOf(final String propertyName, final Function<? super T, ?> getter,
+                final Class<?> expectedType) {
+            return add(Kind.INSTANCE_OF, propertyName, Ensure.notNull(getter), expectedType,
+                    "is not an instance of " + expectedType.getName());
+        }
+
+        /**
+         * Creates the validator with the rules that have been added so far.
+         *
+         * @return the validator
+         */
+        public Validator<T> build() {
+            return new Validator<T>(rules, isFailFast);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder<T> add(final Kind kind, final String name, final Object accessor,
+                final Class<?> expectedType, final String violation) {
+            String message = type.getName() + "." + name + " " + violation;
+            if (accessor instanceof Field) {
+                rules.add(new Rule(kind, (Field)accessor, null, expectedType, message));
+            }
+            else {
+                rules.add(new Rule(kind, null, (Function<Object, ?>)accessor, expectedType, message));
+            }
+            return this;
+        }
+
+        private Field field(final String fieldName) {
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                try {
+                    Field field = clazz.getDeclaredField(fieldName);
+                    Ensure.that(Modifier.isStatic(field.getModifiers())).isFalse("Field %s is static", field);
+                    Ensure.that(field.getType().isPrimitive()).isFalse("Field %s has a primitive type", field);
+
+                    field.setAccessible(true);
+                    return field;
+                }
+                catch (NoSuchFieldException exception) {
+                    // continue with super class
+                }
+            }
+            throw new AssertionFailedException(String.format("No field %s in %s", fieldName, type.getName()));
+        }
+    }
+}
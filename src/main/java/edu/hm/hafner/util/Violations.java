@@ -0,0 +1,208 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import edu.hm.hafner.util.Ensure.ArrayCondition;
+import edu.hm.hafner.util.Ensure.BooleanCondition;
+import edu.hm.hafner.util.Ensure.IterableCondition;
+import edu.hm.hafner.util.Ensure.ObjectCondition;
+import edu.hm.hafner.util.Ensure.StringCondition;
+import edu.hm.hafner.util.ValidationMetrics.Check;
+
+/**
+ * Collects the failures of several checks and reports them with a single
+ * {@link AssertionFailedException}. The checks use the same conditions as {@link Ensure}, but a
+ * failed check records its message instead of throwing an exception, e.g.
+ * <pre>
+ * Violations violations = new Violations();
+ * violations.that(request.getName()).isNotBlank("Name is missing");
+ * violations.that(request.getAmount() &gt; 0).isTrue("Amount must be positive: %d", request.getAmount());
+ * ...
+ * violations.throwIfAny();
+ * </pre>
+ * <p>
+ * The messages are stored in an array that grows only if more failures than its initial capacity
+ * are recorded. Thus, validating a large object with many failures creates only one exception
+ * (and writes only one log record) instead of one exception for each failure.
+ * </p>
+ * <p>
+ * Instances of this class are not thread safe.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class Violations {
+    /** Number of failures that can be recorded before the buffer needs to grow. */
+    static final int DEFAULT_CAPACITY = 16;
+
+    private final BooleanCondition trueCondition = new BooleanCondition(true, this);
+    private final BooleanCondition falseCondition = new BooleanCondition(false, this);
+
+    private String[] messages;
+    private int size;
+
+    /**
+     * Creates a new instance of {@link Violations} with the default capacity.
+     */
+    public Violations() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance of {@link Violations}.
+     *
+     * @param capacity
+     *            the number of failures that can be recorded before the buffer needs to grow
+     */
+    public Violations(final int capacity) {
+        Ensure.that(capacity > 0).isTrue("Capacity must be positive: %s", capacity);
+
+        messages = new String[capacity];
+    }
+
+    /**
+     * Returns a boolean condition that records its failures.
+     *
+     * @param value
+     *            the value to check
+     * @return a boolean condition
+     */
+    public BooleanCondition that(final boolean value) {
+        ValidationMetrics.recordInvocation(Check.BOOLEAN);
+        return value ? trueCondition : falseCondition;
+    }
+
+    /**
+     * Returns an object condition that records its failures.
+     *
+     * @param value
+     *            the value to check
+     * @return an object condition
+     */
+    public ObjectCondition that(@CheckForNull final Object value) {
+        ValidationMetrics.recordInvocation(Check.OBJECT);
+        return new ObjectCondition(value, Ensure.NO_ARGUMENTS, this);
+    }
+
+    /**
+     * Returns an object condition that records its failures.
+     *
+     * @param value
+     *            the value to check
+     * @param additionalValues
+     *            the additional values to check
+     * @return an object condition
+     */
+    public ObjectCondition that(@CheckForNull final Object value, final Object... additionalValues) {
+        ValidationMetrics.recordInvocation(Check.OBJECT);
+        return new ObjectCondition(value, additionalValues, this);
+    }
+
+    /**
+     * Returns an iterable condition that records its failures.
+     *
+     * @param value
+     *            the value to check
+     * @return an iterable condition
+     */
+    public IterableCondition that(@CheckForNull final Iterable<?> value) {
+        ValidationMetrics.recordInvocation(Check.ITERABLE);
+        return new IterableCondition(value, this);
+    }
+
+    /**
+     * Returns an array condition that records its failures.
+     *
+     * @param value
+     *            the value to check
+     * @return an array condition
+     */
+    public ArrayCondition that(@CheckForNull final Object[] value) {
+        ValidationMetrics.recordInvocation(Check.ARRAY);
+        return new ArrayCondition(value, this);
+    }
+
+    /**
+     * Returns a string condition that records its failures.
+     *
+     * @param value
+     *            the value to check
+     * @return a string condition
+     */
+    public StringCondition that(@CheckForNull final String value) {
+        ValidationMetrics.recordInvocation(Check.STRING);
+        return new StringCondition(value, this);
+    }
+
+    /**
+     * Returns whether no failure has been recorded.
+     *
+     * @return <code>true</code> if no failure has been recorded, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of recorded failures.
+     *
+     * @return the number of failures
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the messages of the recorded failures.
+     *
+     * @return the messages, in the order the failures have been recorded
+     */
+    public List<String> getMessages() {
+        return Arrays.asList(Arrays.copyOf(messages, size));
+    }
+
+    /**
+     * Removes all recorded failures so that this instance can be reused.
+     */
+    public void clear() {
+        Arrays.fill(messages, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Throws a single {@link AssertionFailedException} that contains the messages of all recorded
+     * failures. Does nothing if no failure has been recorded.
+     *
+     * @throws AssertionFailedException
+     *             if at least one failure has been recorded
+     */
+    public void throwIfAny() {
+        if (size == 1) {
+            throw new AssertionFailedException(messages[0]);
+        }
+        if (size > 1) {
+            StringBuilder message = new StringBuilder();
+            message.append(size).append(" assertions failed:");
+            for (int i = 0; i < size; i++) {
+                message.append('\n').append(messages[i]);
+            }
+            throw new AssertionFailedException(message.toString());
+        }
+    }
+
+    /**
+     * Records a failure.
+     *
+     * @param message
+     *            the message of the failure
+     */
+    void add(final String message) {
+        if (size == messages.length) {
+            messages = Arrays.copyOf(messages, size * 2);
+        }
+        messages[size++] = message;
+    }
+}
@@ -0,0 +1,122 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.hm.hafner.util.Ensure.FailureLogging;
+
+/**
+ * Tests the class {@link AssertionFailedException}.
+ *
+ * @author Ulli Hafner
+ */
+public class AssertionFailedExceptionTest {
+    private static final String ERROR_MESSAGE = "Expected Error.";
+
+    private final Logger logger = Logger.getLogger(AssertionFailedException.class.getName());
+    private final RecordingHandler handler = new RecordingHandler();
+
+    private boolean isStackTraceEnabled;
+    private FailureLogging logging;
+
+    /**
+     * Records the log messages of the exception and saves the current configuration.
+     */
+    @Before
+    public void recordLogging() {
+        isStackTraceEnabled = Ensure.isStackTraceEnabled();
+        logging = Ensure.getFailureLogging();
+
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+    }
+
+    /**
+     * Restores the configuration.
+     */
+    @After
+    public void restoreLogging() {
+        logger.removeHandler(handler);
+        logger.setUseParentHandlers(true);
+
+        Ensure.setStackTraceEnabled(isStackTraceEnabled);
+        Ensure.setFailureLogging(logging);
+    }
+
+    /**
+     * Verifies that by default the stack trace is captured and the failure is logged.
+     */
+    @Test
+    public void testDefaultsCaptureStackTraceAndLog() {
+        AssertionFailedException exception = new AssertionFailedException(ERROR_MESSAGE);
+
+        assertTrue("No stack trace captured", exception.getStackTrace().length > 0);
+        assertEquals("Wrong number of log records", 1, handler.getRecords().size());
+        assertSame("Wrong exception logged", exception, handler.getRecords().get(0).getThrown());
+    }
+
+    /**
+     * Verifies that no stack trace is captured and no failure is logged if both are disabled.
+     */
+    @Test
+    public void testStacklessWithoutLogging() {
+        Ensure.setStackTraceEnabled(false);
+        Ensure.setFailureLogging(FailureLogging.NONE);
+
+        AssertionFailedException exception = new AssertionFailedException(ERROR_MESSAGE);
+
+        assertEquals("Stack trace captured", 0, exception.getStackTrace().length);
+        assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        assertTrue("Failure has been logged", handler.getRecords().isEmpty());
+    }
+
+    /**
+     * Verifies that the cause is still available if the stack trace is disabled.
+     */
+    @Test
+    public void testStacklessKeepsCause() {
+        Ensure.setStackTraceEnabled(false);
+
+        IllegalArgumentException cause = new IllegalArgumentException();
+        AssertionFailedException exception = new AssertionFailedException(ERROR_MESSAGE, cause);
+
+        assertEquals("Stack trace captured", 0, exception.getStackTrace().length);
+        assertSame("Wrong cause", cause, exception.getCause());
+        assertEquals("Wrong number of log records", 1, handler.getRecords().size());
+    }
+
+    /**
+     * Records all log messages.
+     */
+    private static class RecordingHandler extends Handler {
+        private final List<LogRecord> records = new ArrayList<LogRecord>();
+
+        @Override
+        public void publish(final LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to do
+        }
+
+        @Override
+        public void close() {
+            // nothing to do
+        }
+
+        public List<LogRecord> getRecords() {
+            return records;
+        }
+    }
+}
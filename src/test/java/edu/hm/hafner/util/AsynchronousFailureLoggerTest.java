@@ -0,0 +1,167 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.hm.hafner.util.AsynchronousFailureLogger.OverflowPolicy;
+
+/**
+ * Tests the class {@link AsynchronousFailureLogger}.
+ *
+ * @author Ulli Hafner
+ */
+public class AsynchronousFailureLoggerTest {
+    private static final String FIRST_MESSAGE = "First";
+    private static final String SECOND_MESSAGE = "Second";
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<LogRecord>();
+    private Logger logger;
+
+    /**
+     * Creates a logger that records all messages.
+     */
+    @Before
+    public void createLogger() {
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+                // nothing to do
+            }
+
+            @Override
+            public void close() {
+                // nothing to do
+            }
+        });
+    }
+
+    /**
+     * Verifies that failures with the same message and call site are aggregated into a single record.
+     */
+    @Test
+    public void testAggregatesFailuresWithSameMessageAndCallSite() {
+        AsynchronousFailureLogger failureLogger = new AsynchronousFailureLogger(logger, 16, 1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 3; i++) {
+            failureLogger.log(new IllegalArgumentException(FIRST_MESSAGE));
+        }
+        failureLogger.log(new IllegalArgumentException(SECOND_MESSAGE));
+        failureLogger.flush();
+
+        assertEquals("Wrong number of records", 2, records.size());
+        assertEquals("Wrong message", "Assertion failed 3 times.", records.get(0).getMessage());
+        assertEquals("Wrong failure", FIRST_MESSAGE, records.get(0).getThrown().getMessage());
+        assertEquals("Wrong message", "Assertion failed.", records.get(1).getMessage());
+        assertEquals("Wrong failure", SECOND_MESSAGE, records.get(1).getThrown().getMessage());
+
+        records.clear();
+        failureLogger.flush();
+        assertTrue("Records have been logged twice", records.isEmpty());
+    }
+
+    /**
+     * Verifies that failures are dropped and counted if the buffer is full.
+     */
+    @Test
+    public void testDropsFailuresIfBufferIsFull() {
+        AsynchronousFailureLogger failureLogger = new AsynchronousFailureLogger(logger, 4, 1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 10; i++) {
+            failureLogger.log(new IllegalArgumentException(FIRST_MESSAGE));
+        }
+        assertEquals("Wrong number of dropped failures", 6, failureLogger.getDroppedCount());
+
+        failureLogger.flush();
+
+        assertEquals("Wrong number of records", 2, records.size());
+        assertEquals("Wrong message", "Assertion failed 4 times.", records.get(0).getMessage());
+        assertArrayEquals("Wrong number of dropped failures", new Object[] {6L}, records.get(1).getParameters());
+    }
+
+    /**
+     * Verifies that only every n-th failure is queued once the buffer is half full.
+     */
+    @Test
+    public void testSamplesFailuresIfBufferIsHalfFull() {
+        AsynchronousFailureLogger failureLogger = new AsynchronousFailureLogger(logger, 64, 1, TimeUnit.HOURS);
+        failureLogger.setOverflowPolicy(OverflowPolicy.SAMPLE);
+
+        for (int i = 0; i < 32 + 10 * AsynchronousFailureLogger.SAMPLE_RATE; i++) {
+            failureLogger.log(new IllegalArgumentException(FIRST_MESSAGE));
+        }
+
+        assertEquals("Wrong number of skipped failures", 10 * (AsynchronousFailureLogger.SAMPLE_RATE - 1),
+                failureLogger.getSampledCount());
+        assertEquals("Wrong number of dropped failures", 0, failureLogger.getDroppedCount());
+    }
+
+    /**
+     * Verifies that no failure is lost if the throwing threads wait for the background thread.
+     */
+    @Test
+    public void testBlockingKeepsAllFailures() {
+        AsynchronousFailureLogger failureLogger = new AsynchronousFailureLogger(logger, 2, 1, TimeUnit.MILLISECONDS);
+        failureLogger.setOverflowPolicy(OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            failureLogger.log(new IllegalArgumentException(FIRST_MESSAGE));
+        }
+        failureLogger.flush();
+
+        assertEquals("Wrong number of dropped failures", 0, failureLogger.getDroppedCount());
+        assertEquals("Wrong number of logged failures", 100, countLoggedFailures());
+    }
+
+    /**
+     * Verifies that a <code>null</code> failure is rejected and does not block the subsequent failures.
+     */
+    @Test
+    public void testRejectsNullFailure() {
+        AsynchronousFailureLogger failureLogger = new AsynchronousFailureLogger(logger, 16, 1, TimeUnit.HOURS);
+
+        failureLogger.log(new IllegalArgumentException(FIRST_MESSAGE));
+        try {
+            failureLogger.log(null);
+            fail("No exception thrown for null failure");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+        failureLogger.log(new IllegalArgumentException(SECOND_MESSAGE));
+        failureLogger.flush();
+
+        assertEquals("Wrong number of records", 2, records.size());
+        assertEquals("Wrong failure", FIRST_MESSAGE, records.get(0).getThrown().getMessage());
+        assertEquals("Wrong failure", SECOND_MESSAGE, records.get(1).getThrown().getMessage());
+    }
+
+    private int countLoggedFailures() {
+        int count = 0;
+        for (LogRecord record : records) {
+            String message = record.getMessage();
+            if ("Assertion failed.".equals(message)) {
+                count++;
+            }
+            else {
+                count += Integer.parseInt(message.replaceAll("\\D", ""));
+            }
+        }
+        return count;
+    }
+}
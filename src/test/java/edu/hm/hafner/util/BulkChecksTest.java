@@ -0,0 +1,95 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link BulkChecks}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class BulkChecksTest {
+    private static final int NOT_FOUND = -1;
+
+    /**
+     * Verifies the search for <code>null</code> elements in arrays and lists.
+     */
+    @Test
+    public void testIndexOfNull() {
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.indexOfNull(new Object[0]));
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.indexOfNull(new Object[] {"a", "b"}));
+        assertEquals("Wrong index", 1, BulkChecks.indexOfNull(new Object[] {"a", null, null}));
+
+        List<String> values = Arrays.asList("a", "b", null);
+        assertEquals("Wrong index", 2, BulkChecks.indexOfNull(values));
+        assertEquals("Wrong index", 2, BulkChecks.indexOfNull(new LinkedList<String>(values)));
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.indexOfNull(new LinkedList<String>(values.subList(0, 2))));
+    }
+
+    /**
+     * Verifies the search for elements of another type in arrays and lists.
+     */
+    @Test
+    public void testIndexOfNonInstance() {
+        Object[] values = {"a", 1, null};
+
+        assertEquals("Wrong index", 1, BulkChecks.indexOfNonInstance(values, String.class));
+        assertEquals("Wrong index", 0, BulkChecks.indexOfNonInstance(values, Integer.class));
+        assertEquals("Wrong index", 2, BulkChecks.indexOfNonInstance(values, Object.class));
+        assertEquals("Wrong index", 2, BulkChecks.indexOfNonInstance(Arrays.asList(values), Object.class));
+        assertEquals("Wrong index", 1, BulkChecks.indexOfNonInstance(new LinkedList<Object>(Arrays.asList(values)), String.class));
+    }
+
+    /**
+     * Verifies the search for blank elements in arrays and lists.
+     */
+    @Test
+    public void testIndexOfBlank() {
+        CharSequence[] values = {"a", new StringBuilder(" b "), " \t", null};
+
+        assertEquals("Wrong index", 2, BulkChecks.indexOfBlank(values));
+        assertEquals("Wrong index", 3, BulkChecks.indexOfBlank(Arrays.asList("a", "b", "c", null)));
+        assertEquals("Wrong index", 0, BulkChecks.indexOfBlank(new LinkedList<String>(Arrays.asList(""))));
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.indexOfBlank(new String[] {"a"}));
+    }
+
+    /**
+     * Verifies the range checks of primitive arrays.
+     */
+    @Test
+    public void testIndexOfOutOfRange() {
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.indexOfOutOfRange(new int[] {0, 5, 10}, 0, 10));
+        assertEquals("Wrong index", 1, BulkChecks.indexOfOutOfRange(new int[] {0, -1, 11}, 0, 10));
+        assertEquals("Wrong index", 2, BulkChecks.indexOfOutOfRange(new long[] {0, 10, 11}, 0, 10));
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.indexOfOutOfRange(new double[] {0, 0.5, 1}, 0, 1));
+        assertEquals("Wrong index", 1, BulkChecks.indexOfOutOfRange(new double[] {0, Double.NaN}, 0, 1));
+    }
+
+    /**
+     * Verifies that the parallel checks find the first violating element even if several chunks
+     * contain violations.
+     */
+    @Test
+    public void testParallelChecks() {
+        String[] values = new String[BulkChecks.GRAIN_SIZE * 4 + 3];
+        Arrays.fill(values, "a");
+
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.parallelIndexOfNull(values));
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.parallelIndexOfNonInstance(values, String.class));
+        assertEquals("Wrong index", NOT_FOUND, BulkChecks.parallelIndexOfBlank(values));
+
+        int first = BulkChecks.GRAIN_SIZE * 2 + 1;
+        values[values.length - 1] = null;
+        values[first] = null;
+
+        assertEquals("Wrong index", first, BulkChecks.parallelIndexOfNull(values));
+        assertEquals("Wrong index", first, BulkChecks.parallelIndexOfNonInstance(values, String.class));
+        assertEquals("Wrong index", first, BulkChecks.parallelIndexOfBlank(values));
+    }
+}
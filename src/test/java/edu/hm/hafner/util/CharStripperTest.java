@@ -0,0 +1,101 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link CharStripper}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class CharStripperTest {
+    private static final String SMILEY = new String(Character.toChars(0x1F600));
+    private static final String GRINNING = new String(Character.toChars(0x1F601));
+
+    /**
+     * Verifies that all characters of the set are removed from all kinds of outputs.
+     */
+    @Test
+    public void testStrip() {
+        assertStrip("Halo", "Hallo-ollaH", "-");
+        assertStrip(" ", "ABC abc 123", "ABCabc123");
+        assertStrip("4a5b6c7", "ABCabc123", "ABC123");
+        assertStrip("ABCabc123", "ABCabc123", "");
+        assertStrip("\uffff\u0100", "a\uffffb\u0100c\u00ff", "abc\u00ff");
+    }
+
+    /**
+     * Verifies that the input itself is returned if no character needs to be removed.
+     */
+    @Test
+    public void testNoMatch() {
+        String input = "ABCabc123";
+
+        assertSame("Input should be returned", input, CharStripper.of("DEFdef456").strip(input));
+        assertSame("Input should be returned", input, CharStripper.of("").strip(input));
+        assertEquals("No match expected", -1, CharStripper.of("xyz").indexIn(input));
+        assertEquals("Wrong index", 3, CharStripper.of("xyza").indexIn(input));
+    }
+
+    /**
+     * Verifies that surrogate pairs are removed by code point and that surrogates that are not part
+     * of a pair are removed like other characters.
+     */
+    @Test
+    public void testSurrogates() {
+        assertStrip(SMILEY, "a" + SMILEY + "b" + GRINNING, "ab" + GRINNING);
+        assertStrip(SMILEY + "b", "a" + SMILEY + "b" + GRINNING, "a" + GRINNING);
+        assertStrip("a", "a" + SMILEY + "a", SMILEY);
+
+        String high = SMILEY.substring(0, 1);
+        String low = SMILEY.substring(1);
+        assertStrip(high, "a" + high + "b" + GRINNING, "ab" + GRINNING);
+        assertStrip(low, low + "a" + SMILEY, "a" + SMILEY);
+
+        CharStripper stripper = CharStripper.of(SMILEY + "a");
+        assertTrue("Code point should match", stripper.matches(0x1F600));
+        assertTrue("Character should match", stripper.matches('a'));
+        assertFalse("Code point should not match", stripper.matches(0x1F601));
+        assertFalse("Surrogate should not match", stripper.matches(high.charAt(0)));
+        assertFalse("Negative value should not match", stripper.matches(-1));
+    }
+
+    /**
+     * Verifies that the characters are written at the offset of a caller supplied array.
+     */
+    @Test
+    public void testStripIntoArray() {
+        char[] destination = new char[14];
+
+        int end = CharStripper.of("-").strip("3-86680-1920", destination, 2);
+
+        assertEquals("Wrong end", 12, end);
+        assertEquals("Wrong characters", "3866801920", new String(destination, 2, end - 2));
+    }
+
+    /**
+     * Verifies that an array without room for all input characters is rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testArrayTooSmall() {
+        CharStripper.of("-").strip("3-86680-1920", new char[12], 3);
+    }
+
+    private void assertStrip(final String toBeRemoved, final String input, final String expected) {
+        CharStripper stripper = CharStripper.of(toBeRemoved);
+
+        assertEquals("Wrong string", expected, stripper.strip(input));
+
+        StringBuilder builder = new StringBuilder("[");
+        stripper.strip(input, builder);
+        assertEquals("Wrong builder content", "[" + expected, builder.toString());
+
+        char[] characters = new char[input.length()];
+        int end = stripper.strip(input, characters, 0);
+        assertEquals("Wrong array content", expected, new String(characters, 0, end));
+
+        assertEquals("Wrong StringUtils result", expected, StringUtils.strip(input, toBeRemoved));
+    }
+}
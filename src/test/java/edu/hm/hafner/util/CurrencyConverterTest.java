@@ -0,0 +1,134 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.math.RoundingMode;
+
+import org.junit.Test;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Testet die Klasse {@link CurrencyConverter}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class CurrencyConverterTest {
+    /** Delta für Währungsumrechnung. */
+    private static final double DELTA = 0.0001;
+
+    /**
+     * Testet die Konversion zwischen zwei beliebigen Währungen.
+     */
+    @Test
+    public void testeKreuzkurse() {
+        ExchangeRateTable rates = createRates();
+        CurrencyConverter converter = new CurrencyConverter(rates);
+
+        assertEquals("Franken nach Euro", 5, converter.convert(6, Currency.SFR, Currency.EUR), DELTA);
+        assertEquals("Euro nach Franken", 6, converter.convert(5, Currency.EUR, Currency.SFR), DELTA);
+        assertEquals("Dollar nach Pfund", 75, converter.convert(100, Currency.USD, Currency.GBP), DELTA);
+        assertEquals("Pfund nach Dollar", 100, converter.convert(75, Currency.GBP, Currency.USD), DELTA);
+        assertEquals("Dollar nach Dollar", 123.45, converter.convert(123.45, Currency.USD, Currency.USD), 0);
+        assertEquals("Wie EuroConverter", new EuroConverter(rates).converterToEuro(123.45, Currency.SFR),
+                converter.convert(123.45, Currency.SFR, Currency.EUR), 0);
+
+        double[] result = new double[3];
+        converter.convert(new double[] {100, 200, 300}, Currency.USD, Currency.GBP, result);
+        assertArrayEquals("Konversion fehlgeschlagen", new double[] {75, 150, 225}, result, DELTA);
+
+        rates.setRate(Currency.GBP, 0.9);
+        assertEquals("Kreuzkurs nicht aktualisiert", 100, converter.convert(100, Currency.USD, Currency.GBP), DELTA);
+    }
+
+    /**
+     * Testet die exakte Konversion mit nur einer Rundung.
+     */
+    @Test
+    public void testeExakteKonversion() {
+        ExchangeRateTable rates = createRates();
+        rates.setRate(Currency.JPY, 0.00612345);
+        CurrencyConverter converter = new CurrencyConverter(rates);
+
+        assertEquals("Dollar nach Pfund", 7500,
+                converter.convertExact(10000, Currency.USD, Currency.GBP, RoundingMode.UNNECESSARY));
+        assertEquals("Yen nach Euro", 612345,
+                converter.convertExact(1000000, Currency.JPY, Currency.EUR, RoundingMode.UNNECESSARY));
+        assertEquals("Euro nach Yen", 163, converter.convertExact(100, Currency.EUR, Currency.JPY, RoundingMode.DOWN));
+        assertEquals("Euro nach Yen", 164, converter.convertExact(100, Currency.EUR, Currency.JPY, RoundingMode.UP));
+        assertEquals("Franken nach Dollar", 5556,
+                converter.convertExact(6000, Currency.SFR, Currency.USD, RoundingMode.HALF_EVEN));
+
+        rates.update().setRate(Currency.USD, 500).setRate(Currency.GBP, 800).apply();
+        assertEquals("Große Kurse", 62,
+                converter.convertExact(100, Currency.USD, Currency.GBP, RoundingMode.HALF_EVEN));
+        assertEquals("Große Kurse", 63,
+                converter.convertExact(100, Currency.USD, Currency.GBP, RoundingMode.HALF_UP));
+        try {
+            converter.convertExact(100, Currency.USD, Currency.GBP, RoundingMode.UNNECESSARY);
+            fail("Rundung nicht erkannt");
+        }
+        catch (ArithmeticException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Testet die Konversion in alle Währungen.
+     */
+    @Test
+    public void testeKonversionInAlleWaehrungen() {
+        CurrencyConverter converter = new CurrencyConverter(createRates());
+
+        double[] result = new double[Currency.values().length];
+        converter.convertToAll(90, Currency.USD, result);
+
+        assertEquals("Nach Euro", 81, result[Currency.EUR.ordinal()], DELTA);
+        assertEquals("Nach Franken", 97.2, result[Currency.SFR.ordinal()], DELTA);
+        assertEquals("Nach Dollar", 90, result[Currency.USD.ordinal()], 0);
+        assertEquals("Nach Pfund", 67.5, result[Currency.GBP.ordinal()], DELTA);
+        assertTrue("Unbekannter Kurs", Double.isNaN(result[Currency.JPY.ordinal()]));
+    }
+
+    /**
+     * Testet, dass unbekannte Kurse erkannt werden.
+     */
+    @Test
+    public void testeUnbekannteKurse() {
+        CurrencyConverter converter = new CurrencyConverter(createRates());
+
+        assertUnknown(converter, Currency.JPY, Currency.EUR);
+        assertUnknown(converter, Currency.EUR, Currency.JPY);
+        try {
+            converter.convertToAll(1, Currency.JPY, new double[Currency.values().length]);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Kein Wechselkurs für JPY", exception.getMessage());
+        }
+        try {
+            converter.convertToAll(1, Currency.EUR, new double[1]);
+            fail("Zu kurzes Ergebnis nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    private void assertUnknown(final CurrencyConverter converter, final Currency from, final Currency to) {
+        try {
+            converter.convert(1, from, to);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Kein Wechselkurs für JPY", exception.getMessage());
+        }
+    }
+
+    private ExchangeRateTable createRates() {
+        ExchangeRateTable rates = ExchangeRateTable.createDefault();
+        rates.update().setRate(Currency.USD, 0.9).setRate(Currency.GBP, 1.2).apply();
+        return rates;
+    }
+}
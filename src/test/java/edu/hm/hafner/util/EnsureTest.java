@@ -2,6 +2,11 @@ package edu.hm.hafner.util;
 
 import static org.junit.Assert.*;
 
+import java.util.List;
+
+import com.google.common.base.Predicates;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
 
 import org.junit.Test;
@@ -31,6 +36,44 @@ public class EnsureTest {
         Ensure.that(NOT_EMPTY_STRING).isNotEmpty();
         Ensure.that(NOT_EMPTY_STRING).isNotBlank();
         Ensure.that(EMPTY_STRING).isInstanceOf(String.class);
+        Ensure.that((Object)EMPTY_STRING).isInstanceOf(Integer.class, String.class);
+        Ensure.notNull(EMPTY_STRING, EMPTY_STRING);
+        Ensure.notNull(EMPTY_STRING, EMPTY_STRING, EMPTY_STRING);
+
+        assertSame("Wrong value returned", NOT_EMPTY_STRING, Ensure.notNull(NOT_EMPTY_STRING));
+    }
+
+    /**
+     * Verifies that the boolean conditions are shared and not created on each call.
+     */
+    @Test
+    public void testBooleanConditionsAreShared() {
+        assertSame("Condition for TRUE is not shared", Ensure.that(true), Ensure.that(true));
+        assertSame("Condition for FALSE is not shared", Ensure.that(false), Ensure.that(false));
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testNotNullThrowsException() {
+        Ensure.notNull(null);
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testNotNullWithTwoValuesThrowsException() {
+        Ensure.notNull(EMPTY_STRING, null);
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testNotNullWithThreeValuesThrowsException() {
+        Ensure.notNull(EMPTY_STRING, EMPTY_STRING, null);
     }
 
     /**
@@ -184,6 +227,91 @@ public class EnsureTest {
         Ensure.that(EMPTY_STRING).isInstanceOf(Integer.class, ERROR_MESSAGE);
     }
 
+    /**
+     * Checks whether the message supplier is not invoked if we adhere to all contracts.
+     */
+    @Test
+    public void testSupplierIsNotInvokedForValidContracts() {
+        Supplier<String> explanation = new Supplier<String>() {
+            @Override
+            public String get() {
+                fail("Message must not be created for a valid contract");
+                return ERROR_MESSAGE;
+            }
+        };
+
+        Ensure.that(false).isFalse(explanation);
+        Ensure.that(true).isTrue(explanation);
+        Ensure.that(EMPTY_STRING, EMPTY_STRING).isNotNull(explanation);
+        Ensure.that(new String[]{EMPTY_STRING}).isNotEmpty(explanation);
+        Ensure.that(Lists.newArrayList(EMPTY_STRING)).isNotEmpty(explanation);
+        Ensure.that(NOT_EMPTY_STRING).isNotEmpty(explanation);
+        Ensure.that(NOT_EMPTY_STRING).isNotBlank(explanation);
+        Ensure.that(EMPTY_STRING).isInstanceOf(String.class, explanation);
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testRequireNotNullInCollectionWithSupplier() {
+        Ensure.that(Lists.newArrayList(EMPTY_STRING, null)).isNotEmpty(Suppliers.ofInstance(ERROR_MESSAGE));
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testRequireNotEmptyArrayWithSupplier() {
+        Ensure.that(new String[0]).isNotEmpty(Suppliers.ofInstance(ERROR_MESSAGE));
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testRequireNotBlankStringWithSupplier() {
+        Ensure.that(" ").isNotBlank(Suppliers.ofInstance(ERROR_MESSAGE));
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testRequireNotEmptyStringWithSupplier() {
+        Ensure.that(EMPTY_STRING).isNotEmpty(Suppliers.ofInstance(ERROR_MESSAGE));
+    }
+
+    /**
+     * Checks whether we throw an exception if a contract is violated.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testRequireFalseWithSupplierThrowsException() {
+        Ensure.that(true).isFalse(Suppliers.ofInstance(ERROR_MESSAGE));
+    }
+
+    /**
+     * Verifies that the message of the supplier is used if a contract is violated.
+     */
+    @Test
+    public void testSupplierMessage() {
+        final int count = 42;
+        String message = null;
+        try {
+            Ensure.that(false).isTrue(new Supplier<String>() {
+                @Override
+                public String get() {
+                    return String.format("Expected %d elements.", count);
+                }
+            });
+        }
+        catch (AssertionFailedException exception) {
+            message = exception.getMessage();
+        }
+
+        assertEquals("Wrong message of supplier: ", "Expected 42 elements.", message);
+    }
+
     /**
      * Verifies that the message format is correctly interpreted.
      */
@@ -199,4 +327,101 @@ public class EnsureTest {
 
         assertEquals("Wrong message concatenation: ", "This error uses 'String.format' to print the number 42.", message);
     }
+
+    /**
+     * Verifies that the bulk checks accept arrays and lists without violations.
+     */
+    @Test
+    public void testValidBulkContracts() {
+        Ensure.allNotNull(new String[] {EMPTY_STRING, NOT_EMPTY_STRING});
+        Ensure.allNotNull(Lists.newLinkedList(Lists.newArrayList(EMPTY_STRING)));
+        Ensure.allInstanceOf(new Object[] {EMPTY_STRING}, String.class);
+        Ensure.allInstanceOf(Lists.newArrayList(EMPTY_STRING), CharSequence.class);
+        Ensure.allNotBlank(new String[] {NOT_EMPTY_STRING});
+        Ensure.allNotBlank(Lists.newArrayList(NOT_EMPTY_STRING));
+        Ensure.allInRange(new int[] {1, 2, 3}, 1, 3);
+        Ensure.allInRange(new long[] {1, 2, 3}, 1, 3);
+        Ensure.allInRange(new double[] {1, 2, 3}, 1, 3);
+    }
+
+    /**
+     * Verifies that the bulk checks report the index of the first violating element.
+     */
+    @Test
+    public void testBulkMessages() {
+        assertBulkFailure("Element at index 1 is NULL", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allNotNull(new String[] {EMPTY_STRING, null, null});
+            }
+        });
+        assertBulkFailure("Element at index 2 is NULL", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allNotNull(Lists.newLinkedList(Lists.newArrayList(EMPTY_STRING, EMPTY_STRING, null)));
+            }
+        });
+        assertBulkFailure("Element at index 0 is not an instance of java.lang.Integer", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allInstanceOf(Lists.newArrayList(EMPTY_STRING), Integer.class);
+            }
+        });
+        assertBulkFailure("Element at index 1 is blank", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allNotBlank(new String[] {NOT_EMPTY_STRING, " "});
+            }
+        });
+        assertBulkFailure("Element at index 1 is not in range [0, 10]: 11", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allInRange(new int[] {0, 11}, 0, 10);
+            }
+        });
+        assertBulkFailure("Element at index 0 is not in range [0.0, 1.0]: NaN", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allInRange(new double[] {Double.NaN}, 0, 1);
+            }
+        });
+        assertBulkFailure("Array is NULL", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allInRange((long[])null, 0, 1);
+            }
+        });
+        assertBulkFailure("List is NULL", new Runnable() {
+            @Override
+            public void run() {
+                Ensure.allNotBlank((List<String>)null);
+            }
+        });
+    }
+
+    private void assertBulkFailure(final String expectedMessage, final Runnable check) {
+        try {
+            check.run();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that the checks can be disabled for all classes, a package or a single class.
+     */
+    @Test
+    public void testDisabledChecks() {
+        String property = Ensure.DISABLE_CHECKS_PROPERTY;
+
+        assertTrue("Checks should be enabled by default", Ensure.isEnabled(EnsureTest.class));
+        assertTrue("Checks should be enabled", Ensure.isEnabled("edu.hm.Foo", Predicates.<String>alwaysFalse()));
+        assertFalse("Checks should be disabled", Ensure.isEnabled("edu.hm.Foo", Predicates.equalTo(property)));
+        assertFalse("Checks should be disabled", Ensure.isEnabled("edu.hm.Foo", Predicates.equalTo(property + ".edu")));
+        assertFalse("Checks should be disabled", Ensure.isEnabled("edu.hm.Foo", Predicates.equalTo(property + ".edu.hm.Foo")));
+        assertTrue("Checks should be enabled", Ensure.isEnabled("edu.hm.Foo", Predicates.equalTo(property + ".edu.hm.Bar")));
+        assertTrue("Checks should be enabled", Ensure.isEnabled("edu.hm.Foo", Predicates.equalTo(property + ".edu.h")));
+    }
 }
\ No newline at end of file
@@ -2,6 +2,12 @@ package edu.hm.hafner.util;
 
 import static org.junit.Assert.*;
 
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
 import org.junit.Test;
 
 import edu.hm.hafner.util.EuroConverter.Currency;
@@ -46,5 +52,235 @@ public class EuroConverterTest {
         // Then
         assertEquals("Franken nach Euro Konversion fehlgeschlagen", 5, ergebnis, DELTA);
     }
+
+    /**
+     *  Testet die Konversion von Arrays mit gemischten Währungen.
+     */
+    @Test
+    public void testeArrayKonversion() {
+        // Given
+        EuroConverter converter = createConverter();
+        double[] values = {100, 100, 100, 6};
+        long[] longValues = {100, 100, 100, 6};
+        byte[] byteCodes = codes(Currency.EUR, Currency.USD, Currency.GBP, Currency.SFR);
+        int[] intCodes = {Currency.EUR.ordinal(), Currency.USD.ordinal(), Currency.GBP.ordinal(),
+                Currency.SFR.ordinal()};
+        double[] expected = {100, 90, 120, 5, 0};
+        double[] result = new double[5];
+
+        // When / Then
+        converter.converterToEuro(values, byteCodes, result);
+        assertArrayEquals("Konversion fehlgeschlagen", expected, result, DELTA);
+        converter.converterToEuro(values, intCodes, result);
+        assertArrayEquals("Konversion fehlgeschlagen", expected, result, DELTA);
+        converter.converterToEuro(longValues, byteCodes, result);
+        assertArrayEquals("Konversion fehlgeschlagen", expected, result, DELTA);
+        converter.converterToEuro(longValues, intCodes, result);
+        assertArrayEquals("Konversion fehlgeschlagen", expected, result, DELTA);
+    }
+
+    /**
+     *  Testet die Konversion in Puffer auf dem Heap und außerhalb des Heaps.
+     */
+    @Test
+    public void testePufferKonversion() {
+        // Given
+        EuroConverter converter = createConverter();
+        double[] values = {100, 100, 6};
+        byte[] byteCodes = codes(Currency.USD, Currency.GBP, Currency.SFR);
+        int[] intCodes = {Currency.USD.ordinal(), Currency.GBP.ordinal(), Currency.SFR.ordinal()};
+        double[] expected = {0, 90, 120, 5};
+
+        for (DoubleBuffer buffer : new DoubleBuffer[] {DoubleBuffer.allocate(4),
+                ByteBuffer.allocateDirect(4 * 8).asDoubleBuffer()}) {
+            // When
+            buffer.position(1);
+            converter.converterToEuro(values, byteCodes, buffer);
+            // Then
+            assertEquals("Falsche Position", 4, buffer.position());
+            assertArrayEquals("Konversion fehlgeschlagen", expected, toArray(buffer), DELTA);
+
+            // When
+            buffer.clear();
+            buffer.put(0);
+            converter.converterToEuro(values, intCodes, buffer);
+            // Then
+            assertEquals("Falsche Position", 4, buffer.position());
+            assertArrayEquals("Konversion fehlgeschlagen", expected, toArray(buffer), DELTA);
+
+            try {
+                buffer.position(2);
+                converter.converterToEuro(values, byteCodes, buffer);
+                fail("Zu kleiner Puffer nicht erkannt");
+            }
+            catch (BufferOverflowException exception) {
+                assertEquals("Position verändert", 2, buffer.position());
+            }
+        }
+    }
+
+    /**
+     *  Testet die parallele Konversion großer Arrays.
+     */
+    @Test
+    public void testeParalleleKonversion() {
+        // Given
+        EuroConverter converter = createConverter();
+        int size = EuroConverter.GRAIN_SIZE * 3 + 17;
+        double[] values = new double[size];
+        byte[] byteCodes = new byte[size];
+        int[] intCodes = new int[size];
+        Random random = new Random(42);
+        Currency[] currencies = {Currency.EUR, Currency.SFR, Currency.USD, Currency.GBP};
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(100000) / 100.0;
+            byteCodes[i] = (byte)currencies[random.nextInt(currencies.length)].ordinal();
+            intCodes[i] = byteCodes[i];
+        }
+        double[] expected = new double[size];
+        converter.converterToEuro(values, byteCodes, expected);
+
+        // When / Then
+        double[] result = new double[size];
+        converter.parallelConverterToEuro(values, byteCodes, result);
+        assertArrayEquals("Parallele Konversion fehlgeschlagen", expected, result, 0);
+        result = new double[size];
+        converter.parallelConverterToEuro(values, intCodes, result);
+        assertArrayEquals("Parallele Konversion fehlgeschlagen", expected, result, 0);
+    }
+
+    /**
+     *  Testet, dass ungültige Arrays und unbekannte Kurse erkannt werden.
+     */
+    @Test
+    public void testeUngueltigeArrays() {
+        EuroConverter converter = new EuroConverter();
+        double[] values = {1, 2};
+
+        assertInvalid(converter, values, codes(Currency.EUR), new double[2]);
+        assertInvalid(converter, values, codes(Currency.EUR, Currency.SFR), new double[1]);
+        try {
+            converter.converterToEuro(values, new int[] {Currency.EUR.ordinal(), Currency.USD.ordinal()},
+                    new double[2]);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Kein Wechselkurs für USD an Index 1", exception.getMessage());
+        }
+    }
+
+    /**
+     *  Testet, dass Ordinalzahlen ohne Währung erkannt werden, auch wenn alle Kurse bekannt sind.
+     */
+    @Test
+    public void testeUngueltigeWaehrungen() {
+        ExchangeRateTable complete = new ExchangeRateTable();
+        for (Currency currency : Currency.values()) {
+            complete.setRate(currency, currency == Currency.EUR ? 1 : 0.5);
+        }
+
+        for (EuroConverter converter : new EuroConverter[] {new EuroConverter(), new EuroConverter(complete)}) {
+            double[] values = {1, 2};
+            byte pastEnd = (byte)Currency.values().length;
+
+            assertInvalid(converter, values, new byte[] {0, -1}, new double[2]);
+            assertInvalid(converter, values, new byte[] {0, pastEnd}, new double[2]);
+            try {
+                converter.converterToEuro(values, new int[] {0, pastEnd}, new double[2]);
+                fail("Ungültige Währung nicht erkannt");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Falsche Meldung", "Keine Währung mit Ordinalzahl " + pastEnd + " an Index 1",
+                        exception.getMessage());
+            }
+            try {
+                converter.converterToEuroCent(new long[] {1, 2}, new byte[] {0, -1}, RoundingMode.HALF_EVEN,
+                        new long[2]);
+                fail("Ungültige Währung nicht erkannt");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Falsche Meldung", "Keine Währung mit Ordinalzahl -1 an Index 1",
+                        exception.getMessage());
+            }
+        }
+    }
+
+    private void assertInvalid(final EuroConverter converter, final double[] values, final byte[] currencies,
+            final double[] result) {
+        try {
+            converter.converterToEuro(values, currencies, result);
+            fail("Ungültige Arrays nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    /**
+     *  Testet die exakte Konversion mit Festkommazahlen.
+     */
+    @Test
+    public void testeFestkommaKonversion() {
+        // Given
+        ExchangeRateTable rates = ExchangeRateTable.createDefault();
+        rates.update().setScaledRate(Currency.JPY, 612345).setRate(Currency.USD, 0.9).apply();
+        EuroConverter converter = new EuroConverter(rates);
+
+        // When / Then
+        assertEquals("Euro nach Euro", 12345,
+                converter.converterToEuroCent(12345, Currency.EUR, RoundingMode.UNNECESSARY));
+        assertEquals("Franken nach Euro", 5, converter.converterToEuroCent(6, Currency.SFR, RoundingMode.HALF_EVEN));
+        assertEquals("Franken nach Euro", 500, converter.converterToEuroCent(600, Currency.SFR, RoundingMode.HALF_EVEN));
+        assertEquals("Franken nach Euro", 499, converter.converterToEuroCent(600, Currency.SFR, RoundingMode.DOWN));
+        assertEquals("Yen nach Euro", 612345, converter.converterToEuroCent(1000000, Currency.JPY, RoundingMode.UNNECESSARY));
+        assertEquals("Yen nach Euro", 61, converter.converterToEuroCent(100, Currency.JPY, RoundingMode.HALF_EVEN));
+        assertEquals("Yen nach Euro", -62, converter.converterToEuroCent(-100, Currency.JPY, RoundingMode.FLOOR));
+        assertEquals("Yen nach Euro", -61, converter.converterToEuroCent(-100, Currency.JPY, RoundingMode.CEILING));
+        assertEquals("Dollar nach Euro", 9, converter.converterToEuroCent(10, Currency.USD, RoundingMode.UNNECESSARY));
+        assertEquals("Dollar nach Euro", 4, converter.converterToEuroCent(5, Currency.USD, RoundingMode.HALF_EVEN));
+        assertEquals("Dollar nach Euro", 5, converter.converterToEuroCent(5, Currency.USD, RoundingMode.HALF_UP));
+
+        long[] result = new long[4];
+        converter.converterToEuroCent(new long[] {12345, 600, 100, 10},
+                codes(Currency.EUR, Currency.SFR, Currency.JPY, Currency.USD), RoundingMode.HALF_EVEN, result);
+        assertArrayEquals("Konversion fehlgeschlagen", new long[] {12345, 500, 61, 9}, result);
+
+        try {
+            converter.converterToEuroCent(Long.MAX_VALUE / 10, Currency.JPY, RoundingMode.HALF_EVEN);
+            fail("Überlauf nicht erkannt");
+        }
+        catch (ArithmeticException exception) {
+            // expected
+        }
+        try {
+            converter.converterToEuroCent(100, Currency.GBP, RoundingMode.HALF_EVEN);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    private EuroConverter createConverter() {
+        ExchangeRateTable rates = ExchangeRateTable.createDefault();
+        rates.update().setRate(Currency.USD, 0.9).setRate(Currency.GBP, 1.2).apply();
+        return new EuroConverter(rates);
+    }
+
+    private byte[] codes(final Currency... currencies) {
+        byte[] codes = new byte[currencies.length];
+        for (int i = 0; i < currencies.length; i++) {
+            codes[i] = (byte)currencies[i].ordinal();
+        }
+        return codes;
+    }
+
+    private double[] toArray(final DoubleBuffer buffer) {
+        double[] values = new double[buffer.capacity()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.get(i);
+        }
+        return values;
+    }
 }
 
@@ -0,0 +1,179 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+import edu.hm.hafner.util.ExchangeRateTable.Snapshot;
+
+/**
+ * Testet die Klasse {@link ExchangeRateTable}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ExchangeRateTableTest {
+    /** Delta für Währungsumrechnung. */
+    private static final double DELTA = 0.0001;
+
+    /**
+     * Testet die Standardkurse.
+     */
+    @Test
+    public void testeStandardkurse() {
+        ExchangeRateTable table = ExchangeRateTable.createDefault();
+
+        assertEquals("Falscher Kurs", 1, table.getRate(Currency.EUR), DELTA);
+        assertEquals("Falscher Kurs", 5.0 / 6, table.getRate(Currency.SFR), DELTA);
+        assertTrue("Kurs sollte bekannt sein", table.getSnapshot().hasRate(Currency.SFR));
+        assertFalse("Kurs sollte unbekannt sein", table.getSnapshot().hasRate(Currency.USD));
+        try {
+            table.getRate(Currency.USD);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Kein Wechselkurs für USD", exception.getMessage());
+        }
+    }
+
+    /**
+     * Testet, dass eine Aktualisierung erst mit apply sichtbar wird und bestehende Snapshots nicht
+     * verändert.
+     */
+    @Test
+    public void testeAtomareAktualisierung() {
+        ExchangeRateTable table = new ExchangeRateTable();
+        Snapshot before = table.getSnapshot();
+
+        ExchangeRateTable.Update update = table.update().setRate(Currency.USD, 0.92).setRate(Currency.GBP, 1.17);
+        assertSame("Aktualisierung sollte noch nicht sichtbar sein", before, table.getSnapshot());
+
+        update.apply();
+        Snapshot after = table.getSnapshot();
+        assertEquals("Falscher Kurs", 0.92, after.getRate(Currency.USD), DELTA);
+        assertEquals("Falscher Kurs", 1.17, after.getRate(Currency.GBP), DELTA);
+        assertEquals("Falsche Version", before.getVersion() + 1, after.getVersion());
+        assertFalse("Alter Snapshot wurde verändert", before.hasRate(Currency.USD));
+
+        Map<Currency, Double> rates = new EnumMap<Currency, Double>(Currency.class);
+        rates.put(Currency.USD, 0.9);
+        rates.put(Currency.JPY, 0.006);
+        table.setRates(rates);
+        assertEquals("Falscher Kurs", 0.9, table.getRate(Currency.USD), DELTA);
+        assertEquals("Falscher Kurs", 0.006, table.getRate(Currency.JPY), DELTA);
+        assertEquals("Falscher Kurs", 1.17, table.getRate(Currency.GBP), DELTA);
+        assertEquals("Falsche Version", after.getVersion() + 1, table.getSnapshot().getVersion());
+    }
+
+    /**
+     * Testet die skalierten Kurse für Festkommazahlen.
+     */
+    @Test
+    public void testeSkalierteKurse() {
+        ExchangeRateTable table = ExchangeRateTable.createDefault();
+        table.update().setScaledRate(Currency.JPY, 612345).setRate(Currency.USD, 0.923456789).apply();
+        Snapshot snapshot = table.getSnapshot();
+
+        assertEquals("Falscher Kurs", ExchangeRateTable.RATE_SCALE, snapshot.getScaledRate(Currency.EUR));
+        assertEquals("Falscher Kurs", 83333333, snapshot.getScaledRate(Currency.SFR));
+        assertEquals("Falscher Kurs", 5.0 / 6, snapshot.getRate(Currency.SFR), 0);
+        assertEquals("Falscher Kurs", 612345, snapshot.getScaledRate(Currency.JPY));
+        assertEquals("Falscher Kurs", 0.00612345, snapshot.getRate(Currency.JPY), 0);
+        assertEquals("Falscher Kurs", 92345679, snapshot.getScaledRate(Currency.USD));
+        assertEquals("Falscher Kurs", 0.923456789, snapshot.getRate(Currency.USD), 0);
+
+        table.setRate(Currency.GBP, 900);
+        assertEquals("Falscher Kurs", ExchangeRateTable.MAXIMUM_SCALED_RATE,
+                table.getSnapshot().getScaledRate(Currency.GBP));
+        try {
+            table.setRate(Currency.GBP, 900.01);
+            fail("Zu hoher Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+        try {
+            table.getSnapshot().getScaledRate(Currency.CAD);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Testet, dass ungültige Kurse abgelehnt werden und dabei kein Kurs geändert wird.
+     */
+    @Test
+    public void testeUngueltigeKurse() {
+        ExchangeRateTable table = ExchangeRateTable.createDefault();
+        Snapshot before = table.getSnapshot();
+
+        Map<Currency, Double> rates = new EnumMap<Currency, Double>(Currency.class);
+        rates.put(Currency.SFR, 0.95);
+        rates.put(Currency.USD, -1.0);
+        assertInvalid(table, rates);
+        rates.put(Currency.USD, Double.NaN);
+        assertInvalid(table, rates);
+        rates.put(Currency.USD, Double.POSITIVE_INFINITY);
+        assertInvalid(table, rates);
+        rates.remove(Currency.USD);
+        rates.put(Currency.EUR, 2.0);
+        assertInvalid(table, rates);
+        rates.put(Currency.EUR, 1.000000001);
+        assertInvalid(table, rates);
+
+        assertSame("Kurse wurden verändert", before, table.getSnapshot());
+    }
+
+    private void assertInvalid(final ExchangeRateTable table, final Map<Currency, Double> rates) {
+        try {
+            table.setRates(rates);
+            fail("Ungültiger Kurs nicht erkannt: " + rates);
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Testet, dass lesende Threads nie eine halbe Aktualisierung sehen.
+     *
+     * @throws InterruptedException
+     *             falls der Test unterbrochen wird
+     */
+    @Test
+    public void testeParalleleAktualisierung() throws InterruptedException {
+        final ExchangeRateTable table = new ExchangeRateTable();
+        table.update().setRate(Currency.USD, 1).setRate(Currency.GBP, 1).apply();
+
+        final AtomicBoolean isInconsistent = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (done.getCount() > 0) {
+                    Snapshot snapshot = table.getSnapshot();
+                    if (snapshot.getRate(Currency.USD) != snapshot.getRate(Currency.GBP)) {
+                        isInconsistent.set(true);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 1; i <= 10000; i++) {
+            table.update().setRate(Currency.USD, i / 100.0).setRate(Currency.GBP, i / 100.0).apply();
+        }
+        done.countDown();
+        reader.join();
+
+        assertFalse("Halbe Aktualisierung gelesen", isInconsistent.get());
+        assertEquals("Falsche Version", 10001, table.getSnapshot().getVersion());
+    }
+}
@@ -0,0 +1,111 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link FixedPoint}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class FixedPointTest {
+    private static final long SCALE = 100000000L;
+
+    /**
+     * Verifies that overflows of multiplications and additions are detected.
+     */
+    @Test
+    public void testExactOperations() {
+        assertEquals("Wrong product", 6, FixedPoint.multiplyExact(2, 3));
+        assertEquals("Wrong product", -6L << 40, FixedPoint.multiplyExact(-3L << 20, 2L << 20));
+        assertEquals("Wrong product", Long.MIN_VALUE, FixedPoint.multiplyExact(Long.MIN_VALUE, 1));
+        assertEquals("Wrong sum", Long.MAX_VALUE, FixedPoint.addExact(Long.MAX_VALUE - 1, 1));
+
+        assertOverflow(Long.MAX_VALUE, 2, true);
+        assertOverflow(Long.MIN_VALUE, -1, true);
+        assertOverflow(1L << 32, 1L << 31, true);
+        assertOverflow(Long.MAX_VALUE, 1, false);
+        assertOverflow(Long.MIN_VALUE, -1, false);
+    }
+
+    private void assertOverflow(final long x, final long y, final boolean isMultiplication) {
+        try {
+            if (isMultiplication) {
+                FixedPoint.multiplyExact(x, y);
+            }
+            else {
+                FixedPoint.addExact(x, y);
+            }
+            fail("Overflow not detected: " + x + ", " + y);
+        }
+        catch (ArithmeticException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Verifies the rounding of ties and the detection of necessary rounding.
+     */
+    @Test
+    public void testRounding() {
+        assertEquals("Wrong HALF_EVEN", 2, FixedPoint.multiplyAndDivide(5, 1, 2, RoundingMode.HALF_EVEN));
+        assertEquals("Wrong HALF_EVEN", 4, FixedPoint.multiplyAndDivide(7, 1, 2, RoundingMode.HALF_EVEN));
+        assertEquals("Wrong HALF_EVEN", -2, FixedPoint.multiplyAndDivide(-5, 1, 2, RoundingMode.HALF_EVEN));
+        assertEquals("Wrong HALF_UP", 3, FixedPoint.multiplyAndDivide(5, 1, 2, RoundingMode.HALF_UP));
+        assertEquals("Wrong HALF_DOWN", 2, FixedPoint.multiplyAndDivide(5, 1, 2, RoundingMode.HALF_DOWN));
+        assertEquals("Wrong FLOOR", -3, FixedPoint.multiplyAndDivide(-5, 1, 2, RoundingMode.FLOOR));
+        assertEquals("Wrong CEILING", -2, FixedPoint.multiplyAndDivide(-5, 1, 2, RoundingMode.CEILING));
+        assertEquals("Exact result", 3, FixedPoint.multiplyAndDivide(6, 1, 2, RoundingMode.UNNECESSARY));
+        try {
+            FixedPoint.multiplyAndDivide(5, 1, 2, RoundingMode.UNNECESSARY);
+            fail("Necessary rounding not detected");
+        }
+        catch (ArithmeticException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Verifies that the results are equal to the results of {@link BigDecimal} for random values and
+     * all rounding modes.
+     */
+    @Test
+    public void testMultiplyAndDivideLikeBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            long factor = 1 + (random.nextLong() >>> 1) % (900 * SCALE);
+            BigInteger exact = BigInteger.valueOf(value).multiply(BigInteger.valueOf(factor));
+            for (RoundingMode mode : RoundingMode.values()) {
+                if (mode == RoundingMode.UNNECESSARY) {
+                    continue;
+                }
+                BigDecimal expected = new BigDecimal(exact).divide(BigDecimal.valueOf(SCALE), 0, mode);
+                if (expected.toBigInteger().bitLength() < 64) {
+                    assertEquals(value + " * " + factor + " " + mode, expected.longValue(),
+                            FixedPoint.multiplyAndDivide(value, factor, SCALE, mode));
+                }
+                else {
+                    assertOverflow(value, factor, mode);
+                }
+            }
+        }
+    }
+
+    private void assertOverflow(final long value, final long factor, final RoundingMode mode) {
+        try {
+            FixedPoint.multiplyAndDivide(value, factor, SCALE, mode);
+            fail("Overflow not detected: " + value + " * " + factor);
+        }
+        catch (ArithmeticException exception) {
+            // expected
+        }
+    }
+}
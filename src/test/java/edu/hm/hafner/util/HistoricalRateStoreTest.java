@@ -0,0 +1,237 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.google.common.io.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.hm.hafner.util.EuroConverter.Currency;
+
+/**
+ * Testet die Klasse {@link HistoricalRateStore}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class HistoricalRateStoreTest {
+    /** Delta für Währungsumrechnung. */
+    private static final double DELTA = 0.0001;
+
+    /** Temporäres Verzeichnis für die Dateien. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Testet, dass ein Kurs bis zum nächsten Kurs gilt.
+     */
+    @Test
+    public void testeKursAmTag() {
+        HistoricalRateStore store = createStore();
+
+        assertEquals("Falsche Anzahl", 5, store.size());
+        assertEquals("Falsche Anzahl", 3, store.size(Currency.SFR));
+        assertEquals("Falsche Anzahl", 0, store.size(Currency.GBP));
+        verifyRates(store);
+    }
+
+    private void verifyRates(final HistoricalRateStore store) {
+        assertFalse("Kurs vor dem ersten Kurs", store.hasRate(Currency.SFR, 99));
+        assertTrue("Kurs am ersten Tag", store.hasRate(Currency.SFR, 100));
+        assertFalse("Kurs ohne Kurse", store.hasRate(Currency.GBP, 100));
+        assertEquals("Falscher Kurs", 80000000, store.getScaledRate(Currency.SFR, 100));
+        assertEquals("Falscher Kurs", 0.8, store.getRate(Currency.SFR, 109), DELTA);
+        assertEquals("Falscher Kurs", 0.9, store.getRate(Currency.SFR, 110), DELTA);
+        assertEquals("Falscher Kurs", 0.95, store.getRate(Currency.SFR, 200), DELTA);
+        assertEquals("Falscher Kurs", 0.95, store.getRate(Currency.SFR, Integer.MAX_VALUE), DELTA);
+        assertEquals("Falscher Kurs", 0.5, store.getRate(Currency.USD, -1000), DELTA);
+        assertEquals("Falscher Kurs", 0.5, store.getRate(Currency.USD, -1), DELTA);
+        assertEquals("Falscher Kurs", 0.7, store.getRate(Currency.USD, 0), DELTA);
+        assertEquals("Falsche Konversion", 90, store.converterToEuro(100, Currency.SFR, 150), DELTA);
+        try {
+            store.getRate(Currency.SFR, 99);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Kein Wechselkurs für SFR am Tag 99", exception.getMessage());
+        }
+    }
+
+    /**
+     * Testet das Schreiben und Laden einer Datei.
+     *
+     * @throws IOException
+     *             falls die Datei nicht geschrieben werden kann
+     */
+    @Test
+    public void testeDatei() throws IOException {
+        File file = folder.newFile("rates.bin");
+        createStore().write(file);
+
+        assertEquals("Falsche Dateigröße", HistoricalRateStore.HEADER_SIZE
+                + Currency.values().length * HistoricalRateStore.DIRECTORY_ENTRY_SIZE + 5 * 12, file.length());
+
+        HistoricalRateStore store = HistoricalRateStore.load(file);
+        assertEquals("Falsche Anzahl", 5, store.size());
+        verifyRates(store);
+
+        File copy = folder.newFile("copy.bin");
+        store.write(copy);
+        assertArrayEquals("Falscher Inhalt", Files.toByteArray(file), Files.toByteArray(copy));
+    }
+
+    /**
+     * Testet, dass geladene Kurse in ihre eigene Datei geschrieben werden können.
+     *
+     * @throws IOException
+     *             falls die Datei nicht geschrieben werden kann
+     */
+    @Test
+    public void testeSchreibenInGeladeneDatei() throws IOException {
+        File file = folder.newFile("rates.bin");
+        createStore().write(file);
+        byte[] content = Files.toByteArray(file);
+
+        HistoricalRateStore store = HistoricalRateStore.load(file);
+        store.write(file);
+
+        verifyRates(store);
+        assertArrayEquals("Falscher Inhalt", content, Files.toByteArray(file));
+        verifyRates(HistoricalRateStore.load(file));
+        assertEquals("Temporäre Datei nicht gelöscht", 1, folder.getRoot().list().length);
+    }
+
+    /**
+     * Testet, dass ungültige Dateien erkannt werden.
+     *
+     * @throws IOException
+     *             falls die Datei nicht geschrieben werden kann
+     */
+    @Test
+    public void testeUngueltigeDatei() throws IOException {
+        File file = folder.newFile("rates.bin");
+        createStore().write(file);
+        byte[] content = Files.toByteArray(file);
+
+        assertInvalid(new byte[] {1, 2, 3});
+        byte[] wrongMagic = Arrays.copyOf(content, content.length);
+        wrongMagic[0] = 'X';
+        assertInvalid(wrongMagic);
+        byte[] wrongVersion = Arrays.copyOf(content, content.length);
+        wrongVersion[7] = 2;
+        assertInvalid(wrongVersion);
+        assertInvalid(Arrays.copyOf(content, content.length - 1));
+        byte[] wrongCount = Arrays.copyOf(content, content.length);
+        wrongCount[HistoricalRateStore.HEADER_SIZE + 7]++;
+        assertInvalid(wrongCount);
+    }
+
+    private void assertInvalid(final byte[] content) throws IOException {
+        File file = folder.newFile();
+        Files.write(content, file);
+        try {
+            HistoricalRateStore.load(file);
+            fail("Ungültige Datei nicht erkannt");
+        }
+        catch (IOException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Testet, dass zwei Kurse am gleichen Tag und ungültige Kurse abgelehnt werden.
+     */
+    @Test
+    public void testeUngueltigeKurse() {
+        try {
+            HistoricalRateStore.builder().addRate(Currency.USD, 1, 0.9).addRate(Currency.USD, 1, 0.8).build();
+            fail("Doppelter Tag nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Zwei Kurse für USD am Tag 1", exception.getMessage());
+        }
+        try {
+            HistoricalRateStore.builder().addRate(Currency.USD, 1, -1);
+            fail("Ungültiger Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    /**
+     * Testet die Suche vieler Kurse für sortierte und unsortierte Tage gegen die einzelne Suche.
+     */
+    @Test
+    public void testeMehrereKurse() {
+        Random random = new Random(42);
+        HistoricalRateStore.Builder builder = HistoricalRateStore.builder();
+        int day = 0;
+        for (int i = 0; i < 10000; i++) {
+            day += 1 + random.nextInt(3);
+            builder.addScaledRate(Currency.JPY, day, 1 + random.nextInt(1000000));
+        }
+        HistoricalRateStore store = builder.build();
+
+        int[] days = new int[5000];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = 3 + random.nextInt(day + 100);
+        }
+        verifyBulkLookup(store, days);
+        Arrays.sort(days);
+        verifyBulkLookup(store, days);
+
+        try {
+            store.getRates(Currency.JPY, new int[] {5, 0}, new double[2]);
+            fail("Unbekannter Kurs nicht erkannt");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Falsche Meldung", "Kein Wechselkurs für JPY am Tag 0", exception.getMessage());
+        }
+    }
+
+    private void verifyBulkLookup(final HistoricalRateStore store, final int[] days) {
+        long[] scaled = new long[days.length];
+        double[] rates = new double[days.length];
+        store.getScaledRates(Currency.JPY, days, scaled);
+        store.getRates(Currency.JPY, days, rates);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals("Falscher Kurs am Tag " + days[i], store.getScaledRate(Currency.JPY, days[i]), scaled[i]);
+            assertEquals("Falscher Kurs am Tag " + days[i], store.getRate(Currency.JPY, days[i]), rates[i], 0);
+        }
+    }
+
+    /**
+     * Testet die exponentielle Suche ab einer Startposition.
+     */
+    @Test
+    public void testeSucheAbStartposition() {
+        IntBuffer days = IntBuffer.wrap(new int[] {1, 3, 5, 7, 9, 11, 13});
+
+        for (int start = -1; start < 7; start++) {
+            for (int day = start < 0 ? 0 : 2 * start + 1; day < 16; day++) {
+                int expected = Math.min(6, (day - 1) / 2);
+                assertEquals("Falsche Position für Tag " + day + " ab " + start,
+                        day < 1 ? -1 : expected, HistoricalRateStore.floorIndex(days, start, day));
+            }
+        }
+    }
+
+    private HistoricalRateStore createStore() {
+        return HistoricalRateStore.builder()
+                .addRate(Currency.SFR, 200, 0.95)
+                .addRate(Currency.SFR, 100, 0.8)
+                .addScaledRate(Currency.SFR, 110, 90000000)
+                .addRate(Currency.USD, -5000, 0.5)
+                .addRate(Currency.USD, 0, 0.7)
+                .build();
+    }
+}
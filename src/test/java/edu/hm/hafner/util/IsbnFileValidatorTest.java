@@ -0,0 +1,138 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import com.google.common.io.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.hm.hafner.util.IsbnFileValidator.Result;
+import edu.hm.hafner.util.IsbnFileValidator.Type;
+
+/**
+ * Tests the class {@link IsbnFileValidator}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class IsbnFileValidatorTest {
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    /** Provides the files to validate. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Verifies the results of valid, invalid and malformed ISBN-13 lines.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testIsbn13() throws IOException {
+        Result result = IsbnFileValidator.validate(createFile("978-0-321-35668-0\r\n"
+                + "9780321356681\n"
+                + "978032135668\n"
+                + "\n"
+                + "978 3 16 148410 0"), Type.ISBN_13);
+
+        assertEquals("Wrong number of lines", 5, result.getLineCount());
+        assertEquals("Wrong number of valid lines", 2, result.getValidCount());
+        assertTrue("Line 1 should be valid", result.isValid(1));
+        assertFalse("Line 2 should be invalid", result.isValid(2));
+        assertTrue("Line 5 should be valid", result.isValid(5));
+        assertEquals("Wrong check digit", IsbnFileValidator.VALID, result.getExpectedCheckDigit(1));
+        assertEquals("Wrong check digit", 0, result.getExpectedCheckDigit(2));
+        assertEquals("Wrong check digit", IsbnFileValidator.MALFORMED, result.getExpectedCheckDigit(3));
+        assertEquals("Wrong check digit", IsbnFileValidator.MALFORMED, result.getExpectedCheckDigit(4));
+
+        StringBuilder output = new StringBuilder();
+        result.writeInvalidLines(output);
+
+        assertEquals("Wrong output", "2\t0\n3\t-\n4\t-\n", output.toString());
+    }
+
+    /**
+     * Verifies the results of valid and invalid ISBN-10 lines.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testIsbn10() throws IOException {
+        Result result = IsbnFileValidator.validate(createFile("3-86680-192-0\n"
+                + "3-86680-192-9\n"
+                + "0-8044-2957-0\n"
+                + "3-8a680-192-0\n"), Type.ISBN_10);
+
+        assertEquals("Wrong number of lines", 4, result.getLineCount());
+        assertEquals("Wrong number of invalid lines", 3, result.getInvalidCount());
+        assertEquals("Wrong check digit", 0, result.getExpectedCheckDigit(2));
+        assertEquals("Wrong check digit", IsbnFileValidator.CHECK_DIGIT_X, result.getExpectedCheckDigit(3));
+        assertEquals("Wrong check digit", IsbnFileValidator.MALFORMED, result.getExpectedCheckDigit(4));
+    }
+
+    /**
+     * Verifies that the results are the same as the results of {@link Isbn} if the file is split into
+     * many small chunks.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testChunks() throws IOException {
+        Random random = new Random(1);
+        StringBuilder content = new StringBuilder();
+        String[] lines = new String[2000];
+        for (int i = 0; i < lines.length; i++) {
+            StringBuilder line = new StringBuilder("978");
+            for (int j = 0; j < 10; j++) {
+                line.append(random.nextInt(10));
+                if (random.nextInt(10) == 0) {
+                    line.append('-');
+                }
+            }
+            lines[i] = line.toString();
+            content.append(line).append('\n');
+        }
+
+        Result result = IsbnFileValidator.validate(createFile(content.toString()), Type.ISBN_13, 100);
+
+        assertEquals("Wrong number of lines", lines.length, result.getLineCount());
+        int valid = 0;
+        for (int i = 0; i < lines.length; i++) {
+            boolean isValid = Isbn.isValidIsbn13(lines[i]);
+            assertEquals(lines[i], isValid, result.isValid(i + 1));
+            if (isValid) {
+                valid++;
+            }
+        }
+        assertEquals("Wrong number of valid lines", valid, result.getValidCount());
+    }
+
+    /**
+     * Verifies that an empty file has no lines.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testEmptyFile() throws IOException {
+        Result result = IsbnFileValidator.validate(createFile(""), Type.ISBN_13);
+
+        assertEquals("Wrong number of lines", 0, result.getLineCount());
+    }
+
+    private File createFile(final String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(content, file, ASCII);
+        return file;
+    }
+}
@@ -0,0 +1,175 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import com.google.common.io.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the class {@link IsbnIndex}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class IsbnIndexTest {
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    /** Provides the index files. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Verifies that ISBN-10 and ISBN-13 numbers of the same book are found, and that invalid numbers
+     * and duplicates are skipped.
+     */
+    @Test
+    public void testContains() {
+        IsbnIndex.Builder builder = IsbnIndex.builder();
+        assertTrue("Valid ISBN-10", builder.add("0-306-40615-2"));
+        assertTrue("Valid ISBN-13", builder.add("978-3-16-148410-0"));
+        assertTrue("Duplicate", builder.add("9780306406157"));
+        assertFalse("Invalid ISBN", builder.add("978-3-16-148410-1"));
+        assertFalse("null", builder.add((CharSequence)null));
+        byte[] bytes = "[0-8044-2957-X]".getBytes(ASCII);
+        assertTrue("Valid ASCII ISBN-10", builder.add(bytes, 1, bytes.length - 2));
+        IsbnIndex index = builder.build();
+
+        assertEquals("Wrong size", 3, index.size());
+        assertIndex(index);
+    }
+
+    /**
+     * Verifies that an index is found again after it has been written and loaded.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testWriteAndLoad() throws IOException {
+        IsbnIndex.Builder builder = IsbnIndex.builder();
+        builder.add("0-306-40615-2");
+        builder.add("978-3-16-148410-0");
+        builder.add(Isbn.parse("0-8044-2957-X"));
+
+        File file = folder.newFile("index.isbn");
+        builder.build().write(file);
+        assertEquals("Wrong file size", IsbnIndex.HEADER_SIZE + IsbnIndex.getDirectorySize(2) + 3 * 8, file.length());
+
+        IsbnIndex index = IsbnIndex.load(file);
+        assertEquals("Wrong size", 3, index.size());
+        assertIndex(index);
+    }
+
+    /**
+     * Verifies that a large random index, that needs several write buffers, finds all added numbers
+     * and no other numbers.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testRandomNumbers() throws IOException {
+        Random random = new Random(42);
+        IsbnIndex.Builder builder = IsbnIndex.builder();
+        long[] added = new long[20000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = randomEan(random);
+            builder.add(added[i]);
+        }
+        File file = folder.newFile("random.isbn");
+        builder.build().write(file);
+        IsbnIndex index = IsbnIndex.load(file);
+
+        for (long ean : added) {
+            assertTrue("Not found: " + ean, index.contains(ean));
+        }
+        assertEquals("Wrong position of smallest number", 0, index.indexOf(min(added)));
+        for (int i = 0; i < 1000; i++) {
+            long ean = randomEan(random);
+            boolean isAdded = false;
+            for (long value : added) {
+                isAdded |= value == ean;
+            }
+            assertEquals("Wrong result for " + ean, isAdded, index.contains(ean));
+        }
+    }
+
+    /**
+     * Verifies that an empty index can be written and loaded.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void testEmptyIndex() throws IOException {
+        File file = folder.newFile("empty.isbn");
+        IsbnIndex.builder().build().write(file);
+
+        IsbnIndex index = IsbnIndex.load(file);
+        assertEquals("Wrong size", 0, index.size());
+        assertFalse("Empty index", index.contains("0-306-40615-2"));
+    }
+
+    /**
+     * Verifies that files that have not been written by an index are rejected.
+     *
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test(expected = IOException.class)
+    public void testLoadInvalidFile() throws IOException {
+        File file = folder.newFile("invalid.isbn");
+        Files.write("978-3-16-148410-0\n", file, ASCII);
+
+        IsbnIndex.load(file);
+    }
+
+    /**
+     * Verifies that invalid EAN-13 numbers are rejected.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testAddInvalidEan() {
+        IsbnIndex.builder().add(9780306406158L);
+    }
+
+    private void assertIndex(final IsbnIndex index) {
+        assertTrue("ISBN-10 not found", index.contains("0306406152"));
+        assertTrue("ISBN-13 not found", index.contains("978-0-306-40615-7"));
+        assertTrue("ISBN-10 not found", index.contains("3-16-148410-X"));
+        assertTrue("X check digit not found", index.contains("9780804429573"));
+        byte[] bytes = "9783161484100".getBytes(ASCII);
+        assertTrue("ASCII ISBN-13 not found", index.contains(bytes, 0, bytes.length));
+
+        assertFalse("Unknown ISBN found", index.contains("978-0-321-35668-0"));
+        assertFalse("Invalid ISBN found", index.contains("978-0-306-40615-8"));
+        assertFalse("null found", index.contains((CharSequence)null));
+        assertFalse("Invalid EAN found", index.contains(Isbn.INVALID_ISBN));
+    }
+
+    private long min(final long[] values) {
+        long min = Long.MAX_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private long randomEan(final Random random) {
+        long digits = 978000000000L + random.nextInt(1000000000);
+        for (int check = 0; check < 10; check++) {
+            long ean = digits * 10 + check;
+            if (Isbn.isValidEan(ean)) {
+                return ean;
+            }
+        }
+        throw new IllegalStateException("No check digit for " + digits);
+    }
+}
@@ -0,0 +1,229 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link Isbn}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class IsbnTest {
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    /**
+     * Verifies that all variants accept valid ISBN-10 numbers with the supported separators.
+     */
+    @Test
+    public void testValidIsbn10() {
+        assertIsbn10("3-86680-192-0", true);
+        assertIsbn10("3 - 8 6 6 8 0 - 1 9 2 - 0", true);
+        assertIsbn10("\t3866801920\r\n", true);
+        assertIsbn10("0-306-40615-2", true);
+        assertIsbn10("3-86680-192-0-", true);
+    }
+
+    /**
+     * Verifies that all variants reject invalid ISBN-10 numbers.
+     */
+    @Test
+    public void testInvalidIsbn10() {
+        assertIsbn10("", false);
+        assertIsbn10("3-86680-192-9", false);
+        assertIsbn10("3-86680-192-08", false);
+        assertIsbn10("3-86680-192", false);
+        assertIsbn10("3-8a680-192-0", false);
+        assertIsbn10("3_86680-192-0", false);
+        assertFalse("null should be invalid", Isbn.isValidIsbn10((CharSequence)null));
+    }
+
+    /**
+     * Verifies that all variants accept valid ISBN-13 numbers with the supported separators.
+     */
+    @Test
+    public void testValidIsbn13() {
+        assertIsbn13("9780321356680", true);
+        assertIsbn13("978-0-321-35668-0", true);
+        assertIsbn13(" 9 7 8 0 3 2 1 3 5 6 6 8 0 ", true);
+        assertIsbn13("978-3-16-148410-0", true);
+    }
+
+    /**
+     * Verifies that all variants reject invalid ISBN-13 numbers.
+     */
+    @Test
+    public void testInvalidIsbn13() {
+        assertIsbn13("", false);
+        assertIsbn13("9780321356681", false);
+        assertIsbn13("97803213566800", false);
+        assertIsbn13("978032135668", false);
+        assertIsbn13("978032135668X", false);
+        assertIsbn13("978\t0321356680", false);
+        assertFalse("null should be invalid", Isbn.isValidIsbn13((CharSequence)null));
+    }
+
+    /**
+     * Verifies that Unicode digits and separators are handled like in {@link StringUtils}.
+     */
+    @Test
+    public void testUnicode() {
+        String arabicIndic = "٣٨٦٦٨٠١٩٢٠";
+
+        assertTrue("Arabic-Indic digits should be valid", Isbn.isValidIsbn10(arabicIndic));
+        assertFalse("Em space is no ISBN-10 separator", Isbn.isValidIsbn10("3866801920 "));
+        assertTrue("Em space is an ISBN-13 separator", Isbn.isValidIsbn13("978 0321356680"));
+        assertTrue("En dash is an ISBN-13 separator", Isbn.isValidIsbn13("978–0321356680"));
+        assertFalse("Non ASCII bytes are invalid", Isbn.isValidIsbn13(new byte[] {(byte)0xE2, '9'}, 0, 2));
+    }
+
+    /**
+     * Verifies that only the specified slice is validated.
+     */
+    @Test
+    public void testSlices() {
+        char[] chars = "xx9780321356680xx".toCharArray();
+        byte[] bytes = "xx3866801920xx".getBytes(ASCII);
+
+        assertTrue("Slice should be valid", Isbn.isValidIsbn13(chars, 2, 13));
+        assertFalse("Slice should be invalid", Isbn.isValidIsbn13(chars, 1, 14));
+        assertTrue("Slice should be valid", Isbn.isValidIsbn10(bytes, 2, 10));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.position(2);
+        buffer.limit(12);
+
+        assertTrue("Remaining bytes should be valid", Isbn.isValidIsbn10(buffer));
+        assertEquals("Position should not be changed", 2, buffer.position());
+    }
+
+    /**
+     * Verifies that slices outside of the array are rejected.
+     */
+    /**
+     * Verifies that ISBN-10 and ISBN-13 numbers are parsed into the same canonical EAN-13.
+     */
+    @Test
+    public void testParse() {
+        assertParse("0-306-40615-2", 9780306406157L);
+        assertParse("978-0-306-40615-7", 9780306406157L);
+        assertParse("0-8044-2957-X", 9780804429573L);
+        assertParse("0 8044 2957 x", 9780804429573L);
+        assertParse("978-3-16-148410-0", 9783161484100L);
+        assertParse("\t3866801920\r\n", 9783866801929L);
+
+        assertParse("0-8044-2957-3", Isbn.INVALID_ISBN);
+        assertParse("0-8044-295X-7", Isbn.INVALID_ISBN);
+        assertParse("978-0-306-40615-8", Isbn.INVALID_ISBN);
+        assertParse("978-0-306-40615-77", Isbn.INVALID_ISBN);
+        assertParse("", Isbn.INVALID_ISBN);
+        assertEquals("null should be invalid", Isbn.INVALID_ISBN, Isbn.parse(null));
+    }
+
+    /**
+     * Verifies that the canonical EAN-13 is written as ISBN-13 and ISBN-10.
+     */
+    @Test
+    public void testFormat() {
+        assertFormat("0-306-40615-2", "9780306406157", "0306406152");
+        assertFormat("0-8044-2957-X", "9780804429573", "080442957X");
+        assertFormat("0-00-000000-0", "9780000000002", "0000000000");
+
+        long ean = Isbn.parse("979-10-90636-07-1");
+        assertEquals("Wrong EAN-13", 9791090636071L, ean);
+        assertFalse("979 prefix has no ISBN-10", Isbn.hasIsbn10(ean));
+
+        char[] digits = new char[15];
+        assertEquals("Wrong offset", 14, Isbn.formatIsbn13(ean, digits, 1));
+        assertEquals("Wrong digits", "\u00009791090636071\u0000", new String(digits));
+    }
+
+    /**
+     * Verifies that only numbers with 13 digits and a valid check digit are accepted as EAN-13.
+     */
+    @Test
+    public void testValidEan() {
+        assertTrue("Valid EAN-13", Isbn.isValidEan(9780306406157L));
+        assertTrue("Leading zeros", Isbn.isValidEan(0L));
+        assertFalse("Wrong check digit", Isbn.isValidEan(9780306406158L));
+        assertFalse("Too many digits", Isbn.isValidEan(99780306406157L));
+        assertFalse("Negative", Isbn.isValidEan(Isbn.INVALID_ISBN));
+    }
+
+    /**
+     * Verifies that invalid EAN-13 numbers are not formatted.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testFormatInvalidEan() {
+        Isbn.appendIsbn13(Isbn.INVALID_ISBN, new StringBuilder());
+    }
+
+    /**
+     * Verifies that EAN-13 numbers without ISBN-10 representation are not formatted as ISBN-10.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testFormatIsbn10WithWrongPrefix() {
+        Isbn.appendIsbn10(9791090636071L, new StringBuilder());
+    }
+
+    /**
+     * Verifies that slices outside of the array are rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIllegalSlice() {
+        Isbn.isValidIsbn10(new char[10], 1, 10);
+    }
+
+    private void assertParse(final String isbn, final long expected) {
+        assertEquals("Wrong EAN-13 for " + isbn, expected, Isbn.parse(isbn));
+        byte[] bytes = ("[" + isbn + "]").getBytes(ASCII);
+        assertEquals("Wrong EAN-13 for bytes of " + isbn, expected, Isbn.parse(bytes, 1, bytes.length - 2));
+    }
+
+    private void assertFormat(final String isbn, final String isbn13, final String isbn10) {
+        long ean = Isbn.parse(isbn);
+        assertTrue("Should have an ISBN-10: " + isbn, Isbn.hasIsbn10(ean));
+
+        StringBuilder builder = new StringBuilder();
+        Isbn.appendIsbn13(ean, builder);
+        assertEquals("Wrong ISBN-13", isbn13, builder.toString());
+
+        builder.setLength(0);
+        Isbn.appendIsbn10(ean, builder);
+        assertEquals("Wrong ISBN-10", isbn10, builder.toString());
+
+        char[] digits = new char[Isbn.ISBN13_LENGTH];
+        Isbn.formatIsbn13(ean, digits, 0);
+        assertEquals("Wrong ISBN-13 characters", isbn13, new String(digits));
+        assertEquals("Round trip failed", ean, Isbn.parse(isbn10));
+    }
+
+    private void assertIsbn10(final String isbn, final boolean expected) {
+        char[] chars = isbn.toCharArray();
+        byte[] bytes = isbn.getBytes(ASCII);
+
+        assertEquals(isbn, expected, Isbn.isValidIsbn10(isbn));
+        assertEquals(isbn, expected, Isbn.isValidIsbn10(new StringBuilder(isbn)));
+        assertEquals(isbn, expected, Isbn.isValidIsbn10(chars, 0, chars.length));
+        assertEquals(isbn, expected, Isbn.isValidIsbn10(bytes, 0, bytes.length));
+        assertEquals(isbn, expected, Isbn.isValidIsbn10(ByteBuffer.wrap(bytes)));
+        assertEquals(isbn, expected, StringUtils.isValidISBN10(isbn));
+    }
+
+    private void assertIsbn13(final String isbn, final boolean expected) {
+        char[] chars = isbn.toCharArray();
+        byte[] bytes = isbn.getBytes(ASCII);
+
+        assertEquals(isbn, expected, Isbn.isValidIsbn13(isbn));
+        assertEquals(isbn, expected, Isbn.isValidIsbn13(new StringBuilder(isbn)));
+        assertEquals(isbn, expected, Isbn.isValidIsbn13(chars, 0, chars.length));
+        assertEquals(isbn, expected, Isbn.isValidIsbn13(bytes, 0, bytes.length));
+        assertEquals(isbn, expected, Isbn.isValidIsbn13(ByteBuffer.wrap(bytes)));
+        assertEquals(isbn, expected, StringUtils.isValidIsbn13(isbn));
+    }
+}
@@ -0,0 +1,136 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.hm.hafner.util.IsbnFileValidator.Type;
+
+/**
+ * Tests the class {@link PackedIsbnValidator}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class PackedIsbnValidatorTest {
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+    private static final byte[] CHARACTERS = "0123456789-X /:".getBytes(ASCII);
+
+    /**
+     * Verifies valid and invalid records of ISBN-13 numbers.
+     */
+    @Test
+    public void testIsbn13() {
+        ByteBuffer records = ByteBuffer.wrap(("9780321356680\n9780321356681\n978-321356680\n9783161484100\n")
+                .getBytes(ASCII));
+        long[] mask = {0x6};
+
+        assertEquals("Wrong number of valid records", 2, PackedIsbnValidator.validate(records, 14, Type.ISBN_13, mask));
+        assertEquals("Wrong mask", 0x9, mask[0]);
+    }
+
+    /**
+     * Verifies valid and invalid records of ISBN-10 numbers.
+     */
+    @Test
+    public void testIsbn10() {
+        ByteBuffer records = ByteBuffer.wrap(("38668019203866801929030640615203064061520306406152").getBytes(ASCII));
+        long[] mask = new long[1];
+
+        assertEquals("Wrong number of valid records", 4, PackedIsbnValidator.validate(records, 10, Type.ISBN_10, mask));
+        assertEquals("Wrong mask", 0x1D, mask[0]);
+    }
+
+    /**
+     * Verifies that the digit check accepts exactly the ASCII digits in each byte of a word.
+     */
+    @Test
+    public void testAreDigits() {
+        for (int lane = 0; lane < 8; lane++) {
+            for (int value = 0; value < 256; value++) {
+                long word = 0x3535353535353535L & ~(0xFFL << 8 * lane) | (long)value << 8 * lane;
+                assertEquals("Wrong result for byte " + value + " in lane " + lane,
+                        value >= '0' && value <= '9', PackedIsbnValidator.areDigits(word));
+            }
+        }
+    }
+
+    /**
+     * Verifies that random records are validated exactly like the scalar validators of {@link Isbn},
+     * for several record lengths, byte orders and buffer positions.
+     */
+    @Test
+    public void testSameResultsAsScalarValidation() {
+        Random random = new Random(42);
+        for (Type type : Type.values()) {
+            int digits = type == Type.ISBN_13 ? Isbn.ISBN13_LENGTH : Isbn.ISBN10_LENGTH;
+            for (int recordLength = digits; recordLength < digits + 3; recordLength++) {
+                int count = 1000;
+                ByteBuffer records = ByteBuffer.allocateDirect(3 + count * recordLength);
+                records.position(3);
+                for (int i = 0; i < count; i++) {
+                    byte[] record = createRecord(random, type, recordLength);
+                    records.put(record);
+                }
+                records.position(3);
+                records.order(random.nextBoolean() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+                long[] expected = new long[(count + 63) / 64];
+                long[] actual = new long[expected.length];
+                int expectedCount = PackedIsbnValidator.validateScalar(records, recordLength, type, expected);
+                int actualCount = PackedIsbnValidator.validate(records, recordLength, type, actual);
+
+                assertArrayEquals("Wrong mask for " + type + " and length " + recordLength, expected, actual);
+                assertEquals("Wrong count for " + type + " and length " + recordLength, expectedCount, actualCount);
+                assertTrue("Too few valid records: " + expectedCount, expectedCount > count / 4);
+                assertEquals("Position changed", 3, records.position());
+            }
+        }
+    }
+
+    /**
+     * Verifies that buffers that do not contain whole records are rejected.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testPartialRecord() {
+        PackedIsbnValidator.validate(ByteBuffer.allocate(27), 14, Type.ISBN_13, new long[1]);
+    }
+
+    /**
+     * Verifies that a mask without room for all records is rejected.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testMaskTooSmall() {
+        PackedIsbnValidator.validate(ByteBuffer.allocate(65 * 10), 10, Type.ISBN_10, new long[1]);
+    }
+
+    private byte[] createRecord(final Random random, final Type type, final int recordLength) {
+        byte[] record = new byte[recordLength];
+        for (int i = 0; i < record.length; i++) {
+            record[i] = (byte)('0' + random.nextInt(10));
+        }
+        int digits = type == Type.ISBN_13 ? Isbn.ISBN13_LENGTH : Isbn.ISBN10_LENGTH;
+        int sum = 0;
+        for (int i = 0; i < digits - 1; i++) {
+            sum += (type == Type.ISBN_13 ? Isbn.weight(i) : i + 1) * (record[i] - '0');
+        }
+        int check = type == Type.ISBN_13 ? (10 - sum % 10) % 10 : sum % 11;
+        record[digits - 1] = check == 10 ? (byte)'X' : (byte)('0' + check);
+        switch (random.nextInt(4)) {
+            case 0:
+                record[random.nextInt(digits)] = CHARACTERS[random.nextInt(CHARACTERS.length)];
+                break;
+            case 1:
+                record[random.nextInt(digits)] = (byte)random.nextInt(256);
+                break;
+            default:
+                break;
+        }
+        return record;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.hm.hafner.util.ParallelExecution.RangeTask;
+
+/**
+ * Tests the class {@link ParallelExecution}.
+ *
+ * @author Ulli Hafner
+ */
+public class ParallelExecutionTest {
+    /**
+     * Verifies that the chunks cover the whole range without gaps or overlaps.
+     */
+    @Test
+    public void testChunksCoverRange() {
+        final int[] counts = new int[1000];
+
+        List<int[]> chunks = ParallelExecution.execute(counts.length, 10, new RangeTask<int[]>() {
+            @Override
+            public int[] compute(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    counts[i]++;
+                }
+                return new int[] {from, to};
+            }
+        });
+
+        int expectedFrom = 0;
+        for (int[] chunk : chunks) {
+            assertEquals("Chunks not in order", expectedFrom, chunk[0]);
+            expectedFrom = chunk[1];
+        }
+        assertEquals("Range not covered", counts.length, expectedFrom);
+        for (int count : counts) {
+            assertEquals("Index not processed exactly once", 1, count);
+        }
+    }
+
+    /**
+     * Verifies that an empty range is processed as a single empty chunk.
+     */
+    @Test
+    public void testEmptyRange() {
+        List<Integer> results = ParallelExecution.execute(0, 1, new RangeTask<Integer>() {
+            @Override
+            public Integer compute(final int from, final int to) {
+                return to - from;
+            }
+        });
+
+        assertEquals("Wrong number of chunks", 1, results.size());
+        assertEquals("Wrong chunk size", Integer.valueOf(0), results.get(0));
+    }
+
+    /**
+     * Verifies that an exception of a chunk is propagated to the caller.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionIsPropagated() {
+        ParallelExecution.execute(100, 1, new RangeTask<Void>() {
+            @Override
+            public Void compute(final int from, final int to) {
+                throw new IllegalArgumentException();
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+import edu.hm.hafner.util.PasswordPolicy.CharacterClass;
+import edu.hm.hafner.util.PasswordPolicy.Result;
+import edu.hm.hafner.util.PasswordPolicy.Rule;
+
+/**
+ * Tests the class {@link PasswordPolicy}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class PasswordPolicyTest {
+    /**
+     * Verifies that the default policy reports each failed rule.
+     */
+    @Test
+    public void testDefaultPolicy() {
+        assertFailedRules("123456abcdefABCDEF#%&");
+        assertFailedRules("0123456789abcABC#%&", Rule.MINIMUM_LENGTH);
+        assertFailedRules("abcdefghijABCDEFGHIJ#%&", Rule.DIGIT_REQUIRED);
+        assertFailedRules("1234567890ABCDEFGHIJ#%&", Rule.LOWERCASE_REQUIRED);
+        assertFailedRules("1234567890abcdefghij#%&", Rule.UPPERCASE_REQUIRED);
+        assertFailedRules("abcdefghijABCDEFGHI123", Rule.SPECIAL_REQUIRED);
+        assertFailedRules("12abAB#%&&&&&&&&&&&&", Rule.MINIMUM_DISTINCT_CHARACTERS);
+        assertFailedRules("aaaa", Rule.MINIMUM_LENGTH, Rule.MINIMUM_DISTINCT_CHARACTERS,
+                Rule.DIGIT_REQUIRED, Rule.UPPERCASE_REQUIRED, Rule.SPECIAL_REQUIRED);
+        assertFailedRules(null, Rule.values());
+    }
+
+    /**
+     * Verifies that characters outside of the ISO-8859-1 range are counted as distinct characters.
+     */
+    @Test
+    public void testNonLatinCharacters() {
+        PasswordPolicy policy = PasswordPolicy.builder().minimumDistinctCharacters(4).build();
+
+        assertTrue("4 distinct characters", policy.isSecure("Жж€€Жa"));
+        assertFalse("3 distinct characters", policy.isSecure("Жж€€Жж"));
+        assertTrue("Mixed ranges", policy.isSecure("ÿĀþā"));
+    }
+
+    /**
+     * Verifies that many distinct characters outside of the ISO-8859-1 range are counted correctly, even if
+     * the minimum is much larger than the password.
+     */
+    @Test
+    public void testManyNonLatinCharacters() {
+        StringBuilder password = new StringBuilder();
+        for (char character = '\u4E00'; character < '\u4E00' + 1000; character++) {
+            password.append(character).append(character);
+        }
+
+        assertTrue("1000 distinct characters",
+                PasswordPolicy.builder().minimumDistinctCharacters(1000).build().isSecure(password));
+        assertFalse("Only 1000 distinct characters",
+                PasswordPolicy.builder().minimumDistinctCharacters(1001).build().isSecure(password));
+        assertFalse("Large minimum", PasswordPolicy.builder().minimumDistinctCharacters(Integer.MAX_VALUE / 2)
+                .build().isSecure("Жж€"));
+    }
+
+    /**
+     * Verifies that a policy without rules accepts all passwords, and that the builder configures
+     * each rule.
+     */
+    @Test
+    public void testCustomPolicy() {
+        assertTrue("Empty policy", PasswordPolicy.builder().build().isSecure(""));
+
+        PasswordPolicy policy = PasswordPolicy.builder()
+                .minimumLength(3)
+                .require(CharacterClass.DIGIT, CharacterClass.SPECIAL)
+                .build();
+        assertTrue("Valid password", policy.isSecure("1#a"));
+        Result result = policy.check("aB");
+        assertEquals("Wrong failures", EnumSet.of(Rule.MINIMUM_LENGTH, Rule.DIGIT_REQUIRED, Rule.SPECIAL_REQUIRED),
+                result.getFailedRules());
+        assertTrue("Length should fail", result.hasFailed(Rule.MINIMUM_LENGTH));
+        assertFalse("Lowercase is not required", result.hasFailed(Rule.LOWERCASE_REQUIRED));
+        assertSame("Results should be shared", result, policy.check("xY"));
+    }
+
+    /**
+     * Verifies the classes of characters.
+     */
+    @Test
+    public void testCharacterClasses() {
+        assertSame("Wrong class", CharacterClass.DIGIT, CharacterClass.of('7'));
+        assertSame("Wrong class", CharacterClass.DIGIT, CharacterClass.of('٧'));
+        assertSame("Wrong class", CharacterClass.LOWERCASE, CharacterClass.of('ä'));
+        assertSame("Wrong class", CharacterClass.UPPERCASE, CharacterClass.of('Ä'));
+        assertSame("Wrong class", CharacterClass.SPECIAL, CharacterClass.of(' '));
+        assertSame("Wrong class", CharacterClass.SPECIAL, CharacterClass.of('中'));
+    }
+
+    /**
+     * Verifies that negative minimums are rejected.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testNegativeMinimum() {
+        PasswordPolicy.builder().minimumLength(-1);
+    }
+
+    private void assertFailedRules(final String password, final Rule... expected) {
+        Result result = PasswordPolicy.DEFAULT.check(password);
+
+        EnumSet<Rule> rules = EnumSet.noneOf(Rule.class);
+        for (Rule rule : expected) {
+            rules.add(rule);
+        }
+        assertEquals("Wrong failed rules for " + password, rules, result.getFailedRules());
+        assertEquals("Wrong result for " + password, expected.length == 0, result.isSecure());
+        assertEquals("Wrong StringUtils result for " + password, expected.length == 0, StringUtils.isSecure(password));
+    }
+}
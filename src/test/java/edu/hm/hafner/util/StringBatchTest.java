@@ -0,0 +1,114 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.google.common.base.Predicate;
+
+import org.junit.Test;
+
+import edu.hm.hafner.util.StringBatch.Check;
+import edu.hm.hafner.util.StringBatch.Result;
+
+/**
+ * Tests the class {@link StringBatch}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class StringBatchTest {
+    private static final String[] VALUES = {"978-0-321-35668-0", "", null, "3-86680-192-0",
+            "123456abcdefABCDEF#%&", "978-3-16-148410-0"};
+
+    /**
+     * Verifies each predicate of {@link StringUtils}.
+     */
+    @Test
+    public void testChecks() {
+        assertResult(StringBatch.evaluate(VALUES, Check.BLANK), 1, 2);
+        assertResult(StringBatch.evaluate(VALUES, Check.VALID_ISBN_10), 3);
+        assertResult(StringBatch.evaluate(VALUES, Check.VALID_ISBN_13), 0, 5);
+        assertResult(StringBatch.evaluate(VALUES, Check.SECURE), 4);
+
+        assertResult(StringBatch.evaluate(Arrays.asList(VALUES), Check.BLANK), 1, 2);
+        assertResult(StringBatch.evaluate(new LinkedList<String>(Arrays.asList(VALUES)), Check.VALID_ISBN_13), 0, 5);
+    }
+
+    /**
+     * Verifies that the chunks of large inputs produce the same result as a sequential evaluation, for
+     * several grain sizes that are not aligned to the words of the mask.
+     */
+    @Test
+    public void testLargeInput() {
+        String[] values = new String[10000];
+        BitSet expected = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 3 == 0 || i % 7 == 0 ? "" : String.valueOf(i);
+            if (values[i].isEmpty()) {
+                expected.set(i);
+            }
+        }
+        List<String> list = Arrays.asList(values);
+        for (int grainSize : new int[] {1, 63, 64, 100, 1000, 100000}) {
+            Result result = StringBatch.evaluate(values, Check.BLANK, grainSize);
+            assertEquals("Wrong bits for grain size " + grainSize, expected, result.toBitSet());
+            assertEquals("Wrong count for grain size " + grainSize, expected.cardinality(), result.getCount());
+            assertEquals("Wrong list result for grain size " + grainSize, expected,
+                    StringBatch.evaluate(list, Check.BLANK, grainSize).toBitSet());
+        }
+    }
+
+    /**
+     * Verifies that custom predicates are supported and that the mask can be iterated.
+     */
+    @Test
+    public void testCustomPredicate() {
+        Result result = StringBatch.evaluate(VALUES, new Predicate<String>() {
+            @Override
+            public boolean apply(final String input) {
+                return input != null && input.startsWith("978");
+            }
+        });
+
+        assertResult(result, 0, 5);
+        assertEquals("Wrong next match", 5, result.nextMatch(1));
+        assertEquals("No more matches", -1, result.nextMatch(6));
+        assertEquals("Negative index", -1, result.nextMatch(-1));
+        assertArrayEquals("Wrong mask", new long[] {0x21}, result.toLongArray());
+    }
+
+    /**
+     * Verifies that an empty input has no matches.
+     */
+    @Test
+    public void testEmptyInput() {
+        Result result = StringBatch.evaluate(new String[0], Check.BLANK);
+
+        assertEquals("Wrong size", 0, result.size());
+        assertEquals("Wrong count", 0, result.getCount());
+        assertEquals("No matches", -1, result.nextMatch(0));
+    }
+
+    /**
+     * Verifies that indices outside of the evaluated strings are rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        StringBatch.evaluate(VALUES, Check.BLANK).matches(VALUES.length);
+    }
+
+    private void assertResult(final Result result, final int... matches) {
+        assertEquals("Wrong size", VALUES.length, result.size());
+        assertEquals("Wrong count", matches.length, result.getCount());
+        BitSet expected = new BitSet();
+        for (int match : matches) {
+            assertTrue("Should match: " + match, result.matches(match));
+            expected.set(match);
+        }
+        assertEquals("Wrong bit set", expected, result.toBitSet());
+    }
+}
@@ -0,0 +1,102 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link StringJoiner}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class StringJoinerTest {
+    private static final StringJoiner CSV = StringJoiner.on(", ").withPrefix("[").withSuffix("]").useForNull("-");
+
+    /**
+     * Verifies that all sources produce the same result with separator, prefix, suffix and null text.
+     *
+     * @throws IOException
+     *             if the output could not be written
+     */
+    @Test
+    public void testJoin() throws IOException {
+        assertJoin("[a, -, bc]", "a", null, "bc");
+        assertJoin("[a]", "a");
+        assertJoin("[]");
+        assertJoin("[-]", (String)null);
+        assertJoin("[" + new StringBuilder("sb") + ", c]", new StringBuilder("sb"), "c");
+    }
+
+    /**
+     * Verifies the default joiner.
+     */
+    @Test
+    public void testDefaults() {
+        StringJoiner joiner = StringJoiner.on(",");
+
+        assertEquals("Wrong result", "a,(null),b", joiner.join("a", null, "b"));
+        assertEquals("Wrong result", "", joiner.join());
+        assertEquals("Wrong result", "ab", StringJoiner.on("").join("a", "b"));
+    }
+
+    /**
+     * Verifies that numbers are written with the correct digits and signs.
+     *
+     * @throws IOException
+     *             if the output could not be written
+     */
+    @Test
+    public void testNumbers() throws IOException {
+        long[] numbers = {0, 7, -7, 10, -10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        String expected = "[0, 7, -7, 10, -10, 1234567890123, 9223372036854775807, -9223372036854775808]";
+
+        assertEquals("Wrong string", expected, CSV.join(numbers));
+        assertEquals("Wrong builder content", expected, CSV.appendTo(new StringBuilder(), numbers).toString());
+        assertEquals("Wrong writer content", expected, CSV.appendTo(new StringWriter(), numbers).toString());
+        CharBuffer buffer = CharBuffer.allocate(expected.length());
+        CSV.appendTo(buffer, numbers).flip();
+        assertEquals("Wrong buffer content", expected, buffer.toString());
+        assertEquals("Wrong empty result", "[]", CSV.join(new long[0]));
+
+        for (long number : numbers) {
+            assertEquals("Wrong length of " + number, String.valueOf(number).length(), StringJoiner.getLength(number));
+        }
+    }
+
+    /**
+     * Verifies that the joiner is immutable.
+     */
+    @Test
+    public void testImmutable() {
+        StringJoiner joiner = StringJoiner.on(";");
+        joiner.withPrefix("(").withSuffix(")").useForNull("");
+
+        assertEquals("Joiner should not be changed", "a;(null)", joiner.join("a", null));
+    }
+
+    /**
+     * Verifies that <code>null</code> texts are rejected.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testNullSeparator() {
+        StringJoiner.on(null);
+    }
+
+    private void assertJoin(final String expected, final CharSequence... elements) throws IOException {
+        List<CharSequence> list = new LinkedList<CharSequence>(Arrays.asList(elements));
+
+        assertEquals("Wrong array result", expected, CSV.join(elements));
+        assertEquals("Wrong iterable result", expected, CSV.join(list));
+        assertEquals("Wrong iterator result", expected, CSV.join(list.iterator()));
+        assertEquals("Wrong appended array", expected, CSV.appendTo(new StringBuilder(), elements).toString());
+        assertEquals("Wrong appended iterable", expected, CSV.appendTo(new StringWriter(), list).toString());
+    }
+}
@@ -0,0 +1,126 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link StringPool}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class StringPoolTest {
+    /**
+     * Verifies that equal strings, sequences and slices return the same instance.
+     */
+    @Test
+    public void testIntern() {
+        StringPool pool = new StringPool(100);
+        String eur = new String("EUR");
+
+        assertSame("First string should be added", eur, pool.intern(eur));
+        assertSame("Equal string", eur, pool.intern(new String("EUR")));
+        assertSame("StringBuilder", eur, pool.intern(new StringBuilder("EUR")));
+        assertSame("Array slice", eur, pool.intern("xxEURxx".toCharArray(), 2, 3));
+        assertNull("null", pool.intern((String)null));
+        assertNull("null", pool.intern((CharSequence)null));
+
+        String usd = pool.intern("USD".toCharArray(), 0, 3);
+        assertEquals("Wrong string", "USD", usd);
+        assertSame("New string should be added", usd, pool.intern(new StringBuilder("USD")));
+        assertSame("Empty string", pool.intern(""), pool.intern(new char[0], 0, 0));
+
+        assertEquals("Wrong size", 3, pool.size());
+        assertEquals("Wrong hits", 5, pool.getHitCount());
+        assertEquals("Wrong misses", 3, pool.getMissCount());
+        assertEquals("Wrong evictions", 0, pool.getEvictionCount());
+    }
+
+    /**
+     * Verifies that the pool does not grow beyond its capacity and evicts the least recently used
+     * strings of a set.
+     */
+    @Test
+    public void testEviction() {
+        StringPool pool = new StringPool(1);
+        assertEquals("Wrong capacity", StringPool.WAYS, pool.getCapacity());
+
+        String first = pool.intern(new String("0"));
+        for (int i = 1; i < StringPool.WAYS; i++) {
+            pool.intern(String.valueOf(i));
+        }
+        assertSame("First string should be kept", first, pool.intern(new String("0")));
+        pool.intern("new");
+
+        assertEquals("Wrong size", StringPool.WAYS, pool.size());
+        assertEquals("Wrong evictions", 1, pool.getEvictionCount());
+        assertSame("Recently used string should be kept", first, pool.intern(new String("0")));
+        String second = new String("1");
+        assertSame("Least recently used string should be evicted", second, pool.intern(second));
+
+        for (int i = 0; i < 1000; i++) {
+            pool.intern(String.valueOf(i));
+        }
+        assertEquals("Wrong size", StringPool.WAYS, pool.size());
+
+        pool.clear();
+        assertEquals("Wrong size", 0, pool.size());
+        assertEquals("Wrong evictions", 0, pool.getEvictionCount());
+    }
+
+    /**
+     * Verifies that the capacity is rounded up to a power of two.
+     */
+    @Test
+    public void testCapacity() {
+        assertEquals("Wrong capacity", 16, new StringPool(9).getCapacity());
+        assertEquals("Wrong capacity", 1024, new StringPool(1000).getCapacity());
+        assertEquals("Wrong capacity", 1024, new StringPool(1024).getCapacity());
+    }
+
+    /**
+     * Verifies that concurrent threads obtain the same canonical instances.
+     *
+     * @throws Exception
+     *             if a thread fails
+     */
+    @Test
+    public void testConcurrentIntern() throws Exception {
+        final StringPool pool = new StringPool(4096);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String[]>> futures = new ArrayList<Future<String[]>>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(new Callable<String[]>() {
+                    @Override
+                    public String[] call() {
+                        String[] values = new String[500];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = pool.intern(new StringBuilder("value-").append(i));
+                        }
+                        return values;
+                    }
+                }));
+            }
+            String[] expected = futures.get(0).get();
+            for (Future<String[]> future : futures) {
+                String[] actual = future.get();
+                for (int i = 0; i < expected.length; i++) {
+                    assertSame("Different instances at " + i, expected[i], actual[i]);
+                }
+            }
+            assertEquals("Wrong number of lookups", 2000, pool.getHitCount() + pool.getMissCount());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link StripedCounter}.
+ *
+ * @author Ulli Hafner
+ */
+public class StripedCounterTest {
+    private static final int THREADS = 16;
+    private static final int INCREMENTS = 10000;
+
+    /**
+     * Verifies that no increment of concurrent threads is lost.
+     *
+     * @throws InterruptedException
+     *             if the test has been interrupted
+     */
+    @Test
+    public void testConcurrentIncrements() throws InterruptedException {
+        final StripedCounter counter = new StripedCounter();
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < INCREMENTS; j++) {
+                        counter.increment();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals("Wrong sum", THREADS * INCREMENTS, counter.sum());
+
+        counter.reset();
+
+        assertEquals("Wrong sum after reset", 0, counter.sum());
+    }
+
+    /**
+     * Verifies that a thread that retries after a failed compare-and-set reaches every cell, so that
+     * threads whose IDs select the same cell do not keep contending.
+     */
+    @Test
+    public void testProbeVisitsAllCells() {
+        boolean[] visited = new boolean[StripedCounter.STRIPES];
+        int probe = 1;
+        for (int i = 0; i < 100 * StripedCounter.STRIPES; i++) {
+            probe = StripedCounter.nextProbe(probe);
+            assertTrue("Probe must not be 0", probe != 0);
+            visited[probe & StripedCounter.STRIPES - 1] = true;
+        }
+        for (int i = 0; i < visited.length; i++) {
+            assertTrue("Cell not visited: " + i, visited[i]);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.hm.hafner.util.Ensure.FailureLogging;
+import edu.hm.hafner.util.ValidationMetrics.Snapshot;
+
+/**
+ * Tests the class {@link ValidationMetrics}.
+ *
+ * @author Ulli Hafner
+ */
+public class ValidationMetricsTest {
+    private static final String ERROR_MESSAGE = "Expected Error.";
+
+    private FailureLogging logging;
+
+    /**
+     * Enables the metrics and disables the logging of the expected failures.
+     */
+    @Before
+    public void enableMetrics() {
+        logging = Ensure.getFailureLogging();
+        Ensure.setFailureLogging(FailureLogging.NONE);
+
+        ValidationMetrics.reset();
+        ValidationMetrics.setEnabled(true);
+    }
+
+    /**
+     * Disables the metrics and restores the logging.
+     */
+    @After
+    public void disableMetrics() {
+        ValidationMetrics.setEnabled(false);
+        ValidationMetrics.reset();
+
+        Ensure.setFailureLogging(logging);
+    }
+
+    /**
+     * Verifies that the invocations are counted for each kind of check.
+     */
+    @Test
+    public void testCountsInvocations() {
+        Ensure.that(true).isTrue();
+        Ensure.that(true).isTrue();
+        Ensure.that("value").isNotEmpty();
+        Ensure.notNull(this);
+
+        Snapshot snapshot = ValidationMetrics.snapshot();
+
+        assertEquals("Wrong number of invocations", 2, snapshot.getInvocations().get("that(boolean)").longValue());
+        assertEquals("Wrong number of invocations", 1, snapshot.getInvocations().get("that(String)").longValue());
+        assertEquals("Wrong number of invocations", 1, snapshot.getInvocations().get("notNull").longValue());
+        assertEquals("Wrong number of invocations", 4, snapshot.getTotalInvocations());
+        assertEquals("Wrong number of failures", 0, snapshot.getTotalFailures());
+    }
+
+    /**
+     * Verifies that nothing is counted if the metrics are disabled.
+     */
+    @Test
+    public void testDisabledMetricsCountNothing() {
+        ValidationMetrics.setEnabled(false);
+
+        Ensure.that(true).isTrue();
+        failWith(ERROR_MESSAGE);
+
+        assertEquals("Wrong number of invocations", 0, ValidationMetrics.snapshot().getTotalInvocations());
+        assertEquals("Wrong number of failures", 0, ValidationMetrics.snapshot().getTotalFailures());
+    }
+
+    /**
+     * Verifies that the failures are counted for the call site together with a histogram of the messages.
+     */
+    @Test
+    public void testCountsFailuresForCallSite() {
+        failWith(ERROR_MESSAGE);
+        failWith(ERROR_MESSAGE);
+        failWith("Other Error.");
+
+        Snapshot snapshot = ValidationMetrics.snapshot();
+
+        assertEquals("Wrong number of failures", 3, snapshot.getTotalFailures());
+        assertEquals("Wrong number of call sites", 1, snapshot.getFailures().size());
+
+        String callSite = snapshot.getFailures().keySet().iterator().next();
+        assertTrue("Wrong call site: " + callSite, callSite.contains("ValidationMetricsTest.failWith"));
+
+        Map<String, Long> messages = snapshot.getFailureMessages(callSite);
+        assertEquals("Wrong number of messages", 2, messages.size());
+        assertEquals("Wrong number of failures", 2, messages.get(ERROR_MESSAGE).longValue());
+        assertTrue("Unknown call site has messages", snapshot.getFailureMessages("unknown").isEmpty());
+    }
+
+    /**
+     * Verifies that the number of different messages of a call site is limited.
+     */
+    @Test
+    public void testLimitsNumberOfMessages() {
+        for (int i = 0; i < ValidationMetrics.MAXIMUM_MESSAGES + 10; i++) {
+            failWith(ERROR_MESSAGE + i);
+        }
+
+        Snapshot snapshot = ValidationMetrics.snapshot();
+        String callSite = snapshot.getFailures().keySet().iterator().next();
+        Map<String, Long> messages = snapshot.getFailureMessages(callSite);
+
+        assertEquals("Wrong number of messages", ValidationMetrics.MAXIMUM_MESSAGES + 1, messages.size());
+        assertEquals("Wrong number of other messages", 10, messages.get(ValidationMetrics.OTHER_MESSAGES).longValue());
+    }
+
+    /**
+     * Verifies that the metrics are available using JMX.
+     *
+     * @throws JMException
+     *             if the MBean is not available
+     */
+    @Test
+    public void testMBean() throws JMException {
+        ValidationMetrics.registerMBean();
+        ValidationMetrics.registerMBean();
+
+        Ensure.that(true).isTrue();
+        failWith(ERROR_MESSAGE);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(ValidationMetrics.OBJECT_NAME);
+
+        assertEquals("Wrong state", Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        assertEquals("Wrong number of invocations", 2L, server.getAttribute(name, "TotalInvocations"));
+        assertEquals("Wrong number of failures", 1L, server.getAttribute(name, "TotalFailures"));
+
+        server.invoke(name, "reset", new Object[0], new String[0]);
+
+        assertEquals("Wrong number of failures", 0L, server.getAttribute(name, "TotalFailures"));
+    }
+
+    private void failWith(final String message) {
+        try {
+            Ensure.that(false).isTrue(message);
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Function;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link Validator}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ValidatorTest {
+    private static final String PERSON = Person.class.getName();
+
+    /**
+     * Verifies that a valid object passes all rules.
+     */
+    @Test
+    public void testValidObject() {
+        Validator<Person> validator = createBuilder().build();
+        Person person = new Person("Ulli", 42, "Munich");
+
+        validator.validate(person);
+
+        assertTrue("Person should be valid", validator.isValid(person));
+        assertTrue("No violations expected", validator.getViolations(person).isEmpty());
+    }
+
+    /**
+     * Verifies that the fail-fast validator reports the first violation only.
+     */
+    @Test
+    public void testFailFast() {
+        Validator<Person> validator = createBuilder().build();
+        Person person = new Person(" ", "42", null);
+
+        assertFalse("Person should be invalid", validator.isValid(person));
+        assertEquals("Wrong message", PERSON + ".name is blank", getMessage(validator, person));
+        assertEquals("Wrong number of violations", 3, validator.getViolations(person).size());
+    }
+
+    /**
+     * Verifies that the collecting validator reports all violations with a single exception.
+     */
+    @Test
+    public void testCollectAll() {
+        Validator<Person> validator = createBuilder().collectAll().build();
+
+        assertEquals("Wrong message", "3 assertions failed:\n"
+                + PERSON + ".name is blank\n"
+                + PERSON + ".id is not an instance of java.lang.Integer\n"
+                + PERSON + ".city is NULL",
+                getMessage(validator, new Person(null, null, null)));
+        assertEquals("Wrong message", PERSON + ".city is NULL",
+                getMessage(validator, new Person("Ulli", 1, null)));
+    }
+
+    /**
+     * Verifies that fields of super classes are found and <code>null</code> is rejected.
+     */
+    @Test
+    public void testSubclass() {
+        Validator<Employee> validator = Validator.builder(Employee.class).notBlank("name").notNull("company").build();
+
+        validator.validate(new Employee("Ulli", "HM"));
+
+        assertFalse("null should be invalid", validator.isValid(null));
+        assertEquals("Wrong message", Employee.class.getName() + ".company is NULL",
+                getMessage(validator, new Employee("Ulli", null)));
+    }
+
+    /**
+     * Verifies that unknown fields are rejected when building the validator.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testUnknownField() {
+        Validator.builder(Person.class).notNull("unknown");
+    }
+
+    /**
+     * Verifies that fields with a primitive type are rejected when building the validator.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testPrimitiveField() {
+        Validator.builder(Person.class).notNull("age");
+    }
+
+    private Validator.Builder<Person> createBuilder() {
+        return Validator.builder(Person.class)
+                .notBlank("name")
+                .instanceOf("id", Integer.class)
+                .notNull("city", new Function<Person, String>() {
+                    @Override
+                    @CheckForNull
+                    public String apply(final Person input) {
+                        return input.getCity();
+                    }
+                });
+    }
+
+    private <T> String getMessage(final Validator<T> validator, final T value) {
+        try {
+            validator.validate(value);
+        }
+        catch (AssertionFailedException exception) {
+            return exception.getMessage();
+        }
+        fail("No exception thrown");
+        return null;
+    }
+
+    /**
+     * Example DTO.
+     */
+    @SuppressWarnings("unused")
+    private static class Person {
+        @CheckForNull
+        private final String name;
+        @CheckForNull
+        private final Object id;
+        @CheckForNull
+        private final String city;
+        private final int age = 1;
+
+        Person(@CheckForNull final String name, @CheckForNull final Object id, @CheckForNull final String city) {
+            this.name = name;
+            this.id = id;
+            this.city = city;
+        }
+
+        @CheckForNull
+        String getCity() {
+            return city;
+        }
+    }
+
+    /**
+     * Example DTO with a super class.
+     */
+    private static class Employee extends Person {
+        @CheckForNull
+        private final String company;
+
+        Employee(final String name, @CheckForNull final String company) {
+            super(name, 0, "Munich");
+            this.company = company;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.google.common.base.Suppliers;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link Violations}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ViolationsTest {
+    /**
+     * Verifies that passing checks do not record anything.
+     */
+    @Test
+    public void testNoViolations() {
+        Violations violations = new Violations();
+
+        violations.that(true).isTrue();
+        violations.that(false).isFalse();
+        violations.that("-").isNotBlank();
+        violations.that(new Object[] {"-"}).isNotEmpty();
+        violations.that(Collections.singleton("-")).isNotEmpty();
+        violations.that("-", "-").isNotNull();
+        violations.that((Object)"-").isInstanceOf(String.class);
+
+        assertTrue("No violations expected", violations.isEmpty());
+        violations.throwIfAny();
+    }
+
+    /**
+     * Verifies that all failures are recorded and reported with a single exception.
+     */
+    @Test
+    public void testViolations() {
+        Violations violations = new Violations(1);
+
+        violations.that(false).isTrue("Value %d is not TRUE", 1);
+        violations.that((String)null).isNotBlank();
+        violations.that((Object[])null).isNotEmpty(Suppliers.ofInstance("Array is NULL"));
+        violations.that((Iterable<?>)null).isNotEmpty();
+        violations.that((Object)null).isInstanceOf(String.class);
+        violations.that(1).isInstanceOf(String.class, "Not a string");
+        violations.that(" ").isNotBlank();
+
+        assertEquals("Wrong messages", Arrays.asList("Value 1 is not TRUE", "Object is NULL", "Array is NULL",
+                "Iterable is empty or NULL", "Object is NULL", "Not a string", "The string is blank"),
+                violations.getMessages());
+
+        try {
+            violations.throwIfAny();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertTrue("Wrong message: " + exception.getMessage(),
+                    exception.getMessage().startsWith("7 assertions failed:\nValue 1 is not TRUE\nObject is NULL\n"));
+        }
+
+        violations.clear();
+
+        assertEquals("Wrong size after clear", 0, violations.size());
+    }
+
+    /**
+     * Verifies that a single failure is reported with its own message.
+     */
+    @Test
+    public void testSingleViolation() {
+        Violations violations = new Violations();
+
+        violations.that((Object)null).isNotNull();
+
+        try {
+            violations.throwIfAny();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Object is NULL", exception.getMessage());
+        }
+    }
+}